@@ -0,0 +1,290 @@
+package com.greenloop.event_service.config;
+
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+
+import lombok.Builder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of the
+ * gradient limiters of TCP congestion control.
+ * <p>
+ * Call latencies are collected in windows of at least {@code windowMillis} and
+ * {@code minSamples} calls. At the end of a window its p99 is compared with a
+ * baseline, a slow moving average of past window p99s:
+ * </p>
+ * <ul>
+ * <li>while the p99 stays within {@code tolerance} times the baseline the
+ * limit grows by about its square root per window;</li>
+ * <li>beyond that it shrinks in proportion to how far the p99 has drifted,
+ * at most halving per window.</li>
+ * </ul>
+ * <p>
+ * Changes are smoothed and the limit stays within
+ * [{@code minLimit}, {@code maxLimit}]. The limit only grows in windows that
+ * actually used at least half of it, so a quiet period does not inflate it.
+ * If the baseline lags far behind the current p99 after a slow period, it
+ * decays towards it.
+ * </p>
+ * <p>
+ * Calls over the limit wait in a bounded FIFO queue for at most
+ * {@code maxWaitMillis}; calls that find the queue full or time out fail
+ * with {@link BulkheadFullException}.
+ * </p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int MAX_SAMPLES_PER_WINDOW = 4096;
+
+    // Number of windows the baseline averages over
+    private static final int BASELINE_WINDOWS = 20;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final long maxWaitNanos;
+    private final long windowNanos;
+    private final int minSamples;
+    private final double tolerance;
+    private final double smoothing;
+    private final long retryAfterSeconds;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotFreed = lock.newCondition();
+
+    // Guarded by lock
+    private double estimatedLimit;
+    private int inFlight;
+    private int queued;
+    private int maxInFlightInWindow;
+    private final long[] samples = new long[MAX_SAMPLES_PER_WINDOW];
+    private int sampleCount;
+    private long windowStart;
+    private double baselineNanos;
+    private double lastP99Nanos;
+    private long rejectedQueueFull;
+    private long rejectedTimeout;
+
+    @Builder
+    private AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, int maxQueued,
+            long maxWaitMillis, long windowMillis, int minSamples, double tolerance, double smoothing,
+            long retryAfterSeconds, LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.minSamples = Math.max(1, minSamples);
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.nanoClock = nanoClock == null ? System::nanoTime : nanoClock;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowStart = this.nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if the limit is reached. Every
+     * successful call must be paired with {@link #release(long)}.
+     *
+     * @throws BulkheadFullException if the queue is full or no slot frees up
+     *                               within the maximum wait
+     */
+    public void acquire() {
+        lock.lock();
+        try {
+            // Only skip the queue when nobody is waiting in it
+            if (queued == 0 && inFlight < getLimitLocked()) {
+                take();
+                return;
+            }
+            if (queued >= maxQueued) {
+                rejectedQueueFull++;
+                throw reject("queue is full");
+            }
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= getLimitLocked()) {
+                    if (remaining <= 0) {
+                        rejectedTimeout++;
+                        throw reject("no slot within " + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejectedTimeout++;
+                throw reject("interrupted while queued");
+            } finally {
+                queued--;
+            }
+            take();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frees a slot and records how long the call took.
+     *
+     * @param latencyNanos duration of the call, from when it got its slot
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (sampleCount < samples.length) {
+                samples[sampleCount++] = latencyNanos;
+            }
+            long now = nanoClock.getAsLong();
+            if (now - windowStart >= windowNanos && sampleCount >= minSamples) {
+                adjust(now);
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void take() {
+        inFlight++;
+        maxInFlightInWindow = Math.max(maxInFlightInWindow, inFlight);
+    }
+
+    private void adjust(long now) {
+        long[] window = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(window);
+        double p99 = window[(int) Math.ceil(window.length * 0.99) - 1];
+        boolean saturated = maxInFlightInWindow * 2 >= getLimitLocked();
+
+        sampleCount = 0;
+        maxInFlightInWindow = inFlight;
+        windowStart = now;
+        lastP99Nanos = p99;
+
+        if (baselineNanos == 0) {
+            baselineNanos = p99;
+            return;
+        }
+        baselineNanos += (p99 - baselineNanos) / BASELINE_WINDOWS;
+        if (baselineNanos > 2 * p99) {
+            // Recovering from a slow period: let the baseline catch up faster
+            baselineNanos *= 0.9;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / Math.max(p99, 1)));
+        if (gradient == 1.0 && !saturated) {
+            return;
+        }
+        double target = estimatedLimit * gradient + (gradient == 1.0 ? Math.sqrt(estimatedLimit) : 0);
+        double smoothed = estimatedLimit * (1 - smoothing) + target * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    private int getLimitLocked() {
+        return (int) estimatedLimit;
+    }
+
+    private BulkheadFullException reject(String reason) {
+        return new BulkheadFullException("Too many " + name + " requests (" + reason + "), retry later",
+                retryAfterSeconds);
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return getLimitLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of calls holding a slot
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of calls waiting for a slot
+     */
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the p99 latency of the last completed window in milliseconds,
+     *         or 0 before the first window
+     */
+    public double getLastP99Millis() {
+        lock.lock();
+        try {
+            return lastP99Nanos / 1_000_000.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the baseline latency in milliseconds, or 0 before the first
+     *         window
+     */
+    public double getBaselineMillis() {
+        lock.lock();
+        try {
+            return baselineNanos / 1_000_000.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of calls rejected because the queue was full
+     */
+    public long getRejectedQueueFull() {
+        lock.lock();
+        try {
+            return rejectedQueueFull;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of calls rejected after waiting too long
+     */
+    public long getRejectedTimeout() {
+        lock.lock();
+        try {
+            return rejectedTimeout;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
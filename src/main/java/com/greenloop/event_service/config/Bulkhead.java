@@ -0,0 +1,28 @@
+package com.greenloop.event_service.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.greenloop.event_service.enums.TrafficClass;
+
+/**
+ * Traffic class whose bulkhead a controller endpoint runs in.
+ * <p>
+ * Enforced by {@link BulkheadInterceptor}. On a controller class it applies to
+ * every endpoint that does not declare its own. Endpoints without a traffic
+ * class are not limited.
+ * </p>
+ */
+@Documented
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    /**
+     * @return the traffic class of the endpoint
+     */
+    TrafficClass value();
+}
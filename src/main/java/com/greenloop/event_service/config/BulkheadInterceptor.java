@@ -0,0 +1,266 @@
+package com.greenloop.event_service.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.greenloop.event_service.enums.TrafficClass;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs each API request in the bulkhead of its {@link TrafficClass}.
+ * <p>
+ * Every traffic class has its own limit on requests in progress
+ * ({@code max-concurrent}) and a bounded queue of requests waiting for one of
+ * those slots ({@code max-queued}, {@code max-wait-ms}). A request that finds
+ * the queue full, or is still queued after {@code max-wait-ms}, fails at once
+ * with {@link BulkheadFullException} (429 with {@code Retry-After}), long before
+ * it would wait for a pooled connection. Since queued requests hold a request
+ * thread, a class can never occupy more than {@code max-concurrent +
+ * max-queued} threads, so a browse burst leaves request threads for check-ins
+ * and registrations.
+ * </p>
+ * <p>
+ * These limits count requests, not connections: {@code max-concurrent} is
+ * usually far above the pool size, because most requests spend little of their
+ * time in the database. The connections a class can hold are capped separately
+ * by {@link ConnectionBulkheadDataSource}, which this interceptor tells the
+ * traffic class of the current thread.
+ * </p>
+ * <p>
+ * An asynchronous request (e.g. a participant export) keeps its slot until the
+ * response is complete.
+ * </p>
+ * <p>
+ * Per traffic class ({@code class} tag): {@code events.bulkhead.active},
+ * {@code events.bulkhead.queued} and {@code events.bulkhead.limit} gauges, the
+ * {@code events.bulkhead.wait} timer for queued requests and the
+ * {@code events.bulkhead.rejected} counter, tagged with the {@code reason}
+ * ({@code queue_full} or {@code timeout}).
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Component
+public class BulkheadInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    private static final String COMPARTMENT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".compartment";
+
+    private final Map<TrafficClass, Compartment> compartments = new EnumMap<>(TrafficClass.class);
+
+    public BulkheadInterceptor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        long retryAfterSeconds = environment.getProperty("events.bulkheads.retry-after-seconds", Long.class, 1L);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String prefix = "events.bulkheads." + trafficClass.getKey() + ".";
+            Compartment compartment = new Compartment(trafficClass,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class,
+                            trafficClass.getDefaultMaxConcurrent()),
+                    environment.getProperty(prefix + "max-queued", Integer.class,
+                            trafficClass.getDefaultMaxQueued()),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class,
+                            trafficClass.getDefaultMaxWaitMillis()),
+                    retryAfterSeconds, registry);
+            compartments.put(trafficClass, compartment);
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // Still holds the slot taken on the initial dispatch
+            if (request.getAttribute(COMPARTMENT_ATTRIBUTE) instanceof Compartment compartment) {
+                ConnectionBulkheadDataSource.bind(compartment.trafficClass);
+            }
+            return true;
+        }
+        TrafficClass trafficClass = trafficClassOf(handler);
+        if (trafficClass == null) {
+            return true;
+        }
+        Compartment compartment = compartments.get(trafficClass);
+        compartment.acquire();
+        request.setAttribute(COMPARTMENT_ATTRIBUTE, compartment);
+        ConnectionBulkheadDataSource.bind(trafficClass);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        // The request thread is released; tasks of the request carry the class themselves
+        ConnectionBulkheadDataSource.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        // Not called when the request goes async; the async dispatch calls it on completion
+        if (request.getAttribute(COMPARTMENT_ATTRIBUTE) instanceof Compartment compartment) {
+            ConnectionBulkheadDataSource.unbind();
+            request.removeAttribute(COMPARTMENT_ATTRIBUTE);
+            compartment.release();
+        }
+    }
+
+    /**
+     * @return the number of requests of a traffic class in progress
+     */
+    public int getActive(TrafficClass trafficClass) {
+        return compartments.get(trafficClass).active();
+    }
+
+    /**
+     * @return the number of requests of a traffic class waiting for a slot
+     */
+    public int getQueued(TrafficClass trafficClass) {
+        return compartments.get(trafficClass).queued.get();
+    }
+
+    private static TrafficClass trafficClassOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Bulkhead bulkhead = handlerMethod.getMethodAnnotation(Bulkhead.class);
+            if (bulkhead == null) {
+                bulkhead = handlerMethod.getBeanType().getAnnotation(Bulkhead.class);
+            }
+            return bulkhead == null ? null : bulkhead.value();
+        }
+        return null;
+    }
+
+    private static final class Compartment {
+
+        private final TrafficClass trafficClass;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final long maxWaitMillis;
+        private final long retryAfterSeconds;
+
+        // Fair, so queued requests are served in arrival order
+        private final Semaphore slots;
+        private final AtomicInteger queued = new AtomicInteger();
+
+        private final Timer waitTimer;
+        private final Counter queueFull;
+        private final Counter timedOut;
+
+        Compartment(TrafficClass trafficClass, int maxConcurrent, int maxQueued, long maxWaitMillis,
+                long retryAfterSeconds, MeterRegistry registry) {
+            this.trafficClass = trafficClass;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWaitMillis = maxWaitMillis;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.slots = new Semaphore(maxConcurrent, true);
+
+            if (registry == null) {
+                waitTimer = null;
+                queueFull = null;
+                timedOut = null;
+                return;
+            }
+            String tag = trafficClass.getKey();
+            Gauge.builder("events.bulkhead.active", this, Compartment::active)
+                    .description("Requests in progress per traffic class")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("events.bulkhead.queued", queued, AtomicInteger::get)
+                    .description("Requests waiting for a bulkhead slot per traffic class")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("events.bulkhead.limit", this, c -> c.maxConcurrent)
+                    .description("Maximum requests in progress per traffic class")
+                    .tag("class", tag)
+                    .register(registry);
+            waitTimer = Timer.builder("events.bulkhead.wait")
+                    .description("Time queued requests waited for a bulkhead slot")
+                    .tag("class", tag)
+                    .register(registry);
+            queueFull = rejectedCounter(registry, tag, "queue_full");
+            timedOut = rejectedCounter(registry, tag, "timeout");
+        }
+
+        void acquire() {
+            // A timed tryAcquire, unlike the untimed one, does not overtake queued requests
+            if (tryAcquire(0)) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw reject(queueFull, "queue is full");
+            }
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = tryAcquire(maxWaitMillis);
+            } finally {
+                queued.decrementAndGet();
+            }
+            if (waitTimer != null) {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                throw reject(timedOut, "no slot within " + maxWaitMillis + " ms");
+            }
+        }
+
+        private boolean tryAcquire(long timeoutMillis) {
+            try {
+                return slots.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void release() {
+            slots.release();
+        }
+
+        int active() {
+            return maxConcurrent - slots.availablePermits();
+        }
+
+        private BulkheadFullException reject(Counter counter, String reason) {
+            if (counter != null) {
+                counter.increment();
+            }
+            return new BulkheadFullException(
+                    "Too many " + trafficClass.getKey() + " requests (" + reason + "), retry later",
+                    retryAfterSeconds);
+        }
+
+        private static Counter rejectedCounter(MeterRegistry registry, String tag, String reason) {
+            return Counter.builder("events.bulkhead.rejected")
+                    .description("Requests rejected by a bulkhead per traffic class")
+                    .tag("class", tag)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.greenloop.event_service.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Installs {@link ConnectionBulkheadDataSource} around the primary pool.
+ */
+@Configuration
+public class ConnectionBulkheadConfig {
+
+    @Bean
+    public static ConnectionBulkheadPostProcessor connectionBulkheadPostProcessor(Environment environment) {
+        return new ConnectionBulkheadPostProcessor(environment);
+    }
+
+    /**
+     * Carries the traffic class and the replica-read permission of a request
+     * over to the tasks it submits to the application task executor. Spring
+     * Boot only applies a task decorator if there is exactly one, so both are
+     * propagated here.
+     */
+    @Bean
+    public TaskDecorator requestContextTaskDecorator() {
+        return task -> ConnectionBulkheadDataSource.propagateTrafficClass(
+                ReplicaRoutingDataSource.propagateReplicaReads(task));
+    }
+
+    /**
+     * Wraps the pool before any other post-processor, so replica routing and
+     * query statistics sit on top of the capped primary connections.
+     */
+    public static class ConnectionBulkheadPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final Environment environment;
+
+        ConnectionBulkheadPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource pool && "dataSource".equals(beanName)) {
+                return new ConnectionBulkheadDataSource(pool, pool.getMaximumPoolSize(), environment);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.greenloop.event_service.config;
+
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.greenloop.event_service.enums.TrafficClass;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the pooled connections each {@link TrafficClass} can hold at once.
+ * <p>
+ * The bulkheads of {@link BulkheadInterceptor} limit requests, not
+ * connections: with a two-connection pool, two browse requests alone could
+ * take every connection and leave the check-in writer waiting. This wrapper
+ * around the primary pool gives each traffic class its own connection permits
+ * ({@code events.bulkheads.<key>.max-connections}), by default and at most one
+ * less than the pool size. A request thread takes its class's permit with its
+ * first connection and returns it when its last one is closed, so nested
+ * transactions never wait on themselves. If no permit frees up within the
+ * class's {@code max-wait-ms}, the request fails with
+ * {@link BulkheadFullException} (429). A burst of any one class therefore
+ * always leaves a connection for the other classes and for background work.
+ * </p>
+ * <p>
+ * Threads without a traffic class (scheduled jobs, the check-in writer, the
+ * outbox relay) take no permit. The pool's {@code connection-timeout} is kept
+ * below the request waits, so an exhausted pool fails requests quickly too;
+ * these threads have no client waiting and instead retry it for up to
+ * {@code events.bulkheads.background-connection-wait-ms}.
+ * </p>
+ */
+public class ConnectionBulkheadDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Binding> BINDING = new ThreadLocal<>();
+
+    private final Map<TrafficClass, Permits> permits = new EnumMap<>(TrafficClass.class);
+    private final long backgroundWaitNanos;
+
+    public ConnectionBulkheadDataSource(DataSource target, int poolSize, Environment environment) {
+        super(target);
+        long retryAfterSeconds = environment.getProperty("events.bulkheads.retry-after-seconds", Long.class, 1L);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String prefix = "events.bulkheads." + trafficClass.getKey() + ".";
+            int maxConnections = environment.getProperty(prefix + "max-connections", Integer.class,
+                    Math.max(1, poolSize - 1));
+            if (maxConnections < 1 || (poolSize > 1 && maxConnections >= poolSize)) {
+                throw new IllegalStateException(prefix + "max-connections must be between 1 and "
+                        + (poolSize - 1) + " for a pool of " + poolSize + " connections, was " + maxConnections);
+            }
+            long maxWaitMillis = environment.getProperty(prefix + "max-wait-ms", Long.class,
+                    trafficClass.getDefaultMaxWaitMillis());
+            permits.put(trafficClass, new Permits(trafficClass, maxConnections, maxWaitMillis, retryAfterSeconds));
+        }
+        this.backgroundWaitNanos = TimeUnit.MILLISECONDS.toNanos(
+                environment.getProperty("events.bulkheads.background-connection-wait-ms", Long.class, 20000L));
+    }
+
+    /**
+     * Makes connections taken on the current thread count against a traffic
+     * class, until {@link #unbind()}.
+     */
+    static void bind(TrafficClass trafficClass) {
+        BINDING.set(new Binding(trafficClass));
+    }
+
+    static void unbind() {
+        BINDING.remove();
+    }
+
+    /**
+     * Carries the traffic class of the calling thread over to a task that runs
+     * on another thread, such as the body of a streamed response.
+     *
+     * @param task the task to run elsewhere
+     * @return the task, bound to the caller's traffic class if it had one
+     */
+    static Runnable propagateTrafficClass(Runnable task) {
+        Binding binding = BINDING.get();
+        if (binding == null) {
+            return task;
+        }
+        TrafficClass trafficClass = binding.trafficClass;
+        return () -> {
+            bind(trafficClass);
+            try {
+                task.run();
+            } finally {
+                unbind();
+            }
+        };
+    }
+
+    /**
+     * @return the number of connections a traffic class holds
+     */
+    public int getActive(TrafficClass trafficClass) {
+        return permits.get(trafficClass).active();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Binding binding = BINDING.get();
+        if (binding == null) {
+            return backgroundConnection();
+        }
+        Permits classPermits = permits.get(binding.trafficClass);
+        if (binding.held == 0) {
+            classPermits.acquire();
+        }
+        Connection connection;
+        try {
+            connection = super.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            if (binding.held == 0) {
+                classPermits.release();
+            }
+            throw e;
+        }
+        binding.held++;
+        return releasingOnClose(connection, binding, classPermits);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection backgroundConnection() throws SQLException {
+        long deadline = System.nanoTime() + backgroundWaitNanos;
+        while (true) {
+            try {
+                return super.getConnection();
+            } catch (SQLTransientConnectionException e) {
+                // The pool gave up after its short connection-timeout
+                if (System.nanoTime() - deadline >= 0) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static Connection releasingOnClose(Connection connection, Binding binding, Permits permits) {
+        boolean[] closed = new boolean[1];
+        return (Connection) Proxy.newProxyInstance(ConnectionBulkheadDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !closed[0]) {
+                        closed[0] = true;
+                        try {
+                            connection.close();
+                        } finally {
+                            if (--binding.held == 0) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static final class Binding {
+
+        private final TrafficClass trafficClass;
+        // Connections open on this thread; the permit is held while above zero
+        private int held;
+
+        Binding(TrafficClass trafficClass) {
+            this.trafficClass = trafficClass;
+        }
+    }
+
+    private static final class Permits {
+
+        private final TrafficClass trafficClass;
+        private final int maxConnections;
+        private final long maxWaitMillis;
+        private final long retryAfterSeconds;
+        private final Semaphore semaphore;
+
+        Permits(TrafficClass trafficClass, int maxConnections, long maxWaitMillis, long retryAfterSeconds) {
+            this.trafficClass = trafficClass;
+            this.maxConnections = maxConnections;
+            this.maxWaitMillis = maxWaitMillis;
+            this.retryAfterSeconds = retryAfterSeconds;
+            this.semaphore = new Semaphore(maxConnections, true);
+        }
+
+        void acquire() {
+            boolean acquired;
+            try {
+                acquired = semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                throw new BulkheadFullException("Too many " + trafficClass.getKey()
+                        + " requests (no connection within " + maxWaitMillis + " ms), retry later",
+                        retryAfterSeconds);
+            }
+        }
+
+        void release() {
+            semaphore.release();
+        }
+
+        int active() {
+            return maxConnections - semaphore.availablePermits();
+        }
+    }
+}
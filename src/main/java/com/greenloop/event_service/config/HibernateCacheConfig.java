@@ -0,0 +1,85 @@
+package com.greenloop.event_service.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches backing the Hibernate second-level cache.
+ * <p>
+ * Each replica keeps its own Caffeine caches. Writes made through this
+ * replica (entity updates and deletes, and the bulk seat and status UPDATEs)
+ * invalidate them immediately. Writes made on another replica are only picked
+ * up once an entry expires, so entries live for at most
+ * {@code events.entity-cache.ttl-ms}.
+ * </p>
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    /** Entity region of {@code Event}. */
+    public static final String EVENTS_REGION = "events";
+
+    /** Query cache region of the cacheable {@code EventRepository} lookups. */
+    public static final String EVENT_QUERIES_REGION = "events.queries";
+
+    // Hibernate's built-in regions, needed once the query cache is enabled
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${events.entity-cache.ttl-ms:10000}")
+    private long ttlMillis;
+
+    @Value("${events.entity-cache.max-entries:10000}")
+    private long maxEntries;
+
+    /**
+     * Cache manager owned by this application context, so several contexts in
+     * one JVM (e.g. tests) never share or close each other's caches.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("greenloop-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(EVENTS_REGION, expiring());
+        cacheManager.createCache(EVENT_QUERIES_REGION, expiring());
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, expiring());
+        // Never evicted: a missing timestamp would make stale query results look current
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    /**
+     * Hands the caches above to Hibernate. Regions missing from them fail
+     * startup instead of being created silently without expiry.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private CaffeineConfiguration<Object, Object> expiring() {
+        return new CaffeineConfiguration<>()
+                .setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMillis)))
+                .setMaximumSize(OptionalLong.of(maxEntries));
+    }
+}
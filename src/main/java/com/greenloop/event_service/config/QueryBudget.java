@@ -0,0 +1,28 @@
+package com.greenloop.event_service.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a controller endpoint may run per request.
+ * <p>
+ * Checked by {@link QueryStatsFilter}: with
+ * {@code events.query-stats.enforce-budgets=true} (test and dev profiles) a
+ * request over budget fails, otherwise it is logged as a warning. Budgets
+ * should not depend on the amount of data, so an N+1 pattern shows up as soon
+ * as a test returns more than a few rows.
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * @return the maximum number of statements per request
+     */
+    int value();
+}
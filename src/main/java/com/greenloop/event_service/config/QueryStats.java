@@ -0,0 +1,69 @@
+package com.greenloop.event_service.config;
+
+/**
+ * JDBC work done by one HTTP request: statements executed, rows read from
+ * result sets, and time spent executing statements.
+ * <p>
+ * {@link QueryStatsFilter} starts a tracker for the request thread, and
+ * {@link QueryStatsDataSource} charges every statement on a connection taken
+ * while the tracker is active. Work done on other threads, such as the
+ * batched check-in writer or the outbox relay, is not included.
+ * </p>
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long executionNanos;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Starts tracking the current thread.
+     *
+     * @return the new tracker
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * @return the tracker of the current thread, or null when it is not tracked
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stops tracking the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        executionNanos += nanos;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+}
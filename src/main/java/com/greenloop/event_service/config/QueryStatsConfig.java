@@ -0,0 +1,29 @@
+package com.greenloop.event_service.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Installs {@link QueryStatsDataSource} around the application data source,
+ * so {@link QueryStatsFilter} can count the statements of sampled requests.
+ */
+@Configuration
+public class QueryStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryStatsDataSource)
+                        && "dataSource".equals(beanName)) {
+                    return new QueryStatsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
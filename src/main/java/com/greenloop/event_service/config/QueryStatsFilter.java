@@ -0,0 +1,145 @@
+package com.greenloop.event_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.greenloop.event_service.exceptions.QueryBudgetExceededException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements, rows and JDBC time of sampled requests per
+ * controller endpoint, and checks them against the endpoint's
+ * {@link QueryBudget}.
+ * <p>
+ * A sampled request gets a {@link QueryStats} tracker for its thread. Once the
+ * request completes, one structured line is logged to the
+ * {@code events.query-stats} logger, e.g.
+ * {@code endpoint="GET /api/events/{id}" status=200 statements=1 rows=1 jdbc_ms=0.4 budget=2},
+ * and the numbers are recorded in the {@code events.request.statements},
+ * {@code events.request.rows} and {@code events.request.jdbc} meters, tagged by
+ * method and URI.
+ * </p>
+ * <p>
+ * In production only {@code events.query-stats.sample-rate} of requests are
+ * tracked and a request over budget is logged as a warning. With
+ * {@code events.query-stats.enforce-budgets=true} (test and dev profiles)
+ * every request is tracked and one over budget fails with
+ * {@link QueryBudgetExceededException}, so integration tests catch N+1
+ * queries.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+    private static final Logger queryLog = LoggerFactory.getLogger("events.query-stats");
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final double sampleRate;
+    private final boolean enforceBudgets;
+
+    public QueryStatsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${events.query-stats.sample-rate:0.01}") double sampleRate,
+            @Value("${events.query-stats.enforce-budgets:false}") boolean enforceBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = sampleRate;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = enforceBudgets || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled || QueryStats.current() != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        QueryStats stats = QueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryStats.stop();
+        }
+        report(request, response, stats);
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Not handled by a controller, e.g. a 404
+            return;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        Integer budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        double jdbcMillis = stats.getExecutionNanos() / 1_000_000.0;
+
+        queryLog.info("endpoint=\"{}\" status={} statements={} rows={} jdbc_ms={} budget={}", endpoint,
+                response.getStatus(), stats.getStatements(), stats.getRows(),
+                String.format(Locale.ROOT, "%.1f", jdbcMillis), budget == null ? "none" : budget);
+        record(request.getMethod(), pattern.toString(), stats);
+
+        if (budget != null && stats.getStatements() > budget) {
+            String message = endpoint + " ran " + stats.getStatements() + " SQL statements, budget is " + budget;
+            if (enforceBudgets) {
+                throw new QueryBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+    }
+
+    private void record(String method, String uri, QueryStats stats) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        DistributionSummary.builder("events.request.statements")
+                .description("SQL statements per sampled request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("events.request.rows")
+                .description("Result set rows read per sampled request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getRows());
+        Timer.builder("events.request.jdbc")
+                .description("Time spent executing SQL statements per sampled request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static Integer budgetOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            return budget == null ? null : budget.value();
+        }
+        return null;
+    }
+}
@@ -71,11 +71,15 @@ public class RabbitMQConfig {
 
     /**
      * Configures RabbitTemplate with JSON message converter
+     * Publishes on a separate connection, so broker flow control on publishers
+     * cannot stall consumers; confirms and the channel cache come from the
+     * spring.rabbitmq.* properties of the shared connection factory
      */
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        rabbitTemplate.setUsePublisherConnection(true);
         return rabbitTemplate;
     }
 }
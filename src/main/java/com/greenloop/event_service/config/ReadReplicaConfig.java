@@ -0,0 +1,168 @@
+package com.greenloop.event_service.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends the read-only transactions of GET requests to a read replica.
+ * <p>
+ * Enabled with {@code events.replica-routing.enabled=true}. The replica gets
+ * its own Hikari pool, configured under {@code events.datasource.replica}
+ * (e.g. {@code jdbc-url}, {@code username}, {@code maximum-pool-size}), next to
+ * the primary pool configured under {@code spring.datasource}. The application
+ * data source becomes a {@link ReplicaRoutingDataSource} over both pools; see
+ * {@link ReadReplicaFilter} for which requests read from the replica and
+ * {@link ReplicaLagMonitor} for how replica lag is handled.
+ * </p>
+ * <p>
+ * Transactions that read from the replica do not add to the Hibernate
+ * second-level and query caches (see {@link ReplicaReadsJpaDialect}), so
+ * replica lag never leaks into reads served from the primary.
+ * </p>
+ * <p>
+ * Asynchronous request processing (e.g. a streamed participant export) runs
+ * on the application task executor, whose tasks inherit the replica-read
+ * decision of the request that submitted them (see
+ * {@link ConnectionBulkheadConfig#requestContextTaskDecorator}).
+ * </p>
+ * <p>
+ * The replica pool reports the usual {@code hikaricp.*} meters, tagged with its
+ * pool name, and the replica lag is exposed as {@code events.replica.lag}.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "events.replica-routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public static ReplicaDataSourcePostProcessor replicaDataSourcePostProcessor(Environment environment) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        Binder.get(environment).bind("events.datasource.replica", Bindable.ofInstance(replica));
+        if (!StringUtils.hasText(replica.getJdbcUrl())) {
+            replica.close();
+            throw new IllegalStateException(
+                    "events.datasource.replica.jdbc-url is required when events.replica-routing.enabled=true");
+        }
+        return new ReplicaDataSourcePostProcessor(replica);
+    }
+
+    /**
+     * Wraps the JPA dialect of the transaction manager once it is initialized;
+     * setting it earlier would be overwritten by the dialect of the entity
+     * manager factory.
+     */
+    @Bean
+    public static BeanPostProcessor replicaReadsJpaDialectPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new ReplicaReadsJpaDialect(transactionManager.getJpaDialect()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaDataSourcePostProcessor dataSources,
+            @Value("${events.replica-routing.lag-query:}") String lagQuery,
+            @Value("${events.replica-routing.read-your-writes-ms:5000}") long readYourWritesMillis,
+            @Value("${events.replica-routing.lag-check-interval-ms:1000}") long lagCheckIntervalMillis) {
+        return new ReplicaLagMonitor(dataSources.getReplica(), lagQuery, readYourWritesMillis,
+                lagCheckIntervalMillis);
+    }
+
+    @Bean
+    public ReadReplicaFilter readReplicaFilter(ReplicaLagMonitor replicaLagMonitor,
+            @Value("${events.replica-routing.read-your-writes-ms:5000}") long readYourWritesMillis,
+            @Value("${events.replica-routing.lag-check-interval-ms:1000}") long lagCheckIntervalMillis) {
+        // A usable replica may lag by up to the limit, as of a check up to two intervals old
+        return new ReadReplicaFilter(replicaLagMonitor,
+                Duration.ofMillis(readYourWritesMillis + 2 * lagCheckIntervalMillis));
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaDataSourcePostProcessor dataSources,
+            ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> {
+            HikariDataSource replica = dataSources.getReplica();
+            if (replica.getMetricRegistry() == null && replica.getMetricsTrackerFactory() == null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            Gauge.builder("events.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagMillis)
+                    .description("Last measured replication lag of the read replica")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("events.replica.usable", replicaLagMonitor, m -> m.isReplicaUsable() ? 1 : 0)
+                    .description("1 while read-only queries are routed to the read replica")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Owns the replica pool and wraps the application data source in a
+     * {@link ReplicaRoutingDataSource}. Runs right after the primary pool got
+     * its {@link ConnectionBulkheadDataSource} and before other
+     * post-processors, so wrappers such as {@link QueryStatsDataSource} see
+     * both pools.
+     */
+    public static class ReplicaDataSourcePostProcessor implements BeanPostProcessor, PriorityOrdered, DisposableBean {
+
+        private final HikariDataSource replica;
+        private DataSource primary;
+
+        ReplicaDataSourcePostProcessor(HikariDataSource replica) {
+            this.replica = replica;
+        }
+
+        public HikariDataSource getReplica() {
+            return replica;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                primary = dataSource;
+                return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(dataSource, replica));
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE + 1;
+        }
+
+        @Override
+        public void destroy() throws Exception {
+            replica.close();
+            // The wrapper hides the primary pool's close method from the context
+            if (primary instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.greenloop.event_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+
+/**
+ * Decides per request whether its read-only transactions may use the read
+ * replica.
+ * <p>
+ * GET and HEAD requests read from the replica, unless {@link ReplicaLagMonitor}
+ * has taken the replica out of rotation or the client wrote something the
+ * replica has not applied yet. Every write request answers with a
+ * {@value #LAST_WRITE_COOKIE} cookie holding the time its transaction had
+ * committed by, kept as long as a usable replica could still be missing the
+ * write; a read carrying it only goes to the replica once the monitor has
+ * seen the replica replay past that time. A user who has just registered for
+ * an event therefore sees the registration in their next reads, whichever
+ * service instance serves them. Write requests never use the replica, so a
+ * read followed by a write in the same request cannot act on stale rows.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+public class ReadReplicaFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "events_last_write";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Duration lastWriteTtl;
+
+    public ReadReplicaFilter(ReplicaLagMonitor lagMonitor, Duration lastWriteTtl) {
+        this.lagMonitor = lagMonitor;
+        this.lastWriteTtl = lastWriteTtl;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isRead(request)) {
+            LastWriteResponse lastWriteResponse = new LastWriteResponse(response);
+            try {
+                chain.doFilter(request, lastWriteResponse);
+            } finally {
+                lastWriteResponse.stamp();
+            }
+            return;
+        }
+
+        Long lastWrite = lastWrite(request);
+        boolean replica = lastWrite == null ? lagMonitor.isReplicaUsable() : lagMonitor.hasReplayed(lastWrite);
+        if (!replica) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.setReplicaReadsAllowed(true);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setReplicaReadsAllowed(false);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    /**
+     * @return the client's last write time in epoch milliseconds, or null if
+     *         it sent none
+     */
+    private static Long lastWrite(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        Long lastWrite = null;
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long value = Long.parseLong(cookie.getValue());
+                    lastWrite = lastWrite == null ? value : Math.max(lastWrite, value);
+                } catch (NumberFormatException e) {
+                    // Unreadable, so assume the write has not been replayed
+                    return Long.MAX_VALUE;
+                }
+            }
+        }
+        return lastWrite;
+    }
+
+    /**
+     * Adds the last-write cookie right before the response is committed. The
+     * handler has returned by then, so its transaction has committed.
+     */
+    private final class LastWriteResponse extends HttpServletResponseWrapper {
+
+        private boolean stamped;
+
+        LastWriteResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void stamp() {
+            if (stamped || isCommitted()) {
+                return;
+            }
+            stamped = true;
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) lastWriteTtl.toSeconds() + 1);
+            addCookie(cookie);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.greenloop.event_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the replication lag of the read replica and takes the replica out of
+ * rotation while it lags too far behind.
+ * <p>
+ * Each measurement also tells up to which instant the replica has applied
+ * the primary's commits: the time the check started, minus the lag.
+ * {@link ReadReplicaFilter} uses it through {@link #hasReplayed} to send a
+ * client that wrote recently to the replica only once its write is there.
+ * Write times come from whichever service instance handled the write, so
+ * this relies on the instances' clocks being synchronized. The replica is
+ * only used while its measured lag stays below {@code maxLagMillis}. If the lag
+ * cannot be measured, the replica is not used, and neither is it once the
+ * last successful measurement is older than twice the check interval (e.g.
+ * because the check hangs or the scheduler is stalled), since the lag may
+ * have grown unseen since then.
+ * </p>
+ * <p>
+ * The lag is read with {@code lagQuery}, which must return the lag in
+ * milliseconds. With a blank query the lag is not checked and the replica is
+ * always used, and a write counts as replayed {@code maxLagMillis} after it.
+ * </p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final long staleAfterNanos;
+    private final LongSupplier nanoClock;
+    private final Clock clock;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagMillis = Double.NaN;
+    private volatile long lastMeasuredNanos;
+    // Epoch millis up to which the replica had applied the primary's commits
+    private volatile long replayedUntilMillis = Long.MIN_VALUE;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, long checkIntervalMillis) {
+        this(replica, lagQuery, maxLagMillis, checkIntervalMillis, System::nanoTime, Clock.systemUTC());
+    }
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMillis, long checkIntervalMillis,
+            LongSupplier nanoClock, Clock clock) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(2 * checkIntervalMillis);
+        this.nanoClock = nanoClock;
+        this.clock = clock;
+        // Unchecked replicas are usable at once; checked ones after the first check
+        this.replicaUsable = !isChecked();
+    }
+
+    /**
+     * @return true if read-only queries may currently go to the replica
+     */
+    public boolean isReplicaUsable() {
+        if (!replicaUsable) {
+            return false;
+        }
+        return !isChecked() || nanoClock.getAsLong() - lastMeasuredNanos <= staleAfterNanos;
+    }
+
+    /**
+     * @param committedAtMillis when a write committed on the primary, in epoch
+     *                          milliseconds
+     * @return true if the replica is usable and already has that write
+     */
+    public boolean hasReplayed(long committedAtMillis) {
+        if (!isReplicaUsable()) {
+            return false;
+        }
+        if (!isChecked()) {
+            return clock.millis() - committedAtMillis >= maxLagMillis;
+        }
+        return replayedUntilMillis >= committedAtMillis;
+    }
+
+    /**
+     * @return the last measured lag in milliseconds, or NaN if unknown
+     */
+    public double getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Measures the replica lag and updates whether the replica is usable.
+     */
+    @Scheduled(fixedDelayString = "${events.replica-routing.lag-check-interval-ms:1000}")
+    public void check() {
+        if (!isChecked()) {
+            return;
+        }
+        boolean usable;
+        // Taken before the query, so the replica has at least this much
+        long startedAtMillis = clock.millis();
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lagMillis = lag == null ? 0 : lag.doubleValue();
+            lastMeasuredNanos = nanoClock.getAsLong();
+            replayedUntilMillis = startedAtMillis - (long) Math.ceil(lagMillis);
+            usable = lagMillis < maxLagMillis;
+        } catch (DataAccessException e) {
+            lagMillis = Double.NaN;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Could not read replica lag, reading from the primary: {}", e.getMessage());
+            }
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica lag is {} ms, reading from the replica again", Math.round(lagMillis));
+            } else if (!Double.isNaN(lagMillis)) {
+                log.warn("Replica lag is {} ms (limit {} ms), reading from the primary", Math.round(lagMillis),
+                        maxLagMillis);
+            }
+            replicaUsable = usable;
+        }
+    }
+
+    private boolean isChecked() {
+        return lagQuery != null && !lagQuery.isBlank();
+    }
+}
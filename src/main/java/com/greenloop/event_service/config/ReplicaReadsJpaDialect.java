@@ -0,0 +1,75 @@
+package com.greenloop.event_service.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.ConnectionHandle;
+import org.springframework.orm.jpa.JpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps replica reads out of the second-level and query caches.
+ * <p>
+ * The caches are shared by every transaction of this instance, so an entity
+ * or query result read from a lagging replica would be served to primary
+ * readers too, including a user who just wrote, until the entry expires.
+ * Transactions that will read from the replica (see
+ * {@link ReplicaRoutingDataSource}) therefore run with the cache store mode
+ * {@link CacheStoreMode#BYPASS} (Hibernate's {@code CacheMode.GET}): they
+ * still read cached entries, which come from the primary, but never add to
+ * the caches. Everything else is delegated to the dialect of the
+ * application's transaction manager.
+ * </p>
+ */
+class ReplicaReadsJpaDialect implements JpaDialect {
+
+    private static final String SHARED_CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    private final JpaDialect delegate;
+
+    ReplicaReadsJpaDialect(JpaDialect delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object transactionData = delegate.beginTransaction(entityManager, definition);
+        // The read-only flag of the transaction is not published yet, so the
+        // routing decision is taken from the definition
+        if (definition.isReadOnly() && ReplicaRoutingDataSource.isReplicaReadsAllowed()) {
+            // Set as the JPA property rather than on the Session: find() derives
+            // its cache mode from this property and would ignore the Session's
+            entityManager.setProperty(SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        }
+        return transactionData;
+    }
+
+    @Override
+    public Object prepareTransaction(EntityManager entityManager, boolean readOnly, String name) {
+        return delegate.prepareTransaction(entityManager, readOnly, name);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        delegate.cleanupTransaction(transactionData);
+    }
+
+    @Override
+    public ConnectionHandle getJdbcConnection(EntityManager entityManager, boolean readOnly) throws SQLException {
+        return delegate.getJdbcConnection(entityManager, readOnly);
+    }
+
+    @Override
+    public void releaseJdbcConnection(ConnectionHandle conHandle, EntityManager entityManager) throws SQLException {
+        delegate.releaseJdbcConnection(conHandle, entityManager);
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return delegate.translateExceptionIfPossible(ex);
+    }
+}
@@ -0,0 +1,91 @@
+package com.greenloop.event_service.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes each connection to the primary or the read replica pool.
+ * <p>
+ * A connection goes to the replica only if it is taken inside a read-only
+ * transaction on a thread that {@link ReadReplicaFilter} has cleared for
+ * replica reads. Everything else, including read-only transactions of
+ * scheduled jobs and of requests that write, uses the primary.
+ * </p>
+ * <p>
+ * The choice is made when the connection is taken, so this data source sits
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens its connection before the read-only flag of
+ * the transaction is published, and the lazy proxy defers the actual lookup to
+ * the first statement.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> REPLICA_READS = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Allows or disallows replica reads for read-only transactions on the
+     * current thread.
+     */
+    static void setReplicaReadsAllowed(boolean allowed) {
+        if (allowed) {
+            REPLICA_READS.set(Boolean.TRUE);
+        } else {
+            REPLICA_READS.remove();
+        }
+    }
+
+    /**
+     * Carries the replica-read permission of the calling thread over to a task
+     * that runs on another thread, such as the body of a streamed response.
+     *
+     * @param task the task to run elsewhere
+     * @return the task, allowed to read from the replica if the caller was
+     */
+    static Runnable propagateReplicaReads(Runnable task) {
+        if (!isReplicaReadsAllowed()) {
+            return task;
+        }
+        return () -> {
+            setReplicaReadsAllowed(true);
+            try {
+                task.run();
+            } finally {
+                setReplicaReadsAllowed(false);
+            }
+        };
+    }
+
+    /**
+     * @return true if read-only transactions on this thread may use the
+     *         replica
+     */
+    static boolean isReplicaReadsAllowed() {
+        return REPLICA_READS.get() != null;
+    }
+
+    /**
+     * @return true if a connection taken on this thread now would come from
+     *         the replica
+     */
+    public static boolean isReplicaRead() {
+        return isReplicaReadsAllowed() && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReplicaRead() ? REPLICA : PRIMARY;
+    }
+}
@@ -0,0 +1,101 @@
+package com.greenloop.event_service.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.greenloop.event_service.exceptions.AlreadyRegisteredException;
+import com.greenloop.event_service.exceptions.AttendanceAlreadyMarkedException;
+import com.greenloop.event_service.exceptions.AttendeeNotRegisteredException;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+import com.greenloop.event_service.exceptions.EventFullException;
+import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.exceptions.InvalidBulkRegistrationException;
+import com.greenloop.event_service.exceptions.InvalidCursorException;
+import com.greenloop.event_service.exceptions.InvalidEventStateException;
+import com.greenloop.event_service.exceptions.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Times the public methods of {@code EventService}, {@code EventAttendeeService}
+ * and {@code AttendanceCheckInService.checkIn}, the code behind every
+ * event, registration and scan endpoint.
+ * <p>
+ * Each call is recorded in the {@code events.service.calls} timer, tagged with
+ * {@code service}, {@code method} and {@code outcome}. The outcome is
+ * {@code success}, or derived from the business exception thrown, e.g.
+ * {@code full}, {@code already_registered} or {@code invalid_state};
+ * anything unexpected is {@code error}. The timer's count gives throughput
+ * per outcome, so no separate counters are needed.
+ * </p>
+ * <p>
+ * Runs outside the registration limiter and the transaction, so the time
+ * includes queueing and commit, and limiter rejections count as
+ * {@code rejected}.
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    // Checked in order, so subclasses must come before their parents
+    private static final Map<Class<? extends Throwable>, String> OUTCOMES = new LinkedHashMap<>();
+
+    static {
+        OUTCOMES.put(EventFullException.class, "full");
+        OUTCOMES.put(AlreadyRegisteredException.class, "already_registered");
+        OUTCOMES.put(InvalidEventStateException.class, "invalid_state");
+        OUTCOMES.put(AttendanceAlreadyMarkedException.class, "already_attended");
+        OUTCOMES.put(AttendeeNotRegisteredException.class, "not_registered");
+        OUTCOMES.put(EventNotFoundException.class, "not_found");
+        OUTCOMES.put(ResourceNotFoundException.class, "not_found");
+        OUTCOMES.put(InvalidBulkRegistrationException.class, "invalid_request");
+        OUTCOMES.put(InvalidCursorException.class, "invalid_request");
+        OUTCOMES.put(BulkheadFullException.class, "rejected");
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.greenloop.event_service.services.EventService.*(..))"
+            + " || execution(public * com.greenloop.event_service.services.EventAttendeeService.*(..))"
+            + " || execution(public * com.greenloop.event_service.services.AttendanceCheckInService.checkIn(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("events.service.calls")
+                    .description("Service method calls behind the event, registration and scan endpoints")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    static String outcomeOf(Throwable e) {
+        for (Map.Entry<Class<? extends Throwable>, String> entry : OUTCOMES.entrySet()) {
+            if (entry.getKey().isInstance(e)) {
+                return entry.getValue();
+            }
+        }
+        return "error";
+    }
+}
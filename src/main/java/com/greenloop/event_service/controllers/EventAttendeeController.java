@@ -1,14 +1,24 @@
 package com.greenloop.event_service.controllers;
 
+import com.greenloop.event_service.config.Bulkhead;
+import com.greenloop.event_service.config.QueryBudget;
 import com.greenloop.event_service.dtos.ApiResponse;
+import com.greenloop.event_service.dtos.BulkRegistrationRequest;
+import com.greenloop.event_service.dtos.BulkRegistrationResponse;
 import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.enums.ExportFormat;
+import com.greenloop.event_service.enums.TrafficClass;
 import com.greenloop.event_service.exceptions.RoleNotAllowedException;
 import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.ParticipantExportService;
 
 import lombok.AllArgsConstructor;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.*;
 
 @RestController
@@ -17,8 +27,11 @@ import java.util.*;
 public class EventAttendeeController {
 
     private final EventAttendeeService attendeeService;
+    private final ParticipantExportService exportService;
 
     @PostMapping("/register")
+    @Bulkhead(TrafficClass.REGISTRATION)
+    @QueryBudget(5)
     public ResponseEntity<ApiResponse<EventAttendeeResponse>> registerAttendee(@PathVariable UUID eventId,
             @RequestHeader("X-User-ID") String userId,
             @RequestHeader("X-User-Email") String userEmail) {
@@ -27,7 +40,22 @@ public class EventAttendeeController {
 
     }
 
+    @PostMapping("/register/bulk")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(6)
+    public ResponseEntity<ApiResponse<BulkRegistrationResponse>> registerAttendees(@PathVariable UUID eventId,
+            @RequestHeader("X-User-Role") String userRole,
+            @RequestBody BulkRegistrationRequest request) {
+        if (!userRole.equals("ADMIN")) {
+            throw new RoleNotAllowedException();
+        }
+        BulkRegistrationResponse response = attendeeService.registerAttendees(eventId, request.getAttendees());
+        return ResponseEntity.ok(ApiResponse.success("Bulk registration processed", response));
+    }
+
     @GetMapping("/participants")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<List<EventAttendeeResponse>>> getAllEventAttendees(@PathVariable UUID eventId,
             @RequestHeader("X-User-Role") String userRole) {
         if (!userRole.equals("ADMIN")) {
@@ -38,18 +66,43 @@ public class EventAttendeeController {
 
     }
 
+    @GetMapping("/participants/export")
+    @Bulkhead(TrafficClass.EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportEventAttendees(@PathVariable UUID eventId,
+            @RequestHeader("X-User-Role") String userRole,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        if (!userRole.equals("ADMIN")) {
+            throw new RoleNotAllowedException();
+        }
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        exportService.requireEvent(eventId);
+
+        StreamingResponseBody body = out -> exportService.writeParticipants(eventId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"participants-" + eventId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/is-registered")
+    @Bulkhead(TrafficClass.BROWSE)
+    @QueryBudget(2)
     public boolean isRegistered(@PathVariable UUID eventId, @RequestHeader("X-User-ID") String userId) {
         return attendeeService.isUserRegistered(eventId, UUID.fromString(userId));
     }
 
     @DeleteMapping("/participants/{userId}")
+    @Bulkhead(TrafficClass.REGISTRATION)
+    @QueryBudget(4)
     public ResponseEntity<Void> deregisterAttendee(@PathVariable UUID eventId, @PathVariable UUID userId) {
         attendeeService.deregisterAttendee(eventId, userId);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/user")
+    @Bulkhead(TrafficClass.BROWSE)
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<EventAttendeeResponse>> getEventAttendee(@PathVariable UUID eventId,
             @RequestHeader("X-User-ID") String userId) {
         EventAttendeeResponse response = attendeeService.getEventAttendeeById(eventId, UUID.fromString(userId));
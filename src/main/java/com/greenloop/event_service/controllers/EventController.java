@@ -1,21 +1,36 @@
 package com.greenloop.event_service.controllers;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
+import com.greenloop.event_service.config.Bulkhead;
+import com.greenloop.event_service.config.QueryBudget;
 import com.greenloop.event_service.dtos.ApiResponse;
 import com.greenloop.event_service.dtos.CreateEventRequest;
 import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.dtos.EventCalendarResponse;
+import com.greenloop.event_service.dtos.EventPageResponse;
 import com.greenloop.event_service.dtos.EventResponse;
+import com.greenloop.event_service.dtos.EventStatsResponse;
+import com.greenloop.event_service.dtos.EventVersion;
 import com.greenloop.event_service.dtos.ScanRequest;
 import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.dtos.UserEventsResponse;
 import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.enums.TrafficClass;
 import com.greenloop.event_service.exceptions.RoleNotAllowedException;
+import com.greenloop.event_service.services.AttendanceCheckInService;
+import com.greenloop.event_service.services.EventCalendarIndex;
 import com.greenloop.event_service.services.EventService;
-import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventStatsService;
 
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -35,69 +50,191 @@ import lombok.AllArgsConstructor;
  */
 @RestController
 @RequestMapping("/api/events")
+@Bulkhead(TrafficClass.BROWSE)
 @AllArgsConstructor
 public class EventController {
 
     private final EventService eventService;
-    private final EventAttendeeService attendeeService;
+    private final EventStatsService statsService;
+    private final AttendanceCheckInService checkInService;
+    private final EventCalendarIndex calendarIndex;
 
     // ==================== QUERY ENDPOINTS (PUBLIC/USER) ==================== //
 
     /**
-     * Retrieves all events.
+     * Retrieves one page of events, optionally filtered.
+     * <p>
+     * Uses keyset pagination: pass the {@code nextCursor} of a response as
+     * {@code cursor} to fetch the following page. The response carries an
+     * {@code ETag} computed from the ids and versions of the events it
+     * returns. A request with an {@code If-None-Match} that still matches the
+     * page's current versions gets an empty 304 before any event is loaded.
+     * </p>
      *
-     * @return list of all events wrapped in ApiResponse
+     * @param status     optional event status filter
+     * @param type       optional event type filter
+     * @param from       optional inclusive lower bound on start date (ISO-8601)
+     * @param to         optional exclusive upper bound on start date (ISO-8601)
+     * @param cursor     opaque cursor from the previous page
+     * @param size       page size (default 20, max 100)
+     * @param webRequest the current request, for conditional GET handling
+     * @return page of events and next-page cursor wrapped in ApiResponse, or
+     *         null when a 304 was sent
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<EventResponse>>> getAllEvents() {
-        List<EventResponse> response = eventService.getAllEvents();
-        return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", response));
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<EventPageResponse>> getAllEvents(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        String[] ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String etag = eventService.getEventsEtag(status, type, from, to, cursor, size);
+            if (matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        // The page and its ETag come from the same read, so the header always describes the body
+        EventPageResponse response = eventService.getEvents(status, type, from, to, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(response.getEtag())
+                .body(ApiResponse.success("Events retrieved successfully", response));
     }
 
     /**
      * Retrieves a single event by ID.
+     * <p>
+     * The response carries an {@code ETag} and {@code Last-Modified} taken from
+     * the version of the event it returns. A matching {@code If-None-Match} is
+     * answered with an empty 304 before the event response is built; an
+     * {@code If-Modified-Since} is checked against the loaded event.
+     * </p>
      *
-     * @param id event UUID
-     * @return event details wrapped in ApiResponse
+     * @param id         event UUID
+     * @param webRequest the current request, for conditional GET handling
+     * @return event details wrapped in ApiResponse, or an empty 304
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<EventResponse>> getEvent(@PathVariable UUID id) {
+    @QueryBudget(1)
+    public ResponseEntity<ApiResponse<EventResponse>> getEvent(@PathVariable UUID id, WebRequest webRequest) {
+        String[] ifNoneMatch = webRequest.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            EventVersion version = eventService.getEventVersion(id);
+            if (matchesAny(ifNoneMatch, version.getEtag())) {
+                return versionHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+            }
+        }
         EventResponse response = eventService.getEventById(id);
-        return ResponseEntity.ok(ApiResponse.success("Event retrieved successfully", response));
+        return versionHeaders(ResponseEntity.ok(), response.getVersion())
+                .body(ApiResponse.success("Event retrieved successfully", response));
     }
 
     /**
-     * Retrieves upcoming events that the authenticated user has joined.
+     * Retrieves one page of upcoming events that the authenticated user has
+     * joined, soonest first.
      *
      * @param userId authenticated user ID from gateway (X-User-ID header)
-     * @return list of upcoming events user is registered for
+     * @param cursor opaque cursor from the previous page
+     * @param size   page size (default 20, max 100)
+     * @return page of upcoming events user is registered for
      */
     @GetMapping("/upcoming/joined")
-    public ResponseEntity<ApiResponse<List<EventResponse>>> upcomingEventsForUser(
-            @RequestHeader("X-User-ID") String userId) {
-        List<EventResponse> response = eventService.upcomingEventForUser(UUID.fromString(userId));
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<EventPageResponse>> upcomingEventsForUser(
+            @RequestHeader("X-User-ID") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        EventPageResponse response = eventService.upcomingEventForUser(UUID.fromString(userId), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", response));
+    }
+
+    /**
+     * Retrieves the authenticated user's upcoming and past events, with
+     * attendance status, in one response.
+     *
+     * @param userId authenticated user ID from gateway (X-User-ID header)
+     * @param size   maximum events per slice (default 10, max 100)
+     * @return upcoming and past slices wrapped in ApiResponse
+     */
+    @GetMapping("/me")
+    @QueryBudget(3)
+    public ResponseEntity<ApiResponse<UserEventsResponse>> getUserEvents(
+            @RequestHeader("X-User-ID") String userId,
+            @RequestParam(defaultValue = "10") int size) {
+        UserEventsResponse response = eventService.getUserEvents(UUID.fromString(userId), size);
+        return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", response));
+    }
+
+    /**
+     * Retrieves one page of upcoming events the authenticated user can still
+     * join (not ended, not full, not already joined).
+     *
+     * @param userId authenticated user ID from gateway (X-User-ID header)
+     * @param cursor opaque cursor from the previous page
+     * @param size   page size (default 20, max 100)
+     * @return page of joinable events and next-page cursor wrapped in ApiResponse
+     */
+    @GetMapping("/upcoming/joinable")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<EventPageResponse>> upcomingNotJoinedEventsForUser(
+            @RequestHeader("X-User-ID") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        EventPageResponse response = eventService.upcomingNotJoinedEventsForUser(UUID.fromString(userId), cursor,
+                size);
         return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", response));
     }
 
     /**
-     * Retrieves past events that the authenticated user attended.
+     * Retrieves one page of past events that the authenticated user joined,
+     * most recent first.
      *
      * @param userId authenticated user ID from gateway (X-User-ID header)
-     * @return list of past events user attended
+     * @param cursor opaque cursor from the previous page
+     * @param size   page size (default 20, max 100)
+     * @return page of past events user registered for
      */
     @GetMapping("/past")
-    public ResponseEntity<ApiResponse<List<EventResponse>>> pastEventsForUser(
-            @RequestHeader("X-User-ID") String userId) {
-        List<EventResponse> response = eventService.pastEventsForUser(UUID.fromString(userId));
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<EventPageResponse>> pastEventsForUser(
+            @RequestHeader("X-User-ID") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        EventPageResponse response = eventService.pastEventsForUser(UUID.fromString(userId), cursor, size);
         return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", response));
     }
 
+    /**
+     * Retrieves the events starting on each day of a date window, e.g. a week
+     * or month view. Served from the in-memory calendar index.
+     *
+     * @param from first day of the window (ISO date, default today)
+     * @param to   last day of the window, inclusive (ISO date, default six days
+     *             after {@code from})
+     * @return events grouped by start day wrapped in ApiResponse
+     */
+    @GetMapping("/calendar")
+    @QueryBudget(2)
+    public ResponseEntity<ApiResponse<EventCalendarResponse>> getCalendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(6);
+        EventCalendarResponse response = calendarIndex.getCalendar(start, end);
+        return ResponseEntity.ok(ApiResponse.success("Event calendar retrieved successfully", response));
+    }
+
     /**
      * Retrieves all available event types (enum values).
      *
      * @return array of EventType enum values
      */
     @GetMapping("/types")
+    @QueryBudget(0)
     public ResponseEntity<ApiResponse<EventType[]>> getAllEventTypes() {
         EventType[] response = eventService.getAllEventTypes();
         return ResponseEntity.ok(ApiResponse.success("Event types retrieved successfully", response));
@@ -105,14 +242,29 @@ public class EventController {
 
     // ==================== ANALYTICS ENDPOINTS ==================== //
 
+    /**
+     * Gets all dashboard metrics in a single response.
+     *
+     * @return open event count, upcoming 30-day count and open participant total
+     */
+    @GetMapping("/stats")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(3)
+    public ResponseEntity<ApiResponse<EventStatsResponse>> getStats() {
+        EventStatsResponse response = statsService.getStats();
+        return ResponseEntity.ok(ApiResponse.success("Event stats retrieved successfully", response));
+    }
+
     /**
      * Gets the total count of open events.
      *
      * @return total count of open events
      */
     @GetMapping("/stats/open/total")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<Long>> getTotalOpenEvents() {
-        long response = eventService.getTotalOpenEvents();
+        long response = statsService.getTotalOpenEvents();
         return ResponseEntity.ok(ApiResponse.success("Total event count retrieved successfully", response));
     }
 
@@ -122,8 +274,10 @@ public class EventController {
      * @return count of events starting within 30 days
      */
     @GetMapping("/stats/upcoming/30days")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<Long>> getUpcomingEventsNext30Days() {
-        long response = eventService.getUpcomingEventsNext30Days();
+        long response = statsService.getUpcomingEventsNext30Days();
         return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", response));
     }
 
@@ -133,8 +287,10 @@ public class EventController {
      * @return sum of participants in open events
      */
     @GetMapping("/stats/open/participants")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(3)
     public ResponseEntity<ApiResponse<Long>> getTotalParticipantsInOpenEvents() {
-        long response = eventService.getTotalParticipantsInOpenEvents();
+        long response = statsService.getTotalParticipantsInOpenEvents();
         return ResponseEntity.ok(ApiResponse.success("Total participant count retrieved successfully", response));
     }
 
@@ -149,6 +305,8 @@ public class EventController {
      * @throws RoleNotAllowedException if user is not an admin
      */
     @PostMapping
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(2)
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<ApiResponse<EventResponse>> createEvent(
             @Valid @RequestBody CreateEventRequest request,
@@ -172,6 +330,8 @@ public class EventController {
      * @throws RoleNotAllowedException if user is not an admin
      */
     @PutMapping("/{id}")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(2)
     public ResponseEntity<ApiResponse<EventResponse>> updateEvent(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateEventRequest request,
@@ -192,6 +352,8 @@ public class EventController {
      * @throws RoleNotAllowedException if user is not an admin
      */
     @DeleteMapping("/{id}")
+    @Bulkhead(TrafficClass.ADMIN)
+    @QueryBudget(5)
     public ResponseEntity<Void> deleteEvent(
             @PathVariable UUID id,
             @RequestHeader("X-User-Role") String userRole) {
@@ -208,7 +370,8 @@ public class EventController {
      * Marks attendance for the authenticated user by scanning a QR token.
      * <p>
      * The QR token uniquely identifies the event; therefore, no eventId is required
-     * in the path.
+     * in the path. Scans are written in coalesced batches by
+     * {@link AttendanceCheckInService}.
      * </p>
      *
      * @param req       the scan request containing the QR token
@@ -217,12 +380,38 @@ public class EventController {
      * @return attendance status wrapped in ApiResponse
      */
     @PostMapping("/scan")
+    @Bulkhead(TrafficClass.CHECK_IN)
+    @QueryBudget(5)
     public ResponseEntity<ApiResponse<EventAttendeeResponse>> scanAndMarkAttendance(
             @RequestBody ScanRequest req,
             @RequestHeader("X-User-ID") String userId,
             @RequestHeader("X-User-Email") String userEmail) {
-        EventAttendeeResponse response = attendeeService.markAttendanceByToken(
-                req, UUID.fromString(userId), userEmail);
+        EventAttendeeResponse response = checkInService.checkIn(req, UUID.fromString(userId), userEmail);
         return ResponseEntity.ok(ApiResponse.success("Attendance marked successfully", response));
     }
+
+    /**
+     * Whether an {@code If-None-Match} header lists the given ETag, or
+     * {@code *}. Compared weakly, as that header requires.
+     */
+    private static boolean matchesAny(String[] ifNoneMatch, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.put(HttpHeaders.IF_NONE_MATCH, List.of(ifNoneMatch));
+        return headers.getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag));
+    }
+
+    /**
+     * Sets ETag and, when known, Last-Modified from an event's version. For a
+     * 200, Spring answers a still-matching conditional request with 304 from
+     * these headers.
+     */
+    private static ResponseEntity.BodyBuilder versionHeaders(ResponseEntity.BodyBuilder builder,
+            EventVersion version) {
+        builder.eTag(version.getEtag());
+        if (version.getLastModifiedMillis() >= 0) {
+            builder.lastModified(version.getLastModifiedMillis());
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,25 @@
+package com.greenloop.event_service.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationRequest {
+    private List<Registrant> attendees;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Registrant {
+        private UUID userId;
+        private String email;
+    }
+}
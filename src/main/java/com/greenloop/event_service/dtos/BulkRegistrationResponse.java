@@ -0,0 +1,22 @@
+package com.greenloop.event_service.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationResponse {
+    private UUID eventId;
+    private int registered;
+    private int alreadyRegistered;
+    private int full;
+    // One entry per requested user, in request order
+    private List<BulkRegistrationResult> results;
+}
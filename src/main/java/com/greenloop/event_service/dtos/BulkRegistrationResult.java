@@ -0,0 +1,21 @@
+package com.greenloop.event_service.dtos;
+
+import java.util.UUID;
+
+import com.greenloop.event_service.enums.RegistrationOutcome;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationResult {
+    private UUID userId;
+    private RegistrationOutcome outcome;
+    // Only set when the user was registered by this request
+    private EventAttendeeResponse attendee;
+}
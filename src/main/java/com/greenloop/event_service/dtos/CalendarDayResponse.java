@@ -0,0 +1,19 @@
+package com.greenloop.event_service.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarDayResponse {
+    private LocalDate date;
+    private int count;
+    private List<CalendarEventResponse> events;
+}
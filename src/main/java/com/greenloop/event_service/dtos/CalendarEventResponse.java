@@ -0,0 +1,29 @@
+package com.greenloop.event_service.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.greenloop.event_service.enums.EventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Calendar listing of an event: only the fields that place it on a calendar.
+ * Status and seat counts change too often to be served from the calendar
+ * index; clients fetch them from {@code GET /api/events/{id}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarEventResponse {
+    private UUID id;
+    private String name;
+    private EventType type;
+    private String location;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+}
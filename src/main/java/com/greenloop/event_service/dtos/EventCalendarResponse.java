@@ -0,0 +1,22 @@
+package com.greenloop.event_service.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventCalendarResponse {
+    private LocalDate from;
+    private LocalDate to;
+    private long total;
+
+    /** Days in the window that have at least one event, in date order. */
+    private List<CalendarDayResponse> days;
+}
@@ -0,0 +1,24 @@
+package com.greenloop.event_service.dtos;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventPageResponse {
+    private List<EventResponse> events;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /** Strong ETag derived from the ids and versions of the page's events. */
+    @JsonIgnore
+    private String etag;
+}
@@ -3,6 +3,8 @@ package com.greenloop.event_service.dtos;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,4 +30,11 @@ public class EventResponse {
     private LocalDateTime qrGeneratedAt;
     private String qrToken;
     private int attendeeCount;
+
+    /**
+     * Version stamp of the event this response was built from, set by
+     * single-event reads for their ETag and Last-Modified headers.
+     */
+    @JsonIgnore
+    private EventVersion version;
 }
@@ -0,0 +1,38 @@
+package com.greenloop.event_service.dtos;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Version stamp of an event, used to answer conditional GETs without building
+ * the event response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventVersion {
+    private UUID id;
+    private long version;
+    private LocalDateTime updatedAt;
+
+    /**
+     * @return strong ETag of the event's representation
+     */
+    public String getEtag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * @return last modification as epoch milliseconds, or -1 if unknown
+     */
+    public long getLastModifiedMillis() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,19 @@
+package com.greenloop.event_service.dtos;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEventResponse {
+    private EventResponse event;
+    private LocalDateTime registeredAt;
+    private boolean attended;
+    private LocalDateTime attendedAt;
+}
@@ -0,0 +1,17 @@
+package com.greenloop.event_service.dtos;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserEventsResponse {
+    private List<UserEventResponse> upcoming;
+    private List<UserEventResponse> past;
+}
@@ -0,0 +1,7 @@
+package com.greenloop.event_service.enums;
+
+public enum RegistrationOutcome {
+    REGISTERED,
+    ALREADY_REGISTERED,
+    FULL
+}
@@ -0,0 +1,57 @@
+package com.greenloop.event_service.enums;
+
+/**
+ * Kinds of API traffic that get their own bulkhead, so a burst of one kind
+ * cannot take the request threads the others need.
+ * <p>
+ * The defaults below (requests in progress, requests queued, queue wait)
+ * apply unless overridden under {@code events.bulkheads.<key>.*}. They limit
+ * requests, not database connections; those are capped per class by
+ * {@code events.bulkheads.<key>.max-connections}, which defaults to one less
+ * than the pool size (see
+ * {@link com.greenloop.event_service.config.ConnectionBulkheadDataSource}).
+ * </p>
+ */
+public enum TrafficClass {
+    /** QR code scans at the venue. */
+    CHECK_IN("check-in", 100, 50, 1000),
+    /** Users registering for or leaving events. */
+    REGISTRATION("registration", 20, 40, 1000),
+    /** Catalog, event detail and per-user listings. */
+    BROWSE("browse", 20, 30, 500),
+    /** Event management, bulk registration, participant lists and dashboard stats. */
+    ADMIN("admin", 4, 6, 1000),
+    /** Participant exports, each holding a database connection while it streams. */
+    EXPORT("export", 1, 2, 1000);
+
+    private final String key;
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxQueued;
+    private final long defaultMaxWaitMillis;
+
+    TrafficClass(String key, int defaultMaxConcurrent, int defaultMaxQueued, long defaultMaxWaitMillis) {
+        this.key = key;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueued = defaultMaxQueued;
+        this.defaultMaxWaitMillis = defaultMaxWaitMillis;
+    }
+
+    /**
+     * @return the name used in configuration keys and metric tags
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public int getDefaultMaxQueued() {
+        return defaultMaxQueued;
+    }
+
+    public long getDefaultMaxWaitMillis() {
+        return defaultMaxWaitMillis;
+    }
+}
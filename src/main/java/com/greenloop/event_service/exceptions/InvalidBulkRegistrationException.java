@@ -0,0 +1,7 @@
+package com.greenloop.event_service.exceptions;
+
+public class InvalidBulkRegistrationException extends RuntimeException {
+    public InvalidBulkRegistrationException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greenloop.event_service.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message){
+        super(message);
+    }
+}
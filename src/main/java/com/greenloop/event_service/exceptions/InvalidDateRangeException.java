@@ -0,0 +1,7 @@
+package com.greenloop.event_service.exceptions;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
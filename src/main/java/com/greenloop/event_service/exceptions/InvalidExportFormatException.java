@@ -0,0 +1,7 @@
+package com.greenloop.event_service.exceptions;
+
+public class InvalidExportFormatException extends RuntimeException {
+    public InvalidExportFormatException(String message){
+        super(message);
+    }
+}
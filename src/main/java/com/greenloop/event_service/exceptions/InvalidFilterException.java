@@ -0,0 +1,7 @@
+package com.greenloop.event_service.exceptions;
+
+public class InvalidFilterException extends RuntimeException {
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.greenloop.event_service.exceptions;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
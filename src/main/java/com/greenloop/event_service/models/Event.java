@@ -3,18 +3,30 @@ package com.greenloop.event_service.models;
 import jakarta.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 import java.util.*;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.greenloop.event_service.config.HibernateCacheConfig;
 import com.greenloop.event_service.enums.EventType;
 import com.greenloop.event_service.dtos.UpdateEventRequest;
 import com.greenloop.event_service.enums.EventStatus;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.EVENTS_REGION)
 @Data
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_start_id", columnList = "start_date_time, id"),
+        @Index(name = "idx_events_status_start_id", columnList = "status, start_date_time, id"),
+        @Index(name = "idx_events_status_end_id", columnList = "status, end_date_time, id"),
+        @Index(name = "idx_events_type_start_id", columnList = "type, start_date_time, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -54,11 +66,48 @@ public class Event {
 
     private LocalDateTime qrGeneratedAt;
 
+    /**
+     * Denormalized number of rows in {@code event_attendees} for this event.
+     * <p>
+     * Maintained only through the atomic seat reservation queries on
+     * {@code EventRepository}; it is never written by entity dirty checking so a
+     * stale in-memory copy cannot overwrite concurrent increments.
+     * </p>
+     */
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int attendeeCount = 0;
+
+    /**
+     * Optimistic-lock version, also used as the ETag of the event.
+     * <p>
+     * Entity updates are checked against it, so concurrent edits fail instead
+     * of silently overwriting each other. The bulk seat and status UPDATEs on
+     * {@code EventRepository} bump it as well, so every change to the row
+     * yields a new version.
+     * </p>
+     */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private long version = 0L;
+
+    /** When the row was last written; served as {@code Last-Modified}. */
+    private LocalDateTime updatedAt;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonProperty("attendees")
     @Builder.Default
     private List<EventAttendee> attendees = new ArrayList<>();
 
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     public EventAttendee addAttendeeToEvent(EventAttendee attendee) {
         attendees.add(attendee);
         attendee.setEvent(this);
@@ -70,10 +119,6 @@ public class Event {
         return attendee;
     }
 
-    public int getAttendeeCount() {
-        return attendees.size();
-    }
-
     public Event updateFromRequest(UpdateEventRequest request) {
         Optional.ofNullable(request.getName()).ifPresent(this::setName);
         Optional.ofNullable(request.getDescription()).ifPresent(this::setDescription);
@@ -39,7 +39,7 @@ public class EventAttendee {
 
     private java.time.LocalDateTime attendedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     @JsonIgnore
     private Event event;
@@ -0,0 +1,68 @@
+package com.greenloop.event_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A RabbitMQ message waiting to be relayed to the broker.
+ * <p>
+ * Rows are written in the same transaction as the change that produced them
+ * and deleted once the broker has confirmed them, so a message is published if
+ * and only if its transaction committed. While a relay publishes a row it
+ * holds a time-limited claim on it instead of a database lock.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_created_id", columnList = "created_at, id")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    /**
+     * Type id header set by the JSON message converter, so consumers see the
+     * same headers as a direct publish.
+     */
+    private String typeId;
+
+    @Column(nullable = false, length = 8192)
+    private String payload;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Set while a relay is publishing the message, to the id of that relay run.
+     * Null when the message is free to be picked up.
+     */
+    private UUID claimToken;
+
+    /**
+     * When the current claim lapses. A relay that dies mid-publish leaves its
+     * claim behind; after this time another relay takes the message over.
+     */
+    private LocalDateTime claimedUntil;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
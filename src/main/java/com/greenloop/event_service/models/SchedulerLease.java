@@ -0,0 +1,32 @@
+package com.greenloop.event_service.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named, time-limited lease on a cluster-wide background job.
+ * <p>
+ * The replica whose {@code owner} is recorded runs the job until
+ * {@code expiresAt}; any replica may take the lease over once it has expired,
+ * so a crashed owner never blocks the job for longer than one lease.
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "scheduler_leases")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
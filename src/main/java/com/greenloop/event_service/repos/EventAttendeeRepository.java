@@ -1,10 +1,24 @@
 package com.greenloop.event_service.repos;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
 import com.greenloop.event_service.models.EventAttendee;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventAttendeeRepository extends JpaRepository<EventAttendee, UUID> {
@@ -12,4 +26,57 @@ public interface EventAttendeeRepository extends JpaRepository<EventAttendee, UU
     Optional<EventAttendee> findByUserIdAndEventId(UUID userId, UUID eventId);
 
     boolean existsByUserIdAndEventId(UUID userId, UUID eventId);
+
+    List<EventAttendee> findByEventIdAndUserIdIn(UUID eventId, Collection<UUID> userIds);
+
+    /**
+     * Loads a user's attendee row for an event and locks it until the end of
+     * the transaction, so a concurrent check-in for the same user waits and
+     * then sees the committed attendance.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM EventAttendee a WHERE a.userId = :userId AND a.event.id = :eventId")
+    Optional<EventAttendee> findByUserIdAndEventIdForUpdate(@Param("userId") UUID userId,
+            @Param("eventId") UUID eventId);
+
+    /**
+     * Loads the attendee rows of several users for an event and locks them
+     * until the end of the transaction. Rows are locked in id order, so two
+     * batches locking overlapping rows cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM EventAttendee a WHERE a.event.id = :eventId AND a.userId IN :userIds ORDER BY a.id")
+    List<EventAttendee> findByEventIdAndUserIdInForUpdate(@Param("eventId") UUID eventId,
+            @Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Marks a batch of attendee rows as attended in one statement. Rows that are
+     * already attended are left untouched.
+     *
+     * @return number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE EventAttendee a SET a.attended = true, a.attendedAt = :attendedAt WHERE a.id IN :ids AND a.attended = false")
+    int markAttended(@Param("ids") Collection<UUID> ids, @Param("attendedAt") LocalDateTime attendedAt);
+
+    /**
+     * Streams an event's attendees in registration order, for exports.
+     * <p>
+     * Rows are projected straight into response DTOs, so nothing is kept in the
+     * persistence context, and fetched from the database cursor in chunks of
+     * the fetch size. Must be consumed inside a transaction and closed.
+     * </p>
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new com.greenloop.event_service.dtos.EventAttendeeResponse(
+                a.id, a.userId, a.userEmail, a.attended, a.registeredAt, a.attendedAt)
+            FROM EventAttendee a
+            WHERE a.event.id = :eventId
+            ORDER BY a.registeredAt ASC, a.id ASC
+            """)
+    Stream<EventAttendeeResponse> streamByEventId(@Param("eventId") UUID eventId);
 }
@@ -0,0 +1,94 @@
+package com.greenloop.event_service.repos;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.models.Event;
+
+import java.util.*;
+
+/**
+ * Conditional UPDATEs of seat counters and statuses on {@link Event} rows.
+ * <p>
+ * A JPQL bulk UPDATE makes Hibernate drop the whole Event region of the
+ * second-level cache, so every registration used to evict every cached event.
+ * These statements only evict the rows they changed, and the cacheable Event
+ * lookups only when a status may have changed. Every statement bumps
+ * {@code version} and {@code updatedAt}, like an entity update would.
+ * </p>
+ */
+public interface EventBulkUpdateRepository {
+
+    /**
+     * Atomically takes one seat of an event if any is left and the event is
+     * still taking registrations.
+     * <p>
+     * The status check, the capacity check and the increment happen in one
+     * conditional UPDATE, so concurrent registrations can never push the count
+     * past capacity (a capacity of -1 means unlimited), nor take a seat of an
+     * event that has just moved past {@code regStatus}/{@code fullStatus}. The
+     * statement also flips a REGISTRATION event to FULL when it takes the last
+     * seat.
+     * </p>
+     *
+     * @return 1 if a seat was reserved, 0 if the event is full, no longer open
+     *         for registration or does not exist
+     */
+    @Transactional
+    int reserveSeat(UUID eventId, EventStatus regStatus, EventStatus fullStatus);
+
+    /**
+     * Takes several seats of an event at once, all or nothing.
+     * <p>
+     * Same rules as {@link #reserveSeat}: only an event in {@code regStatus} or
+     * {@code fullStatus} gives out seats, the count can never pass capacity and
+     * taking the last seat flips a REGISTRATION event to FULL. Callers that want
+     * to grant only the seats that are left should lock the row with
+     * {@link EventRepository#findByIdForUpdate} first and size the request from
+     * it.
+     * </p>
+     *
+     * @return 1 if the seats were reserved, 0 if not enough seats are left or
+     *         the event is no longer open for registration
+     */
+    @Transactional
+    int reserveSeats(UUID eventId, int seats, EventStatus regStatus, EventStatus fullStatus);
+
+    /**
+     * Atomically gives back one seat of an event, reopening registration if the
+     * event was FULL.
+     *
+     * @return 1 if a seat was released, 0 if the counter was already zero
+     */
+    @Transactional
+    int releaseSeat(UUID eventId, EventStatus regStatus, EventStatus fullStatus);
+
+    /**
+     * Repairs attendee counters that have drifted from the actual number of
+     * attendee rows.
+     * <p>
+     * The drifted rows are locked before they are counted, and rows another
+     * transaction holds (a seat being taken or given back) are skipped until
+     * the next run, so a repair never overwrites a seat whose attendee row is
+     * not committed yet. The same UPDATE moves a REGISTRATION or FULL event to
+     * whichever of the two the corrected count implies.
+     * </p>
+     *
+     * @return number of events whose counter was corrected
+     */
+    @Transactional
+    int reconcileAttendeeCounts(EventStatus regStatus, EventStatus fullStatus);
+
+    /**
+     * Moves the given events to a new status, skipping any whose status is no
+     * longer one of {@code fromStatuses} (e.g. changed by an admin meanwhile).
+     * <p>
+     * The matching rows are locked before they are updated, so the returned
+     * ids are exactly the events this call changed.
+     * </p>
+     *
+     * @return ids of the events that changed status
+     */
+    @Transactional
+    List<UUID> transitionStatus(Collection<UUID> ids, Collection<EventStatus> fromStatuses, EventStatus toStatus);
+}
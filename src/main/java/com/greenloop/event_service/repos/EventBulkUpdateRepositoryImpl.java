@@ -0,0 +1,197 @@
+package com.greenloop.event_service.repos;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.greenloop.event_service.config.HibernateCacheConfig;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.models.Event;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.*;
+
+/**
+ * Native SQL implementation of {@link EventBulkUpdateRepository}.
+ * <p>
+ * The statements are synchronized on a query space no entity uses, so
+ * Hibernate neither drops the Event region nor the query cache for them;
+ * instead the changed rows are evicted by id. Eviction happens right away and
+ * again after the transaction completes, so a concurrent read that cached the
+ * old row before the commit does not keep it until the entry expires.
+ * </p>
+ */
+class EventBulkUpdateRepositoryImpl implements EventBulkUpdateRepository {
+
+    // Not a table, so no entity region or cached query depends on it
+    private static final String QUERY_SPACE = "event_bulk_updates";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int reserveSeat(UUID eventId, EventStatus regStatus, EventStatus fullStatus) {
+        return reserveSeats(eventId, 1, regStatus, fullStatus);
+    }
+
+    @Override
+    public int reserveSeats(UUID eventId, int seats, EventStatus regStatus, EventStatus fullStatus) {
+        int updated = update("""
+                UPDATE {h-schema}events SET
+                    version = version + 1,
+                    updated_at = LOCALTIMESTAMP,
+                    attendee_count = attendee_count + :seats,
+                    status = CASE
+                        WHEN status = :regStatus AND capacity <> -1 AND attendee_count + :seats >= capacity
+                        THEN :fullStatus ELSE status END
+                WHERE id = :eventId
+                    AND status IN (:regStatus, :fullStatus)
+                    AND (capacity = -1 OR attendee_count + :seats <= capacity)
+                """)
+                .setParameter("eventId", eventId)
+                .setParameter("seats", seats)
+                .setParameter("regStatus", regStatus.name())
+                .setParameter("fullStatus", fullStatus.name())
+                .executeUpdate();
+        // Taking the last seat flips the status
+        evict(updated, List.of(eventId), true);
+        return updated;
+    }
+
+    @Override
+    public int releaseSeat(UUID eventId, EventStatus regStatus, EventStatus fullStatus) {
+        int updated = update("""
+                UPDATE {h-schema}events SET
+                    version = version + 1,
+                    updated_at = LOCALTIMESTAMP,
+                    attendee_count = attendee_count - 1,
+                    status = CASE WHEN status = :fullStatus THEN :regStatus ELSE status END
+                WHERE id = :eventId AND attendee_count > 0
+                """)
+                .setParameter("eventId", eventId)
+                .setParameter("regStatus", regStatus.name())
+                .setParameter("fullStatus", fullStatus.name())
+                .executeUpdate();
+        evict(updated, List.of(eventId), true);
+        return updated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int reconcileAttendeeCounts(EventStatus regStatus, EventStatus fullStatus) {
+        // Rows locked by a registration in flight are skipped: its attendee
+        // INSERT is not visible yet, so counting now would undo its seat
+        List<UUID> drifted = entityManager.createNativeQuery("""
+                SELECT e.id FROM {h-schema}events e
+                WHERE e.attendee_count <> (SELECT CAST(COUNT(*) AS integer) FROM {h-schema}event_attendees a
+                    WHERE a.event_id = e.id)
+                FOR UPDATE SKIP LOCKED
+                """)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .addScalar("id", UUID.class)
+                .getResultList();
+        if (drifted.isEmpty()) {
+            return 0;
+        }
+        // Counted under the lock, so no seat can be taken or given back meanwhile
+        int updated = update("""
+                UPDATE {h-schema}events e SET
+                    version = version + 1,
+                    updated_at = LOCALTIMESTAMP,
+                    attendee_count = (SELECT CAST(COUNT(*) AS integer) FROM {h-schema}event_attendees a
+                        WHERE a.event_id = e.id),
+                    status = CASE
+                        WHEN status IN (:regStatus, :fullStatus) AND capacity <> -1 THEN
+                            CASE WHEN (SELECT COUNT(*) FROM {h-schema}event_attendees a WHERE a.event_id = e.id)
+                                >= capacity THEN :fullStatus ELSE :regStatus END
+                        ELSE status END
+                WHERE e.id IN (:ids) AND e.attendee_count <> (SELECT CAST(COUNT(*) AS integer)
+                    FROM {h-schema}event_attendees a WHERE a.event_id = e.id)
+                """)
+                .setParameter("ids", drifted)
+                .setParameter("regStatus", regStatus.name())
+                .setParameter("fullStatus", fullStatus.name())
+                .executeUpdate();
+        // A corrected count can open or close registration
+        evict(updated, drifted, true);
+        return updated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<UUID> transitionStatus(Collection<UUID> ids, Collection<EventStatus> fromStatuses,
+            EventStatus toStatus) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> from = fromStatuses.stream().map(EventStatus::name).toList();
+        // Locked, so none of them can change status before the UPDATE below
+        List<UUID> locked = entityManager.createNativeQuery("""
+                SELECT id FROM {h-schema}events
+                WHERE id IN (:ids) AND status IN (:fromStatuses)
+                FOR UPDATE
+                """)
+                .setParameter("ids", ids)
+                .setParameter("fromStatuses", from)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE)
+                .addScalar("id", UUID.class)
+                .getResultList();
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        int updated = update("""
+                UPDATE {h-schema}events SET
+                    version = version + 1,
+                    updated_at = LOCALTIMESTAMP,
+                    status = :toStatus
+                WHERE id IN (:ids) AND status IN (:fromStatuses)
+                """)
+                .setParameter("ids", locked)
+                .setParameter("fromStatuses", from)
+                .setParameter("toStatus", toStatus.name())
+                .executeUpdate();
+        if (updated != locked.size()) {
+            throw new IllegalStateException("Transitioned " + updated + " of " + locked.size() + " locked events");
+        }
+        evict(updated, locked, true);
+        return locked;
+    }
+
+    private Query update(String sql) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class).addSynchronizedQuerySpace(QUERY_SPACE);
+        return query;
+    }
+
+    /**
+     * Evicts the given events, and the cached Event lookups if the statement
+     * may have changed a status, now and after the transaction completes.
+     */
+    private void evict(int updated, Collection<UUID> ids, boolean statusMayChange) {
+        if (updated == 0) {
+            return;
+        }
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        Runnable eviction = () -> {
+            ids.forEach(id -> cache.evict(Event.class, id));
+            if (statusMayChange) {
+                cache.unwrap(org.hibernate.Cache.class).evictQueryRegion(HibernateCacheConfig.EVENT_QUERIES_REGION);
+            }
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.greenloop.event_service.repos;
+
+import org.springframework.data.domain.Pageable;
+
+import com.greenloop.event_service.dtos.EventVersion;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Keyset page queries on {@link Event}, and on a user's registrations ordered
+ * by their events, whose WHERE clause depends on which filters are given.
+ * <p>
+ * Only the filters that are set become predicates, instead of
+ * {@code (:param IS NULL OR ...)} catch-alls. PostgreSQL plans the catch-all
+ * form once for every combination of parameters (a generic plan), which cannot
+ * seek on the (status, start_date_time, id) index; with one statement per
+ * combination each gets a plan that can.
+ * </p>
+ */
+public interface EventPageRepository {
+
+    /**
+     * Keyset page of the event catalog ordered by (startDateTime, id).
+     * <p>
+     * Every filter is optional (pass null to skip it). The cursor pair is the
+     * (startDateTime, id) of the last row of the previous page, so the query
+     * seeks straight to the next page on the (status, type, start_date_time, id)
+     * indexes instead of skipping over an OFFSET. Callers cap the page through
+     * {@code pageable} and should always request page 0.
+     * </p>
+     */
+    List<Event> findEventPage(EventStatus status, EventType type, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorStart, UUID cursorId, Pageable pageable);
+
+    /**
+     * The same page as {@link #findEventPage}, but only the id, version and
+     * last modification time of each event, for answering a conditional GET
+     * before any event is loaded.
+     */
+    List<EventVersion> findEventPageVersions(EventStatus status, EventType type, LocalDateTime from,
+            LocalDateTime to, LocalDateTime cursorStart, UUID cursorId, Pageable pageable);
+
+    /**
+     * Keyset page of events a user can still join, ordered by (startDateTime, id).
+     * <p>
+     * An event is joinable when it has not ended, has a free seat (or unlimited
+     * capacity) and the user has no attendee row for it. The last condition is
+     * a NOT EXISTS anti-join probing the unique (user_id, event_id) index on
+     * {@code event_attendees}, so no attendee collection is ever loaded. The
+     * cursor pair works as in {@link #findEventPage}.
+     * </p>
+     */
+    List<Event> findJoinableEventPage(UUID userId, LocalDateTime now, LocalDateTime cursorStart, UUID cursorId,
+            Pageable pageable);
+
+    /**
+     * Keyset page of a user's registrations for events that have not started
+     * yet, ordered by (startDateTime, id) ascending.
+     * <p>
+     * The event is fetched in the same statement, so each row carries both the
+     * event and the user's attendance status. The cursor pair is the
+     * (startDateTime, id) of the last event of the previous page; without one
+     * the statement has no keyset condition at all.
+     * </p>
+     */
+    List<EventAttendee> findUpcomingForUser(UUID userId, LocalDateTime now, LocalDateTime cursorStart,
+            UUID cursorId, Pageable pageable);
+
+    /**
+     * Keyset page of a user's registrations for events that have ended, most
+     * recent first, ordered by (startDateTime, id) descending.
+     * <p>
+     * Works like {@link #findUpcomingForUser} with the cursor comparison
+     * reversed.
+     * </p>
+     */
+    List<EventAttendee> findPastForUser(UUID userId, LocalDateTime now, LocalDateTime cursorStart,
+            UUID cursorId, Pageable pageable);
+}
@@ -0,0 +1,179 @@
+package com.greenloop.event_service.repos;
+
+import org.springframework.data.domain.Pageable;
+
+import com.greenloop.event_service.dtos.EventVersion;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Criteria API implementation of {@link EventPageRepository}.
+ */
+class EventPageRepositoryImpl implements EventPageRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Event> findEventPage(EventStatus status, EventType type, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorStart, UUID cursorId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(event);
+
+        return page(query, event, catalogPredicates(cb, event, status, type, from, to, cursorStart, cursorId),
+                false, pageable);
+    }
+
+    @Override
+    public List<EventVersion> findEventPageVersions(EventStatus status, EventType type, LocalDateTime from,
+            LocalDateTime to, LocalDateTime cursorStart, UUID cursorId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventVersion> query = cb.createQuery(EventVersion.class);
+        Root<Event> event = query.from(Event.class);
+        query.select(cb.construct(EventVersion.class,
+                event.get("id"), event.get("version"), event.get("updatedAt")));
+
+        return page(query, event, catalogPredicates(cb, event, status, type, from, to, cursorStart, cursorId),
+                false, pageable);
+    }
+
+    @Override
+    public List<Event> findJoinableEventPage(UUID userId, LocalDateTime now, LocalDateTime cursorStart,
+            UUID cursorId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> event = query.from(Event.class);
+
+        Subquery<Integer> registered = query.subquery(Integer.class);
+        Root<EventAttendee> attendee = registered.from(EventAttendee.class);
+        registered.select(cb.literal(1))
+                .where(cb.equal(attendee.get("userId"), userId), cb.equal(attendee.get("event"), event));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(event.get("endDateTime"), now));
+        predicates.add(cb.or(
+                cb.equal(event.get("capacity"), -1),
+                cb.lessThan(event.get("attendeeCount"), event.get("capacity"))));
+        predicates.add(cb.not(cb.exists(registered)));
+        addCursor(cb, event, cursorStart, cursorId, false, predicates);
+
+        query.select(event);
+        return page(query, event, predicates, false, pageable);
+    }
+
+    @Override
+    public List<EventAttendee> findUpcomingForUser(UUID userId, LocalDateTime now, LocalDateTime cursorStart,
+            UUID cursorId, Pageable pageable) {
+        return registrationPage(userId, now, false, cursorStart, cursorId, pageable);
+    }
+
+    @Override
+    public List<EventAttendee> findPastForUser(UUID userId, LocalDateTime now, LocalDateTime cursorStart,
+            UUID cursorId, Pageable pageable) {
+        return registrationPage(userId, now, true, cursorStart, cursorId, pageable);
+    }
+
+    /**
+     * A user's attendee rows with their events fetched in the same statement:
+     * events not started yet, soonest first, or events that have ended, most
+     * recent first.
+     */
+    @SuppressWarnings("unchecked")
+    private List<EventAttendee> registrationPage(UUID userId, LocalDateTime now, boolean past,
+            LocalDateTime cursorStart, UUID cursorId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventAttendee> query = cb.createQuery(EventAttendee.class);
+        Root<EventAttendee> attendee = query.from(EventAttendee.class);
+        // Fetched as a join, so the predicates and the ORDER BY can use the event
+        Join<EventAttendee, Event> event = (Join<EventAttendee, Event>) attendee.<EventAttendee, Event>fetch("event");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(attendee.get("userId"), userId));
+        predicates.add(past
+                ? cb.lessThan(event.get("endDateTime"), now)
+                : cb.greaterThan(event.get("startDateTime"), now));
+        addCursor(cb, event, cursorStart, cursorId, past, predicates);
+
+        query.select(attendee);
+        return page(query, event, predicates, past, pageable);
+    }
+
+    /**
+     * Catalog filters that are set, plus the keyset condition.
+     */
+    private static List<Predicate> catalogPredicates(CriteriaBuilder cb, Root<Event> event, EventStatus status,
+            EventType type, LocalDateTime from, LocalDateTime to, LocalDateTime cursorStart, UUID cursorId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (status != null) {
+            predicates.add(cb.equal(event.get("status"), status));
+        }
+        if (type != null) {
+            predicates.add(cb.equal(event.get("type"), type));
+        }
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(event.get("startDateTime"), from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(event.get("startDateTime"), to));
+        }
+        addCursor(cb, event, cursorStart, cursorId, false, predicates);
+        return predicates;
+    }
+
+    /**
+     * Adds the keyset condition for rows after (cursorStart, cursorId) in the
+     * page order, if a cursor is given. The redundant bound on
+     * {@code startDateTime} gives the planner a range to start the index scan
+     * from.
+     */
+    private static void addCursor(CriteriaBuilder cb, From<?, Event> event, LocalDateTime cursorStart,
+            UUID cursorId, boolean descending, List<Predicate> predicates) {
+        if (cursorStart == null) {
+            return;
+        }
+        Path<LocalDateTime> start = event.get("startDateTime");
+        Path<UUID> id = event.get("id");
+        if (descending) {
+            predicates.add(cb.lessThanOrEqualTo(start, cursorStart));
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursorStart),
+                    cb.and(cb.equal(start, cursorStart), cb.lessThan(id, cursorId))));
+        } else {
+            predicates.add(cb.greaterThanOrEqualTo(start, cursorStart));
+            predicates.add(cb.or(
+                    cb.greaterThan(start, cursorStart),
+                    cb.and(cb.equal(start, cursorStart), cb.greaterThan(id, cursorId))));
+        }
+    }
+
+    private <T> List<T> page(CriteriaQuery<T> query, From<?, Event> event, List<Predicate> predicates,
+            boolean descending, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(descending
+                        ? List.of(cb.desc(event.get("startDateTime")), cb.desc(event.get("id")))
+                        : List.of(cb.asc(event.get("startDateTime")), cb.asc(event.get("id"))));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -1,40 +1,124 @@
 package com.greenloop.event_service.repos;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.greenloop.event_service.config.HibernateCacheConfig;
+import com.greenloop.event_service.dtos.CalendarEventResponse;
 import com.greenloop.event_service.models.Event;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+
 import java.time.LocalDateTime;
 import java.util.*;
 
 import com.greenloop.event_service.enums.EventStatus;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, UUID> {
-
-    @Query("SELECT e FROM Event e JOIN e.attendees a WHERE a.userId = :userId")
-    List<Event> findAllEventsByAttendeeId(@Param("userId") UUID userId);
+public interface EventRepository extends JpaRepository<Event, UUID>, EventPageRepository,
+        EventBulkUpdateRepository {
 
+    /**
+     * Events in a status. Served from the query cache until an event is saved,
+     * deleted, or has its seats or status updated on this replica.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.EVENT_QUERIES_REGION)
+    })
     List<Event> findByStatus(EventStatus status);
 
+    /**
+     * Event for a QR token. Served from the query cache until an event is saved,
+     * deleted, or has its seats or status updated on this replica.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.EVENT_QUERIES_REGION)
+    })
     Optional<Event> findByQrToken(String qrToken);
 
-    @Modifying
-    @Transactional
-    @Query("UPDATE Event e SET e.status = :newStatus WHERE (e.status = :regStatus OR e.status = :fullStatus) AND e.startDateTime <= :currentTime")
-    int updateStatusToOngoing(
-            EventStatus regStatus, 
-            EventStatus fullStatus, 
-            EventStatus newStatus,
-            LocalDateTime currentTime);
-
-    @Modifying
-    @Transactional
-    @Query("UPDATE Event e SET e.status = :newStatus WHERE e.status = :oldStatus AND e.endDateTime <= :currentTime")
-    int updateStatusToClosed(EventStatus oldStatus, EventStatus newStatus, LocalDateTime currentTime);
+    /**
+     * Calendar listings of events starting at or after {@code from} and, when
+     * {@code to} is not null, before {@code to}. Seeks on the
+     * (start_date_time, id) index.
+     */
+    @Query("""
+            SELECT new com.greenloop.event_service.dtos.CalendarEventResponse(
+                e.id, e.name, e.type, e.location, e.startDateTime, e.endDateTime)
+            FROM Event e
+            WHERE e.startDateTime >= :from AND (:to IS NULL OR e.startDateTime < :to)
+            """)
+    List<CalendarEventResponse> findCalendarEntries(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    long countByStatusNot(EventStatus status);
+
+    @Query("SELECT COALESCE(SUM(e.attendeeCount), 0) FROM Event e WHERE e.status <> :status")
+    long sumAttendeeCountByStatusNot(@Param("status") EventStatus status);
+
+    /**
+     * Current status of an event, read from the database rather than the
+     * entity cache.
+     */
+    @Query("SELECT e.status FROM Event e WHERE e.id = :id")
+    Optional<EventStatus> findStatusById(@Param("id") UUID id);
+
+    /**
+     * Loads an event and locks its row until the end of the transaction, so
+     * seat counts read from it stay valid. Concurrent {@link #reserveSeat}
+     * calls wait for the lock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Events in one of the given statuses whose start time has passed, oldest
+     * first. Seeks on the (status, start_date_time, id) index.
+     */
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.status IN :statuses AND e.startDateTime <= :now
+            ORDER BY e.startDateTime ASC, e.id ASC
+            """)
+    List<Event> findDueToStart(
+            @Param("statuses") Collection<EventStatus> statuses,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Events in a status whose end time has passed, oldest first. Seeks on the
+     * (status, end_date_time, id) index.
+     */
+    @Query("""
+            SELECT e FROM Event e
+            WHERE e.status = :status AND e.endDateTime <= :now
+            ORDER BY e.endDateTime ASC, e.id ASC
+            """)
+    List<Event> findDueToClose(
+            @Param("status") EventStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    /**
+     * Earliest start time among events in the given statuses, read from the
+     * front of the (status, start_date_time, id) index.
+     */
+    @Query("SELECT MIN(e.startDateTime) FROM Event e WHERE e.status IN :statuses")
+    Optional<LocalDateTime> findEarliestStart(@Param("statuses") Collection<EventStatus> statuses);
+
+    /**
+     * Earliest end time among events in a status, read from the front of the
+     * (status, end_date_time, id) index.
+     */
+    @Query("SELECT MIN(e.endDateTime) FROM Event e WHERE e.status = :status")
+    Optional<LocalDateTime> findEarliestEnd(@Param("status") EventStatus status);
 }
@@ -0,0 +1,64 @@
+package com.greenloop.event_service.repos;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.greenloop.event_service.models.OutboxMessage;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Locks the oldest messages that no relay has claimed, or whose claim has
+     * lapsed, oldest first.
+     * <p>
+     * Rows already locked by another relay are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}), so several replicas can claim from the
+     * outbox at the same time without taking the same row. The lock only lasts
+     * until the claim is written with {@link #claim}.
+     * </p>
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT m FROM OutboxMessage m
+            WHERE m.claimedUntil IS NULL OR m.claimedUntil < :now
+            ORDER BY m.createdAt, m.id
+            """)
+    List<OutboxMessage> lockNextUnclaimed(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims messages for one relay run until {@code until}.
+     *
+     * @return number of messages claimed
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.claimToken = :token, m.claimedUntil = :until WHERE m.id IN :ids")
+    int claim(@Param("ids") Collection<UUID> ids, @Param("token") UUID token, @Param("until") LocalDateTime until);
+
+    /**
+     * Gives up a relay run's claim on messages it could not deliver, so the
+     * next run picks them up again. Messages claimed by another run since are
+     * left alone.
+     *
+     * @return number of messages released
+     */
+    @Modifying
+    @Query("""
+            UPDATE OutboxMessage m SET m.claimToken = NULL, m.claimedUntil = NULL
+            WHERE m.id IN :ids AND m.claimToken = :token
+            """)
+    int releaseClaim(@Param("ids") Collection<UUID> ids, @Param("token") UUID token);
+}
@@ -0,0 +1,58 @@
+package com.greenloop.event_service.repos;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greenloop.event_service.models.SchedulerLease;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Takes or extends a lease in one conditional UPDATE: it succeeds only if
+     * the caller already owns the lease or the current owner's lease has
+     * expired, so two replicas can never hold it at the same time.
+     *
+     * @return 1 if the caller now holds the lease, 0 otherwise (including when
+     *         no row exists yet)
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE SchedulerLease l SET l.owner = :owner, l.expiresAt = :expiresAt
+            WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt <= :now)
+            """)
+    int tryAcquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Ends a lease early if the caller still owns it.
+     *
+     * @return 1 if the lease was released, 0 if it was owned by someone else
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Extends a lease only if the caller still owns it. Unlike
+     * {@link #tryAcquire}, an expired lease is not taken back from a replica
+     * that took it over; the updated row stays locked until the transaction
+     * ends.
+     *
+     * @return 1 if the caller still holds the lease, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.expiresAt = :expiresAt WHERE l.name = :name AND l.owner = :owner")
+    int extend(@Param("name") String name, @Param("owner") String owner, @Param("expiresAt") LocalDateTime expiresAt);
+}
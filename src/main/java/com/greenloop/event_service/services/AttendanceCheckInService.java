@@ -0,0 +1,418 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.dtos.ScanRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.exceptions.AttendanceAlreadyMarkedException;
+import com.greenloop.event_service.exceptions.AttendeeNotRegisteredException;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+import com.greenloop.event_service.exceptions.InvalidEventStateException;
+import com.greenloop.event_service.exceptions.ResourceNotFoundException;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Batched attendance check-in pipeline for QR scans.
+ * <p>
+ * During check-in surges every scan used to run its own transaction (find
+ * event, find attendee, save attendee) on a two-connection pool. This service
+ * instead resolves the token in memory through {@link QrTokenIndex}, queues
+ * the scan, and lets a single writer thread coalesce queued scans into one
+ * transaction per batch: one attendee {@code SELECT ... FOR UPDATE} per event
+ * and one {@code UPDATE event_attendees SET attended = true ... WHERE id IN (...)}.
+ * The row locks make scans of the same user on other replicas, or through the
+ * direct fallback, wait for the batch and then fail as already marked, so
+ * participation is published once.
+ * Request threads wait for their own result without holding a connection.
+ * Participation and attendance messages are written to the outbox in the same
+ * batch transaction, so they are relayed exactly for the scans that committed.
+ * </p>
+ * <p>
+ * Each scan still gets its own outcome, including
+ * {@link AttendanceAlreadyMarkedException} for repeats within the same batch.
+ * When batching is disabled or the queue is full, scans fall back to
+ * {@link EventAttendeeService#markAttendanceByToken}. A batch that fails (a
+ * deadlock, a lock timeout) is retried once and then written one scan at a
+ * time the same way, so only the scans that really fail get an error.
+ * </p>
+ * <p>
+ * A scan the writer has not picked up within {@code timeout-ms} is cancelled
+ * and rejected with {@link BulkheadFullException} (429), so it is never
+ * recorded behind the back of a user who was told to retry. Once the writer
+ * has picked a scan up, its request waits for the outcome.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class AttendanceCheckInService {
+
+    private final EventAttendeeService attendeeService;
+    private final EventAttendeeRepository attendeeRepository;
+    private final QrTokenIndex qrTokenIndex;
+    private final EventMessagePublisher messagePublisher;
+    private final NotificationPublisher notificationPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean batchingEnabled;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final BlockingQueue<PendingCheckIn> queue;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AttendanceCheckInService(EventAttendeeService attendeeService,
+            EventAttendeeRepository attendeeRepository,
+            QrTokenIndex qrTokenIndex,
+            EventMessagePublisher messagePublisher,
+            NotificationPublisher notificationPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${events.check-in.batching.enabled:true}") boolean batchingEnabled,
+            @Value("${events.check-in.queue-capacity:10000}") int queueCapacity,
+            @Value("${events.check-in.max-batch-size:200}") int maxBatchSize,
+            @Value("${events.check-in.linger-ms:5}") long lingerMillis,
+            @Value("${events.check-in.timeout-ms:5000}") long timeoutMillis,
+            @Value("${events.bulkheads.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.attendeeService = attendeeService;
+        this.attendeeRepository = attendeeRepository;
+        this.qrTokenIndex = qrTokenIndex;
+        this.messagePublisher = messagePublisher;
+        this.notificationPublisher = notificationPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchingEnabled = batchingEnabled;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMillis = lingerMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!batchingEnabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "attendance-check-in-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * Marks a user's attendance at an event using a QR code token.
+     * <p>
+     * Same contract and exceptions as
+     * {@link EventAttendeeService#markAttendanceByToken}.
+     * </p>
+     *
+     * @param req       the scan request containing the QR token
+     * @param userId    the UUID of the user marking attendance
+     * @param userEmail the email of the user marking attendance
+     * @return EventAttendeeResponse with updated attendance details
+     * @throws BulkheadFullException if the writer did not pick the scan up in
+     *                               time; the scan was not recorded
+     */
+    public EventAttendeeResponse checkIn(ScanRequest req, UUID userId, String userEmail) {
+        if (!running) {
+            return attendeeService.markAttendanceByToken(req, userId, userEmail);
+        }
+
+        Event event = qrTokenIndex.resolve(req.getQrToken())
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found for provided QR token"));
+
+        if (event.getStatus() != EventStatus.ONGOING) {
+            throw new InvalidEventStateException("Attendance can only be marked for ongoing events");
+        }
+
+        PendingCheckIn pending = new PendingCheckIn(req, event, userId, userEmail);
+        if (!queue.offer(pending)) {
+            log.warn("Check-in queue full, marking attendance for user {} directly", userId);
+            return attendeeService.markAttendanceByToken(req, userId, userEmail);
+        }
+
+        return await(pending);
+    }
+
+    /**
+     * Waits for the writer thread to settle a scan and rethrows its business
+     * exception unchanged. A scan still queued at the timeout is cancelled.
+     */
+    private EventAttendeeResponse await(PendingCheckIn pending) {
+        try {
+            try {
+                return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.cancel()) {
+                    throw new BulkheadFullException(
+                            "Attendance check-in timed out before it was recorded, retry later", retryAfterSeconds);
+                }
+                // The writer already has it, so the outcome is final and on its way
+                return pending.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Attendance check-in failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.cancel();
+            throw new IllegalStateException("Attendance check-in interrupted", e);
+        }
+    }
+
+    /**
+     * Writer loop: waits for a scan, lingers briefly to collect more, then writes
+     * the whole batch at once.
+     */
+    private void drainLoop() {
+        List<PendingCheckIn> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingCheckIn first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingCheckIn next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Fail anything left behind so no request waits for its timeout
+        List<PendingCheckIn> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        leftover.forEach(p -> p.result().completeExceptionally(
+                new IllegalStateException("Attendance check-in pipeline stopped")));
+    }
+
+    /**
+     * Writes one batch of scans and settles each scan's result after commit.
+     * Scans whose request already gave up are dropped first. A failed batch is
+     * retried once, then each scan is written on its own.
+     */
+    private void flush(List<PendingCheckIn> batch) {
+        List<PendingCheckIn> claimed = batch.stream().filter(PendingCheckIn::claim).toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+        Map<PendingCheckIn, Object> outcomes;
+        try {
+            outcomes = writeBatch(claimed);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write attendance batch of {} scan(s), retrying once", claimed.size(), e);
+            try {
+                outcomes = writeBatch(claimed);
+            } catch (RuntimeException retryFailure) {
+                log.error("Failed to write attendance batch of {} scan(s) again, writing them one by one",
+                        claimed.size(), retryFailure);
+                claimed.forEach(this::writeSingle);
+                return;
+            }
+        }
+
+        for (PendingCheckIn scan : claimed) {
+            Object outcome = outcomes.get(scan);
+            if (outcome instanceof RuntimeException failure) {
+                scan.result().completeExceptionally(failure);
+            } else {
+                scan.result().complete((EventAttendeeResponse) outcome);
+            }
+        }
+    }
+
+    /**
+     * Writes scans, together with their outbox messages, in a single
+     * transaction.
+     *
+     * @return each scan's response or business exception, valid once committed
+     */
+    private Map<PendingCheckIn, Object> writeBatch(List<PendingCheckIn> batch) {
+        return transactionTemplate.execute(status -> {
+            Map<PendingCheckIn, Object> outcomes = new HashMap<>();
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> toMark = new ArrayList<>();
+            List<PendingCheckIn> marked = new ArrayList<>();
+
+            // Events in id order, so batches on different replicas lock rows in the same order
+            Map<UUID, List<PendingCheckIn>> byEvent = batch.stream()
+                    .collect(Collectors.groupingBy(PendingCheckIn::eventId, TreeMap::new,
+                            Collectors.toList()));
+
+            byEvent.forEach((eventId, scans) -> {
+                Set<UUID> userIds = scans.stream().map(PendingCheckIn::userId).collect(Collectors.toSet());
+                // Locked until commit: a concurrent batch or direct scan for the same
+                // users waits and then reads them as attended
+                Map<UUID, EventAttendee> attendees = attendeeRepository
+                        .findByEventIdAndUserIdInForUpdate(eventId, userIds).stream()
+                        .collect(Collectors.toMap(EventAttendee::getUserId, a -> a));
+                Set<UUID> markedInBatch = new HashSet<>();
+
+                for (PendingCheckIn scan : scans) {
+                    EventAttendee attendee = attendees.get(scan.userId());
+                    if (attendee == null) {
+                        outcomes.put(scan, new AttendeeNotRegisteredException(
+                                "User with ID " + scan.userId() + " did not register for this event"));
+                    } else if (attendee.isAttended() || !markedInBatch.add(scan.userId())) {
+                        outcomes.put(scan, new AttendanceAlreadyMarkedException(
+                                "User with ID " + scan.userId() + " has already marked attendance for this event"));
+                    } else {
+                        toMark.add(attendee.getId());
+                        marked.add(scan);
+                        outcomes.put(scan, toResponse(attendee, now));
+                    }
+                }
+            });
+
+            if (!toMark.isEmpty()) {
+                int updated = attendeeRepository.markAttended(toMark, now);
+                if (updated != toMark.size()) {
+                    // Rows are locked, so this means they changed outside the lock;
+                    // roll back rather than publish for scans that did not mark anything
+                    throw new IllegalStateException("Marked " + updated + " of " + toMark.size()
+                            + " attendees, attendance changed concurrently");
+                }
+            }
+
+            for (PendingCheckIn scan : marked) {
+                Event event = scan.event();
+                // Publish event participation message to gamification service
+                // User earns coins from the event
+                messagePublisher.publishEventParticipation(event, scan.userId(), event.getCoins());
+
+                // Send attendance confirmation email
+                notificationPublisher.publishEventAttendance(scan.userEmail(), event.getName(), event.getCoins());
+            }
+            return outcomes;
+        });
+    }
+
+    /**
+     * Writes one scan in its own transaction, as if it had not been queued.
+     */
+    private void writeSingle(PendingCheckIn scan) {
+        try {
+            scan.result().complete(attendeeService.markAttendanceByToken(scan.request(), scan.userId(),
+                    scan.userEmail()));
+        } catch (RuntimeException e) {
+            scan.result().completeExceptionally(e);
+        }
+    }
+
+    private EventAttendeeResponse toResponse(EventAttendee attendee, LocalDateTime attendedAt) {
+        return EventAttendeeResponse.builder()
+                .id(attendee.getId())
+                .userId(attendee.getUserId())
+                .userEmail(attendee.getUserEmail())
+                .registeredAt(attendee.getRegisteredAt())
+                .attended(true)
+                .attendedAt(attendedAt)
+                .build();
+    }
+
+    /**
+     * A queued scan and the future its request thread is waiting on. Compared by
+     * identity so repeated scans from the same user stay distinct.
+     */
+    private static final class PendingCheckIn {
+        private final ScanRequest request;
+        private final Event event;
+        private final UUID userId;
+        private final String userEmail;
+        private final CompletableFuture<EventAttendeeResponse> result = new CompletableFuture<>();
+        // Set by whichever comes first: the writer claiming the scan or the request cancelling it
+        private final AtomicBoolean taken = new AtomicBoolean();
+
+        PendingCheckIn(ScanRequest request, Event event, UUID userId, String userEmail) {
+            this.request = request;
+            this.event = event;
+            this.userId = userId;
+            this.userEmail = userEmail;
+        }
+
+        /**
+         * @return false if the request already gave up on this scan
+         */
+        boolean claim() {
+            return taken.compareAndSet(false, true);
+        }
+
+        /**
+         * @return false if the writer already claimed this scan
+         */
+        boolean cancel() {
+            if (!taken.compareAndSet(false, true)) {
+                return false;
+            }
+            result.cancel(false);
+            return true;
+        }
+
+        ScanRequest request() {
+            return request;
+        }
+
+        Event event() {
+            return event;
+        }
+
+        UUID eventId() {
+            return event.getId();
+        }
+
+        UUID userId() {
+            return userId;
+        }
+
+        String userEmail() {
+            return userEmail;
+        }
+
+        CompletableFuture<EventAttendeeResponse> result() {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.repos.EventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Periodically repairs drift between {@code Event.attendeeCount} and the
+ * actual rows in {@code event_attendees}.
+ * <p>
+ * The counter is kept up to date atomically on register/deregister, but rows
+ * removed outside the service (manual fixes, cascaded deletes, failed
+ * transactions on other nodes) can leave it out of sync. This job recomputes
+ * the count in a single UPDATE and only touches events that actually drifted;
+ * events with a registration in flight are left for the next run, and a
+ * corrected count also corrects REGISTRATION/FULL.
+ * </p>
+ * <p>
+ * Like {@link EventStatusScheduler}, only the replica holding the
+ * {@value #LEASE_NAME} lease runs the repair, and it confirms the lease in
+ * the repair transaction.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class AttendeeCountReconciler {
+
+    static final String LEASE_NAME = "attendee-count-reconciliation";
+
+    private final EventRepository eventRepository;
+    private final EventStatsService statsService;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration leaseDuration;
+
+    public AttendeeCountReconciler(EventRepository eventRepository,
+            EventStatsService statsService,
+            SchedulerLeaseService leaseService,
+            PlatformTransactionManager transactionManager,
+            @Value("${events.attendee-count.reconcile-lease-ms:60000}") long leaseMillis) {
+        this.eventRepository = eventRepository;
+        this.statsService = statsService;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+    }
+
+    /**
+     * Recomputes attendee counters that no longer match the attendee table,
+     * if this replica can take the lease.
+     *
+     * @return number of events whose counter was corrected, zero if another
+     *         replica holds the lease
+     */
+    @Scheduled(fixedDelayString = "${events.attendee-count.reconcile-interval-ms:600000}",
+            initialDelayString = "${events.attendee-count.reconcile-initial-delay-ms:60000}")
+    public int reconcile() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return 0;
+        }
+        Integer repaired;
+        try {
+            repaired = transactionTemplate.execute(status -> {
+                if (!leaseService.holdForTransaction(LEASE_NAME, leaseDuration)) {
+                    log.warn("Lost the {} lease to another replica, skipping this run", LEASE_NAME);
+                    return 0;
+                }
+                return eventRepository.reconcileAttendeeCounts(EventStatus.REGISTRATION, EventStatus.FULL);
+            });
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+        if (repaired != null && repaired > 0) {
+            log.warn("Repaired attendee count drift on {} event(s)", repaired);
+            statsService.markStale();
+        }
+        return repaired == null ? 0 : repaired;
+    }
+}
@@ -8,11 +8,16 @@ import com.greenloop.event_service.exceptions.AttendanceAlreadyMarkedException;
 import com.greenloop.event_service.exceptions.AttendeeNotRegisteredException;
 import com.greenloop.event_service.exceptions.EventFullException;
 import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.exceptions.InvalidBulkRegistrationException;
 import com.greenloop.event_service.exceptions.InvalidEventStateException;
 import com.greenloop.event_service.exceptions.ResourceNotFoundException;
+import com.greenloop.event_service.dtos.BulkRegistrationRequest;
+import com.greenloop.event_service.dtos.BulkRegistrationResponse;
+import com.greenloop.event_service.dtos.BulkRegistrationResult;
 import com.greenloop.event_service.dtos.EventAttendeeResponse;
 import com.greenloop.event_service.dtos.ScanRequest;
 import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.RegistrationOutcome;
 import com.greenloop.event_service.models.Event;
 import com.greenloop.event_service.models.EventAttendee;
 import com.greenloop.event_service.repos.EventAttendeeRepository;
@@ -45,12 +50,20 @@ public class EventAttendeeService {
     private final EventAttendeeRepository attendeeRepository;
     private final EventMessagePublisher messagePublisher;
     private final NotificationPublisher notificationPublisher;
+    private final EventStatsService statsService;
+    private final QrTokenIndex qrTokenIndex;
+
+    /** Upper bound on the number of users in one bulk registration request. */
+    public static final int MAX_BULK_REGISTRATIONS = 500;
 
     /**
      * Registers a user as an attendee for an event
      * <p>
-     * Validates that the user is not already registered and that the event has
-     * available capacity.
+     * Validates that the user is not already registered and that the event is
+     * open for registration with available capacity. The seat is taken with a
+     * single conditional UPDATE that checks both against the current row, so
+     * concurrent registrations cannot oversell the event or register for one
+     * that has just started; taking the last seat moves the event to FULL.
      * </p>
      *
      * @param eventId   the UUID of the event
@@ -61,6 +74,8 @@ public class EventAttendeeService {
      * @throws AlreadyRegisteredException if the user is already registered for this
      *                                    event
      * @throws EventFullException         if the event is at full capacity
+     * @throws InvalidEventStateException if registration for the event is
+     *                                    closed
      */
     public EventAttendeeResponse registerAttendee(UUID eventId, UUID userid, String userEmail) {
         Event event = eventRepository.findById(eventId)
@@ -69,11 +84,16 @@ public class EventAttendeeService {
         if (attendeeRepository.existsByUserIdAndEventId(userid, eventId)) {
             throw new AlreadyRegisteredException("User already registered for this event");
         }
-
+        // Cheap early exits on the snapshot; the conditional UPDATE below is authoritative
+        requireOpenForRegistration(event);
         if (event.getCapacity() != -1 && event.getAttendeeCount() >= event.getCapacity()) {
             throw new EventFullException("Event with id " + eventId + " is full");
         }
 
+        if (eventRepository.reserveSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL) == 0) {
+            throw seatRefused(eventId);
+        }
+
         EventAttendee newAttendee = EventAttendee.builder()
                 .userId(userid)
                 .userEmail(userEmail)
@@ -81,13 +101,114 @@ public class EventAttendeeService {
                 .build();
 
         event.addAttendeeToEvent(newAttendee);
-        
+        statsService.markStale();
+
         // Send event confirmation email to the attendee
         notificationPublisher.publishEventConfirmation(userEmail, event);
 
         return mapToResponse(newAttendee);
     }
 
+    /**
+     * Registers a group of users for an event in one go, e.g. a school class or
+     * an NGO roster.
+     * <p>
+     * The event row is locked once and the remaining seats are handed out in
+     * request order with a single seat reservation; users beyond that get
+     * {@link RegistrationOutcome#FULL}. Users who are already registered, or
+     * listed twice, get {@link RegistrationOutcome#ALREADY_REGISTERED}. New
+     * attendee rows are inserted as one JDBC batch and all confirmation emails
+     * are queued together.
+     * </p>
+     *
+     * @param eventId     the UUID of the event
+     * @param registrants the users to register, at most
+     *                    {@value #MAX_BULK_REGISTRATIONS}
+     * @return per-user outcomes in request order, plus totals
+     * @throws EventNotFoundException           if the event does not exist
+     * @throws InvalidEventStateException       if registration for the event is
+     *                                          closed
+     * @throws InvalidBulkRegistrationException if the list is empty, too long or
+     *                                          contains an entry without a user ID
+     */
+    public BulkRegistrationResponse registerAttendees(UUID eventId,
+            List<BulkRegistrationRequest.Registrant> registrants) {
+        if (registrants == null || registrants.isEmpty()) {
+            throw new InvalidBulkRegistrationException("At least one attendee is required");
+        }
+        if (registrants.size() > MAX_BULK_REGISTRATIONS) {
+            throw new InvalidBulkRegistrationException(
+                    "At most " + MAX_BULK_REGISTRATIONS + " attendees can be registered per request");
+        }
+        if (registrants.stream().anyMatch(r -> r == null || r.getUserId() == null)) {
+            throw new InvalidBulkRegistrationException("Every attendee needs a userId");
+        }
+
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Event with id " + eventId + " is not found"));
+        requireOpenForRegistration(event);
+
+        Set<UUID> requested = registrants.stream()
+                .map(BulkRegistrationRequest.Registrant::getUserId)
+                .collect(Collectors.toSet());
+        Set<UUID> taken = attendeeRepository.findByEventIdAndUserIdIn(eventId, requested).stream()
+                .map(EventAttendee::getUserId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        int available = event.getCapacity() == -1
+                ? Integer.MAX_VALUE
+                : Math.max(0, event.getCapacity() - event.getAttendeeCount());
+
+        List<EventAttendee> newAttendees = new ArrayList<>();
+        List<PendingRegistration> pending = new ArrayList<>(registrants.size());
+        for (BulkRegistrationRequest.Registrant registrant : registrants) {
+            if (!taken.add(registrant.getUserId())) {
+                pending.add(new PendingRegistration(registrant.getUserId(), RegistrationOutcome.ALREADY_REGISTERED, null));
+            } else if (newAttendees.size() >= available) {
+                pending.add(new PendingRegistration(registrant.getUserId(), RegistrationOutcome.FULL, null));
+            } else {
+                EventAttendee attendee = EventAttendee.builder()
+                        .userId(registrant.getUserId())
+                        .userEmail(registrant.getEmail())
+                        .event(event)
+                        .build();
+                newAttendees.add(attendee);
+                pending.add(new PendingRegistration(registrant.getUserId(), RegistrationOutcome.REGISTERED, attendee));
+            }
+        }
+
+        if (!newAttendees.isEmpty()) {
+            // The row is locked, so the seats counted above are still free
+            if (eventRepository.reserveSeats(eventId, newAttendees.size(), EventStatus.REGISTRATION,
+                    EventStatus.FULL) == 0) {
+                throw seatRefused(eventId);
+            }
+            attendeeRepository.saveAll(newAttendees);
+            statsService.markStale();
+
+            // Send event confirmation emails to all new attendees
+            notificationPublisher.publishEventConfirmations(event, newAttendees.stream()
+                    .map(EventAttendee::getUserEmail)
+                    .toList());
+        }
+
+        List<BulkRegistrationResult> results = pending.stream()
+                .map(p -> BulkRegistrationResult.builder()
+                        .userId(p.userId())
+                        .outcome(p.outcome())
+                        .attendee(p.attendee() == null ? null : mapToResponse(p.attendee()))
+                        .build())
+                .toList();
+
+        return BulkRegistrationResponse.builder()
+                .eventId(eventId)
+                .registered(newAttendees.size())
+                .alreadyRegistered(countOutcome(results, RegistrationOutcome.ALREADY_REGISTERED))
+                .full(countOutcome(results, RegistrationOutcome.FULL))
+                .results(results)
+                .build();
+    }
+
     /**
      * Retrieves all attendees registered for a specific event.
      *
@@ -117,6 +238,9 @@ public class EventAttendeeService {
 
     /**
      * Deregisters a user from an event.
+     * <p>
+     * Releases the user's seat, reopening registration if the event was FULL.
+     * </p>
      *
      * @param eventId the UUID of the event
      * @param userId  the UUID of the user to deregister
@@ -126,11 +250,17 @@ public class EventAttendeeService {
         EventAttendee attendee = attendeeRepository.findByUserIdAndEventId(userId, eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attendee with id " + userId + " is not found"));
         attendeeRepository.delete(attendee);
+        eventRepository.releaseSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL);
+        statsService.markStale();
     }
 
     /**
      * Marks a user's attendance at an event using a QR code token.
      * <p>
+     * The token is resolved through {@link QrTokenIndex}, so during a scan burst
+     * only the attendee lookup and update touch the database.
+     * </p>
+     * <p>
      * Validates that:
      * <ul>
      * <li>The event is in ONGOING status</li>
@@ -153,14 +283,16 @@ public class EventAttendeeService {
      *                                          attendance
      */
     public EventAttendeeResponse markAttendanceByToken(ScanRequest req, UUID userId, String userEmail) {
-        Event event = eventRepository.findByQrToken(req.getQrToken())
+        Event event = qrTokenIndex.resolve(req.getQrToken())
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found for provided QR token"));
 
         if (event.getStatus() != EventStatus.ONGOING) {
             throw new InvalidEventStateException("Attendance can only be marked for ongoing events");
         }
 
-        EventAttendee attendee = attendeeRepository.findByUserIdAndEventId(userId, event.getId())
+        // Locked, so a concurrent scan of the same user (another replica or a
+        // pending batch) waits here and then sees the attendance as marked
+        EventAttendee attendee = attendeeRepository.findByUserIdAndEventIdForUpdate(userId, event.getId())
                 .orElseThrow(() -> new AttendeeNotRegisteredException(
                         "User with ID " + userId + " did not register for this event"));
 
@@ -197,6 +329,36 @@ public class EventAttendeeService {
         return mapToResponse(attendee);
     }
 
+    /**
+     * Rejects registrations for events that are no longer taking sign-ups. A
+     * FULL event is still let through so that callers report it as full.
+     *
+     * @param event the event being registered for
+     * @throws InvalidEventStateException if the event is past registration
+     */
+    private static void requireOpenForRegistration(Event event) {
+        if (event.getStatus() != EventStatus.REGISTRATION && event.getStatus() != EventStatus.FULL) {
+            throw new InvalidEventStateException("Event with id " + event.getId() + " is not open for registration");
+        }
+    }
+
+    /**
+     * Explains why a seat reservation matched no row: the event has left
+     * registration since it was loaded, or its seats are gone.
+     */
+    private RuntimeException seatRefused(UUID eventId) {
+        EventStatus status = eventRepository.findStatusById(eventId)
+                .orElseThrow(() -> new EventNotFoundException("Event with id " + eventId + " is not found"));
+        if (status != EventStatus.REGISTRATION && status != EventStatus.FULL) {
+            return new InvalidEventStateException("Event with id " + eventId + " is not open for registration");
+        }
+        return new EventFullException("Event with id " + eventId + " is full");
+    }
+
+    private static int countOutcome(List<BulkRegistrationResult> results, RegistrationOutcome outcome) {
+        return (int) results.stream().filter(r -> r.getOutcome() == outcome).count();
+    }
+
     /**
      * Maps an EventAttendee entity to an EventAttendeeResponse DTO.
      *
@@ -213,4 +375,7 @@ public class EventAttendeeService {
                 .attendedAt(attendee.getAttendedAt())
                 .build();
     }
+
+    private record PendingRegistration(UUID userId, RegistrationOutcome outcome, EventAttendee attendee) {
+    }
 }
@@ -0,0 +1,267 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.greenloop.event_service.dtos.CalendarDayResponse;
+import com.greenloop.event_service.dtos.CalendarEventResponse;
+import com.greenloop.event_service.dtos.EventCalendarResponse;
+import com.greenloop.event_service.exceptions.InvalidDateRangeException;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of events bucketed by start day, behind the calendar
+ * endpoint and the 30-day upcoming count on the dashboard.
+ * <p>
+ * Each day maps to the calendar listings of the events starting on it, so a
+ * window is answered by walking the buckets between its first and last day:
+ * whole days are counted by bucket size, and only the two boundary days are
+ * filtered by start time. Events from {@code retention-days} ago onwards are
+ * indexed; windows reaching further back are read from the database.
+ * </p>
+ * <p>
+ * Events created, updated or deleted through {@link EventService} are applied
+ * to the index right away. The whole index is also rebuilt from the database
+ * on a fixed schedule, which bounds how long changes made on another replica
+ * stay invisible here.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+public class EventCalendarIndex {
+
+    private final EventRepository eventRepository;
+    private final int retentionDays;
+    private final int maxWindowDays;
+
+    private volatile NavigableMap<LocalDate, Map<UUID, CalendarEventResponse>> days = new ConcurrentSkipListMap<>();
+    private volatile Map<UUID, CalendarEventResponse> byId = new ConcurrentHashMap<>();
+    private volatile LocalDateTime coveredFrom;
+
+    // Serializes writers, so an incremental update can never be overwritten by
+    // a rebuild that read the database before it. A lock rather than
+    // synchronized, since the rebuild runs a JDBC query on a possibly virtual
+    // thread.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public EventCalendarIndex(EventRepository eventRepository,
+            @Value("${events.calendar.retention-days:31}") int retentionDays,
+            @Value("${events.calendar.max-window-days:92}") int maxWindowDays) {
+        this.eventRepository = eventRepository;
+        this.retentionDays = retentionDays;
+        this.maxWindowDays = maxWindowDays;
+    }
+
+    /**
+     * Counts events starting in {@code [from, to)}.
+     *
+     * @param from inclusive lower bound on start time
+     * @param to   exclusive upper bound on start time
+     * @return number of events starting in the window
+     */
+    public long count(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return 0;
+        }
+        ensureLoaded();
+        if (from.isBefore(coveredFrom)) {
+            return eventRepository.findCalendarEntries(from, to).size();
+        }
+
+        long count = 0;
+        for (Map.Entry<LocalDate, Map<UUID, CalendarEventResponse>> day : window(from, to).entrySet()) {
+            boolean boundary = day.getKey().equals(from.toLocalDate()) || day.getKey().equals(to.toLocalDate());
+            if (boundary) {
+                count += day.getValue().values().stream()
+                        .filter(e -> startsWithin(e, from, to))
+                        .count();
+            } else {
+                count += day.getValue().size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lists the events starting on each day of an inclusive date window.
+     *
+     * @param from first day of the window
+     * @param to   last day of the window
+     * @return the days in the window that have events, each sorted by start
+     *         time
+     * @throws InvalidDateRangeException if {@code to} is before {@code from} or
+     *                                   the window is longer than allowed
+     */
+    public EventCalendarResponse getCalendar(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxWindowDays) {
+            throw new InvalidDateRangeException("Calendar window must not exceed " + maxWindowDays + " days");
+        }
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        ensureLoaded();
+
+        Map<LocalDate, List<CalendarEventResponse>> grouped = new TreeMap<>();
+        if (start.isBefore(coveredFrom)) {
+            for (CalendarEventResponse event : eventRepository.findCalendarEntries(start, end)) {
+                grouped.computeIfAbsent(event.getStartDateTime().toLocalDate(), d -> new ArrayList<>()).add(event);
+            }
+        } else {
+            days.subMap(from, true, to, true)
+                    .forEach((day, events) -> grouped.put(day, new ArrayList<>(events.values())));
+        }
+
+        List<CalendarDayResponse> calendarDays = new ArrayList<>(grouped.size());
+        long total = 0;
+        for (Map.Entry<LocalDate, List<CalendarEventResponse>> day : grouped.entrySet()) {
+            List<CalendarEventResponse> events = day.getValue();
+            events.sort(Comparator.comparing(CalendarEventResponse::getStartDateTime)
+                    .thenComparing(CalendarEventResponse::getId));
+            calendarDays.add(CalendarDayResponse.builder()
+                    .date(day.getKey())
+                    .count(events.size())
+                    .events(events)
+                    .build());
+            total += events.size();
+        }
+
+        return EventCalendarResponse.builder()
+                .from(from)
+                .to(to)
+                .total(total)
+                .days(calendarDays)
+                .build();
+    }
+
+    /**
+     * Adds an event to the index, or moves it to its new start day.
+     *
+     * @param event the event as saved
+     */
+    public void put(Event event) {
+        writeLock.lock();
+        try {
+            if (coveredFrom == null) {
+                // Not built yet; the first read loads everything
+                return;
+            }
+            removeEntry(event.getId());
+            if (event.getStartDateTime() != null && !event.getStartDateTime().isBefore(coveredFrom)) {
+                addEntry(toEntry(event));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes an event from the index, e.g. after it was deleted.
+     *
+     * @param eventId the UUID of the event
+     */
+    public void remove(UUID eventId) {
+        writeLock.lock();
+        try {
+            removeEntry(eventId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the database and drops days that have
+     * fallen out of the retention window.
+     */
+    @Scheduled(fixedDelayString = "${events.calendar.rebuild-interval-ms:60000}")
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            LocalDateTime from = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+            NavigableMap<LocalDate, Map<UUID, CalendarEventResponse>> freshDays = new ConcurrentSkipListMap<>();
+            Map<UUID, CalendarEventResponse> freshById = new ConcurrentHashMap<>();
+            for (CalendarEventResponse entry : eventRepository.findCalendarEntries(from, null)) {
+                freshById.put(entry.getId(), entry);
+                freshDays.computeIfAbsent(entry.getStartDateTime().toLocalDate(), d -> new ConcurrentHashMap<>())
+                        .put(entry.getId(), entry);
+            }
+            days = freshDays;
+            byId = freshById;
+            coveredFrom = from;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed events
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    private void ensureLoaded() {
+        if (coveredFrom == null) {
+            writeLock.lock();
+            try {
+                if (coveredFrom == null) {
+                    rebuild();
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Buckets for every day the half-open window {@code [from, to)} touches.
+     */
+    private NavigableMap<LocalDate, Map<UUID, CalendarEventResponse>> window(LocalDateTime from, LocalDateTime to) {
+        return days.subMap(from.toLocalDate(), true, to.toLocalDate(), true);
+    }
+
+    private void addEntry(CalendarEventResponse entry) {
+        byId.put(entry.getId(), entry);
+        days.computeIfAbsent(entry.getStartDateTime().toLocalDate(), d -> new ConcurrentHashMap<>())
+                .put(entry.getId(), entry);
+    }
+
+    private void removeEntry(UUID eventId) {
+        CalendarEventResponse previous = byId.remove(eventId);
+        if (previous != null) {
+            days.computeIfPresent(previous.getStartDateTime().toLocalDate(), (day, events) -> {
+                events.remove(eventId);
+                return events.isEmpty() ? null : events;
+            });
+        }
+    }
+
+    private static boolean startsWithin(CalendarEventResponse event, LocalDateTime from, LocalDateTime to) {
+        return !event.getStartDateTime().isBefore(from) && event.getStartDateTime().isBefore(to);
+    }
+
+    private static CalendarEventResponse toEntry(Event event) {
+        return CalendarEventResponse.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .type(event.getType())
+                .location(event.getLocation())
+                .startDateTime(event.getStartDateTime())
+                .endDateTime(event.getEndDateTime())
+                .build();
+    }
+}
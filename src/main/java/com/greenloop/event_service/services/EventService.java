@@ -1,19 +1,34 @@
 package com.greenloop.event_service.services;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.greenloop.event_service.dtos.CreateEventRequest;
+import com.greenloop.event_service.dtos.EventPageResponse;
 import com.greenloop.event_service.dtos.EventResponse;
+import com.greenloop.event_service.dtos.EventVersion;
 import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.dtos.UserEventResponse;
+import com.greenloop.event_service.dtos.UserEventsResponse;
 import com.greenloop.event_service.enums.EventStatus;
 import com.greenloop.event_service.enums.EventType;
 import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.exceptions.InvalidCursorException;
+import com.greenloop.event_service.exceptions.InvalidFilterException;
 import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
 import com.greenloop.event_service.repos.*;
 
 import lombok.AllArgsConstructor;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -22,13 +37,13 @@ import java.util.*;
  * This service provides comprehensive event management capabilities including:
  * <ul>
  * <li>CRUD operations (create, read, update, delete events)</li>
- * <li>Event queries (get all events, get by ID, filter by status)</li>
+ * <li>Event queries (paginated catalog, get by ID, filter by status)</li>
  * <li>User-event relationships (upcoming/past events for users)</li>
- * <li>Analytics (event statistics and participation metrics)</li>
  * </ul>
  * 
  * All event responses include attendee counts and QR token information for
- * event check-in.
+ * event check-in. Queries run in read-only transactions, which GET requests
+ * serve from the read replica when one is configured.
  * </p>
  * 
  * @author GreenLoop Team
@@ -38,7 +53,15 @@ import java.util.*;
 @AllArgsConstructor
 public class EventService {
 
+    /** Upper bound on the page size a client can request from the catalog. */
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final EventRepository eventRepository;
+    private final EventAttendeeRepository attendeeRepository;
+    private final EventStatsService statsService;
+    private final QrTokenIndex qrTokenIndex;
+    private final NotificationPayloadCache payloadCache;
+    private final EventCalendarIndex calendarIndex;
 
     // ---------- COMMAND OPERATIONS ----------
 
@@ -71,22 +94,37 @@ public class EventService {
                 .build();
 
         Event savedEvent = eventRepository.save(event);
+        statsService.markStale();
+        calendarIndex.put(savedEvent);
         return mapToResponse(savedEvent);
     }
 
     /**
      * Updates an existing event with new details.
+     * <p>
+     * The write is checked against the event's version, so an update based on
+     * a copy that another request has changed in the meantime (including a
+     * seat reservation) fails instead of overwriting that change.
+     * </p>
      *
      * @param id      the UUID of the event to update
      * @param request the update request containing modified event details
      * @return EventResponse containing the updated event details
-     * @throws EventNotFoundException if no event exists with the given ID
+     * @throws EventNotFoundException                if no event exists with the
+     *                                               given ID
+     * @throws ObjectOptimisticLockingFailureException if the event changed
+     *                                               concurrently
      */
     public EventResponse updateEvent(UUID id, UpdateEventRequest request) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException("Event with id " + id + " is not found"));
         event.updateFromRequest(request);
-        return mapToResponse(eventRepository.save(event));
+        Event savedEvent = eventRepository.save(event);
+        statsService.markStale();
+        qrTokenIndex.evict(id);
+        payloadCache.evict(id);
+        calendarIndex.put(savedEvent);
+        return mapToResponse(savedEvent);
     }
 
     /**
@@ -100,76 +138,191 @@ public class EventService {
             throw new EventNotFoundException("Event with id " + id + " is not found");
         }
         eventRepository.deleteById(id);
+        statsService.markStale();
+        qrTokenIndex.evict(id);
+        payloadCache.evict(id);
+        calendarIndex.remove(id);
     }
 
     // ---------- QUERY OPERATIONS ----------
 
     /**
-     * Retrieves all events in the system.
+     * Retrieves one page of the event catalog using keyset pagination.
+     * <p>
+     * Events are ordered by start date and then ID. The returned cursor is an
+     * opaque token encoding the last event of the page; passing it back fetches
+     * the next page with a seek on the indexed sort key, so the cost of a page
+     * does not grow with how far the client has paged.
+     * </p>
      *
-     * @return list of all events as EventResponse objects
+     * @param status optional status filter (case-insensitive)
+     * @param type   optional event type filter (case-insensitive)
+     * @param from   optional inclusive lower bound on start date
+     * @param to     optional exclusive upper bound on start date
+     * @param cursor opaque cursor from a previous page, or null for the first
+     *               page
+     * @param size   requested page size, clamped to [1, MAX_PAGE_SIZE]
+     * @return EventPageResponse with the events and the cursor for the next page
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     * @throws InvalidFilterException if the status or type is not a known value
      */
-    public List<EventResponse> getAllEvents() {
-        return eventRepository.findAll()
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public EventPageResponse getEvents(String status, String type, LocalDateTime from, LocalDateTime to,
+            String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        EventStatus statusFilter = parseFilter(EventStatus.class, "status", status);
+        EventType typeFilter = parseFilter(EventType.class, "type", type);
+
+        PageCursor position = (cursor == null || cursor.isBlank()) ? PageCursor.START : decodeCursor(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<Event> rows = eventRepository.findEventPage(statusFilter, typeFilter, from, to,
+                position.startDateTime(), position.id(), PageRequest.of(0, pageSize + 1));
+
+        return toPage(rows, pageSize, cursor);
+    }
+
+    /**
+     * Computes the ETag of a catalog page from the ids and versions of its
+     * events, without loading them.
+     * <p>
+     * Takes the same arguments as {@link #getEvents} and yields the ETag of the
+     * page it would return, so a matching {@code If-None-Match} can be answered
+     * before the events are loaded and mapped.
+     * </p>
+     *
+     * @return quoted ETag value
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     * @throws InvalidFilterException if the status or type is not a known value
+     */
+    @Transactional(readOnly = true)
+    public String getEventsEtag(String status, String type, LocalDateTime from, LocalDateTime to,
+            String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        EventStatus statusFilter = parseFilter(EventStatus.class, "status", status);
+        EventType typeFilter = parseFilter(EventType.class, "type", type);
+
+        PageCursor position = (cursor == null || cursor.isBlank()) ? PageCursor.START : decodeCursor(cursor);
+
+        List<EventVersion> rows = eventRepository.findEventPageVersions(statusFilter, typeFilter, from, to,
+                position.startDateTime(), position.id(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        return pageEtag(hasNext ? rows.subList(0, pageSize) : rows, cursor, hasNext);
     }
 
     /**
      * Retrieves a specific event by its ID.
      *
      * @param id the UUID of the event to retrieve
-     * @return EventResponse containing the event details
+     * @return EventResponse containing the event details and the version stamp
+     *         of the row they were read from
      * @throws EventNotFoundException if no event exists with the given ID
      */
+    @Transactional(readOnly = true)
     public EventResponse getEventById(UUID id) {
+        Event event = eventRepository.findById(id)
+                .orElseThrow(() -> new EventNotFoundException("Event with id " + id + " is not found"));
+        EventResponse response = mapToResponse(event);
+        response.setVersion(versionOf(event));
+        return response;
+    }
+
+    /**
+     * Retrieves the version stamp of an event, for answering a conditional GET
+     * with 304 before the event response is built.
+     *
+     * @param id the UUID of the event
+     * @return the event's id, version and last modification time
+     * @throws EventNotFoundException if no event exists with the given ID
+     */
+    @Transactional(readOnly = true)
+    public EventVersion getEventVersion(UUID id) {
         return eventRepository.findById(id)
-                .map(this::mapToResponse)
+                .map(EventService::versionOf)
                 .orElseThrow(() -> new EventNotFoundException("Event with id " + id + " is not found"));
     }
 
     /**
-     * Retrieves all upcoming events that a user has joined.
+     * Retrieves one page of upcoming events that a user has joined.
      * <p>
-     * Only returns events where the start date is after the current time.
+     * Only returns events where the start date is after the current time,
+     * soonest first. The date bound and pagination run in the database.
      * </p>
      *
      * @param userId the UUID of the user
-     * @return list of upcoming events the user has joined
+     * @param cursor opaque cursor from a previous page, or null for the first
+     *               page
+     * @param size   requested page size, clamped to [1, MAX_PAGE_SIZE]
+     * @return EventPageResponse with upcoming events the user has joined
+     * @throws InvalidCursorException if the cursor cannot be decoded
      */
-    public List<EventResponse> upcomingEventForUser(UUID userId) {
-        List<Event> events = eventRepository.findAllEventsByAttendeeId(userId);
-        LocalDateTime now = LocalDateTime.now();
+    @Transactional(readOnly = true)
+    public EventPageResponse upcomingEventForUser(UUID userId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PageCursor position = (cursor == null || cursor.isBlank()) ? PageCursor.START : decodeCursor(cursor);
+
+        List<EventAttendee> rows = eventRepository.findUpcomingForUser(userId, LocalDateTime.now(),
+                position.startDateTime(), position.id(), PageRequest.of(0, pageSize + 1));
+
+        return toPage(rows.stream().map(EventAttendee::getEvent).toList(), pageSize, cursor);
+    }
+
+    /**
+     * Retrieves one page of past events that a user has joined.
+     * <p>
+     * Only returns events where the end date is before the current time, most
+     * recent first. The date bound and pagination run in the database.
+     * </p>
+     *
+     * @param userId the UUID of the user
+     * @param cursor opaque cursor from a previous page, or null for the first
+     *               page
+     * @param size   requested page size, clamped to [1, MAX_PAGE_SIZE]
+     * @return EventPageResponse with past events the user has joined
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    @Transactional(readOnly = true)
+    public EventPageResponse pastEventsForUser(UUID userId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PageCursor position = (cursor == null || cursor.isBlank()) ? PageCursor.START : decodeCursor(cursor);
 
-        return events.stream()
-                .filter(e -> e.getStartDateTime().isAfter(now))
-                .map(this::mapToResponse)
-                .toList();
+        List<EventAttendee> rows = eventRepository.findPastForUser(userId, LocalDateTime.now(),
+                position.startDateTime(), position.id(), PageRequest.of(0, pageSize + 1));
+
+        return toPage(rows.stream().map(EventAttendee::getEvent).toList(), pageSize, cursor);
     }
 
     /**
-     * Retrieves all past events that a user has attended.
+     * Retrieves the first slice of a user's upcoming and past events together
+     * with the user's attendance status for each.
      * <p>
-     * Only returns events where the end date is before the current time.
+     * Each slice is a single query that fetches the attendee row and its event
+     * together, so clients do not need a follow-up attendee lookup per event.
+     * Use the paginated upcoming/past queries to page further.
      * </p>
      *
      * @param userId the UUID of the user
-     * @return list of past events the user has attended
+     * @param size   maximum events per slice, clamped to [1, MAX_PAGE_SIZE]
+     * @return UserEventsResponse with upcoming (soonest first) and past (most
+     *         recent first) events
      */
-    public List<EventResponse> pastEventsForUser(UUID userId) {
-        List<Event> events = eventRepository.findAllEventsByAttendeeId(userId);
+    @Transactional(readOnly = true)
+    public UserEventsResponse getUserEvents(UUID userId, int size) {
+        PageRequest slice = PageRequest.of(0, clampPageSize(size));
         LocalDateTime now = LocalDateTime.now();
 
-        return events.stream()
-                .filter(e -> e.getEndDateTime().isBefore(now))
-                .map(this::mapToResponse)
-                .toList();
+        return UserEventsResponse.builder()
+                .upcoming(eventRepository.findUpcomingForUser(userId, now, null, null, slice)
+                        .stream().map(this::mapToUserEventResponse).toList())
+                .past(eventRepository.findPastForUser(userId, now, null, null, slice)
+                        .stream().map(this::mapToUserEventResponse).toList())
+                .build();
     }
 
     /**
-     * Retrieves all upcoming events that a user has NOT joined yet and can still
-     * join.
+     * Retrieves one page of upcoming events that a user has NOT joined yet and
+     * can still join.
      * <p>
      * Filters events based on:
      * <ul>
@@ -177,21 +330,26 @@ public class EventService {
      * <li>Event has available capacity</li>
      * <li>User has not already joined the event</li>
      * </ul>
+     * All three filters run in the database; pagination works as in
+     * {@link #getEvents}.
      * </p>
      *
      * @param userId the UUID of the user
-     * @return list of joinable upcoming events
+     * @param cursor opaque cursor from a previous page, or null for the first
+     *               page
+     * @param size   requested page size, clamped to [1, MAX_PAGE_SIZE]
+     * @return EventPageResponse with joinable events and the next-page cursor
+     * @throws InvalidCursorException if the cursor cannot be decoded
      */
-    public List<EventResponse> upcomingNotJoinedEventsForUser(UUID userId) {
-        LocalDateTime now = LocalDateTime.now();
+    @Transactional(readOnly = true)
+    public EventPageResponse upcomingNotJoinedEventsForUser(UUID userId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PageCursor position = (cursor == null || cursor.isBlank()) ? PageCursor.START : decodeCursor(cursor);
 
-        return eventRepository.findAll().stream()
-                .filter(e -> e.getEndDateTime().isAfter(now)) // only events not ended
-                .filter(e -> e.getAttendeeCount() < e.getCapacity()) // only events with available slots
-                .filter(e -> e.getAttendees().stream()
-                        .noneMatch(a -> a.getUserId().equals(userId))) // exclude events the user has joined
-                .map(this::mapToResponse)
-                .toList();
+        List<Event> rows = eventRepository.findJoinableEventPage(userId, LocalDateTime.now(),
+                position.startDateTime(), position.id(), PageRequest.of(0, pageSize + 1));
+
+        return toPage(rows, pageSize, cursor);
     }
 
     /**
@@ -203,46 +361,6 @@ public class EventService {
         return EventType.values();
     }
 
-    // ---------- ANALYTICS ----------
-
-    /**
-     * Counts the total number of open (non-closed) events.
-     *
-     * @return count of events that are not in CLOSED status
-     */
-    public long getTotalOpenEvents() {
-        return eventRepository.findAll().stream()
-                .filter(e -> EventStatus.CLOSED != e.getStatus())
-                .count();
-    }
-
-    /**
-     * Counts upcoming events starting within the next 30 days.
-     *
-     * @return count of events starting between now and 30 days from now
-     */
-    public long getUpcomingEventsNext30Days() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime next30Days = now.plusDays(30);
-
-        return eventRepository.findAll().stream()
-                .filter(e -> e.getStartDateTime() != null && e.getStartDateTime().isAfter(now)
-                        && e.getStartDateTime().isBefore(next30Days))
-                .count();
-    }
-
-    /**
-     * Calculates the total number of participants across all open events.
-     *
-     * @return sum of attendee counts for all non-closed events
-     */
-    public long getTotalParticipantsInOpenEvents() {
-        return eventRepository.findAll().stream()
-                .filter(e -> EventStatus.CLOSED != e.getStatus())
-                .mapToLong(e -> e.getAttendees() != null ? e.getAttendees().size() : 0)
-                .sum();
-    }
-
     // ---------- HELPER METHODS ----------
 
     /**
@@ -271,21 +389,151 @@ public class EventService {
                 .build();
     }
 
-    // @Scheduled(fixedRate = 300000)
-    // public void updateEventStatuses() {
-    // LocalDateTime now = LocalDateTime.now();
-
-    // // Transition events from REGISTRATION OR FULL to ONGOING
-    // eventRepository.updateStatusToOngoing(
-    // EventStatus.REGISTRATION,
-    // EventStatus.FULL,
-    // EventStatus.ONGOING,
-    // now);
-
-    // // Transition events from ONGOING to CLOSED
-    // eventRepository.updateStatusToClosed(
-    // EventStatus.ONGOING,
-    // EventStatus.CLOSED,
-    // now);
-    // }
+    /**
+     * Maps a user's attendee record and its event to a UserEventResponse DTO.
+     *
+     * @param attendee the EventAttendee entity with its event loaded
+     * @return UserEventResponse with event details and attendance status
+     */
+    private UserEventResponse mapToUserEventResponse(EventAttendee attendee) {
+        return UserEventResponse.builder()
+                .event(mapToResponse(attendee.getEvent()))
+                .registeredAt(attendee.getRegisteredAt())
+                .attended(attendee.isAttended())
+                .attendedAt(attendee.getAttendedAt())
+                .build();
+    }
+
+    /**
+     * Clamps a client-requested page size to [1, MAX_PAGE_SIZE].
+     *
+     * @param size requested page size
+     * @return page size safe to pass to a query
+     */
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Parses an optional enum query parameter, case-insensitively.
+     *
+     * @param enumType the enum to parse into
+     * @param name     parameter name, for the error message
+     * @param value    raw parameter value, or null when not given
+     * @return the enum constant, or null when no value was given
+     * @throws InvalidFilterException if the value is not a constant of the enum
+     */
+    private <E extends Enum<E>> E parseFilter(Class<E> enumType, String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFilterException("Invalid " + name + " '" + value + "', expected one of "
+                    + Arrays.toString(enumType.getEnumConstants()));
+        }
+    }
+
+    /**
+     * Builds a catalog page from a keyset query that fetched one row more than
+     * the page size.
+     *
+     * @param rows     query result of at most pageSize + 1 events
+     * @param pageSize number of events to return
+     * @param cursor   the cursor the page was requested with, or null
+     * @return EventPageResponse with the cursor of the last returned event
+     */
+    private EventPageResponse toPage(List<Event> rows, int pageSize, String cursor) {
+        boolean hasNext = rows.size() > pageSize;
+        List<Event> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? encodeCursor(page.get(page.size() - 1)) : null;
+
+        return EventPageResponse.builder()
+                .events(page.stream().map(this::mapToResponse).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .etag(pageEtag(page.stream().map(EventService::versionOf).toList(), cursor, hasNext))
+                .build();
+    }
+
+    /**
+     * @param event the event
+     * @return the event's id, version and last modification time
+     */
+    private static EventVersion versionOf(Event event) {
+        return EventVersion.builder()
+                .id(event.getId())
+                .version(event.getVersion())
+                .updatedAt(event.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * Derives a strong ETag for a page from the cursor it was requested with
+     * and the id and version of each event. Any change to an event on the
+     * page, or to which events are on it, yields a different tag.
+     *
+     * @param page    id and version of the events of the page
+     * @param cursor  the requested cursor, or null for the first page
+     * @param hasNext whether another page follows
+     * @return quoted ETag value
+     */
+    private String pageEtag(List<EventVersion> page, String cursor, boolean hasNext) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((cursor == null ? "" : cursor).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer row = ByteBuffer.allocate(3 * Long.BYTES);
+            for (EventVersion event : page) {
+                row.clear();
+                row.putLong(event.getId().getMostSignificantBits())
+                        .putLong(event.getId().getLeastSignificantBits())
+                        .putLong(event.getVersion());
+                digest.update(row.array());
+            }
+            digest.update((byte) (hasNext ? 1 : 0));
+            byte[] hash = Arrays.copyOf(digest.digest(), 16);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Encodes the keyset position of an event as an opaque URL-safe cursor.
+     *
+     * @param last the last event of the current page
+     * @return Base64url cursor string
+     */
+    private String encodeCursor(Event last) {
+        String raw = last.getStartDateTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(Event)}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the decoded keyset position
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    private PageCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Invalid page cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+    }
+
+    /**
+     * Keyset position within the catalog: the sort key of the last event seen.
+     */
+    private record PageCursor(LocalDateTime startDateTime, UUID id) {
+        static final PageCursor START = new PageCursor(null, null);
+    }
 }
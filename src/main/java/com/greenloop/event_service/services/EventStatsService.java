@@ -0,0 +1,164 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.greenloop.event_service.dtos.EventStatsResponse;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.repos.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service layer for event analytics used by the admin dashboard.
+ * <p>
+ * Metrics are computed with COUNT/SUM aggregate queries (the 30-day upcoming
+ * count comes from {@link EventCalendarIndex}) and served from an
+ * in-memory snapshot, so frequent dashboard polling does not hit the database
+ * on every request. The snapshot is rebuilt on a short schedule and lazily on
+ * the next read after any event or attendee change.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class EventStatsService {
+
+    private final EventRepository eventRepository;
+    private final EventCalendarIndex calendarIndex;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    // A lock rather than synchronized: the rebuild runs JDBC queries, and a
+    // virtual thread blocking inside a monitor pins its carrier thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile EventStatsResponse snapshot;
+
+    /**
+     * Returns the current stats snapshot, rebuilding it first if it is missing
+     * or has been marked stale.
+     *
+     * @return EventStatsResponse with all dashboard metrics
+     */
+    public EventStatsResponse getStats() {
+        EventStatsResponse current = snapshot;
+        if (current == null || stale.get()) {
+            current = refreshIfStale();
+        }
+        return current;
+    }
+
+    /**
+     * Counts the total number of open (non-closed) events.
+     *
+     * @return count of events that are not in CLOSED status
+     */
+    public long getTotalOpenEvents() {
+        return getStats().getTotalOpenEvents();
+    }
+
+    /**
+     * Counts upcoming events starting within the next 30 days.
+     *
+     * @return count of events starting between now and 30 days from now
+     */
+    public long getUpcomingEventsNext30Days() {
+        return getStats().getUpcomingEventsNext30Days();
+    }
+
+    /**
+     * Calculates the total number of participants across all open events.
+     *
+     * @return sum of attendee counts for all non-closed events
+     */
+    public long getTotalParticipantsInOpenEvents() {
+        return getStats().getTotalParticipantsInOpenEvents();
+    }
+
+    /**
+     * Marks the snapshot as out of date so the next read rebuilds it.
+     * <p>
+     * Inside a transaction the flag is only set after commit, otherwise a read
+     * racing the commit could rebuild from the old data and clear the flag.
+     * </p>
+     */
+    public void markStale() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale.set(true);
+                }
+            });
+        } else {
+            stale.set(true);
+        }
+    }
+
+    /**
+     * Marks the snapshot stale after {@link EventStatusScheduler} opened or
+     * closed events, since both change the open-event counts.
+     *
+     * @param transition a committed batch of status transitions
+     */
+    @TransactionalEventListener
+    public void onStatusTransition(EventStatusTransition transition) {
+        stale.set(true);
+    }
+
+    /**
+     * Rebuilds the snapshot on a fixed schedule so time-based metrics such as
+     * the 30-day window stay current without any writes.
+     *
+     * @return the freshly computed snapshot
+     */
+    @Scheduled(fixedDelayString = "${events.stats.refresh-interval-ms:5000}")
+    public EventStatsResponse refresh() {
+        refreshLock.lock();
+        try {
+            // Clear first so a change committed while computing marks it stale again
+            stale.set(false);
+            LocalDateTime now = LocalDateTime.now();
+
+            EventStatsResponse fresh = EventStatsResponse.builder()
+                    .totalOpenEvents(eventRepository.countByStatusNot(EventStatus.CLOSED))
+                    .upcomingEventsNext30Days(calendarIndex.count(now, now.plusDays(30)))
+                    .totalParticipantsInOpenEvents(eventRepository.sumAttendeeCountByStatusNot(EventStatus.CLOSED))
+                    .generatedAt(now)
+                    .build();
+
+            snapshot = fresh;
+            return fresh;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot unless another thread already did so while this one
+     * waited for the lock.
+     *
+     * @return the current snapshot
+     */
+    private EventStatsResponse refreshIfStale() {
+        refreshLock.lock();
+        try {
+            if (snapshot == null || stale.get()) {
+                return refresh();
+            }
+            return snapshot;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
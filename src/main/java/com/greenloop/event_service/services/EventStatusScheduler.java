@@ -0,0 +1,263 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Moves events through their time-driven statuses: REGISTRATION and FULL
+ * become ONGOING at their start time, ONGOING becomes CLOSED at its end time.
+ * <p>
+ * Instead of polling on a fixed rate, each run reads the earliest pending
+ * start and end time from the (status, start_date_time) and (status,
+ * end_date_time) indexes and schedules the next run for that moment, capped
+ * at a maximum idle time so events created or moved meanwhile are still
+ * picked up. Due events are transitioned in bounded batches, one transaction
+ * per batch, with a conditional UPDATE that skips rows whose status changed
+ * in the meantime.
+ * </p>
+ * <p>
+ * Only the replica holding the {@value #LEASE_NAME} lease (see
+ * {@link SchedulerLeaseService}) runs the transitions; the others retry after
+ * a short delay, so a crashed leader is replaced within one lease. Each batch
+ * transaction locks the lease row and checks it is still held before
+ * touching any event, and extends it, so a run that outlives its lease stops
+ * at the first batch after another replica took over instead of racing it.
+ * Every committed batch is published as an {@link EventStatusTransition}
+ * carrying only the events it actually changed, which warms or evicts the
+ * in-memory caches. The number of transitioned events is
+ * exposed as the {@code events.status.transitions} counter, tagged by target
+ * status.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class EventStatusScheduler {
+
+    static final String LEASE_NAME = "event-status-transitions";
+
+    private static final List<EventStatus> STARTABLE = List.of(EventStatus.REGISTRATION, EventStatus.FULL);
+    private static final List<EventStatus> CLOSABLE = List.of(EventStatus.ONGOING);
+
+    // Returned by a batch whose transaction found the lease taken over
+    private static final int LEASE_LOST = -1;
+
+    private enum Outcome { DRAINED, MORE_DUE, LEASE_LOST }
+
+    // Floor between runs, so an event that cannot be transitioned does not
+    // turn the scheduler into a busy loop
+    private static final Duration MIN_DELAY = Duration.ofSeconds(1);
+
+    private final EventRepository eventRepository;
+    private final SchedulerLeaseService leaseService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration leaseDuration;
+    private final Duration maxIdle;
+    private final Duration retryDelay;
+
+    private final Counter started;
+    private final Counter closed;
+
+    // A lock rather than synchronized, for the same virtual-thread pinning
+    // reason as in EventStatsService
+    private final ReentrantLock scheduleLock = new ReentrantLock();
+    private ScheduledFuture<?> nextRun;
+    private volatile boolean running;
+
+    public EventStatusScheduler(EventRepository eventRepository,
+            SchedulerLeaseService leaseService,
+            ApplicationEventPublisher eventPublisher,
+            TaskScheduler taskScheduler,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${events.status-transitions.enabled:true}") boolean enabled,
+            @Value("${events.status-transitions.batch-size:200}") int batchSize,
+            @Value("${events.status-transitions.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${events.status-transitions.lease-ms:60000}") long leaseMillis,
+            @Value("${events.status-transitions.max-idle-ms:60000}") long maxIdleMillis,
+            @Value("${events.status-transitions.retry-delay-ms:5000}") long retryDelayMillis) {
+        this.eventRepository = eventRepository;
+        this.leaseService = leaseService;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.leaseDuration = Duration.ofMillis(leaseMillis);
+        this.maxIdle = Duration.ofMillis(maxIdleMillis);
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        this.started = transitionCounter(meterRegistry, EventStatus.ONGOING);
+        this.closed = transitionCounter(meterRegistry, EventStatus.CLOSED);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        scheduleAt(Instant.now());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        scheduleLock.lock();
+        try {
+            if (nextRun != null) {
+                nextRun.cancel(false);
+            }
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    /**
+     * Runs every due transition if this replica can take the lease.
+     *
+     * @return how long to wait before the next run: until the next start or
+     *         end time, zero if the per-run batch limit left work behind, or
+     *         the retry delay if another replica holds or took over the lease
+     */
+    public Duration runDueTransitions() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return retryDelay;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Outcome starts = transitionAll(EventStatus.ONGOING, STARTABLE,
+                    page -> eventRepository.findDueToStart(STARTABLE, now, page), started);
+            Outcome closes = starts == Outcome.LEASE_LOST ? starts : transitionAll(EventStatus.CLOSED, CLOSABLE,
+                    page -> eventRepository.findDueToClose(EventStatus.ONGOING, now, page), closed);
+            if (closes == Outcome.LEASE_LOST) {
+                log.warn("Lost the {} lease to another replica during a run, stopping", LEASE_NAME);
+                return retryDelay;
+            }
+            return starts == Outcome.DRAINED && closes == Outcome.DRAINED
+                    ? untilNextDue(LocalDateTime.now())
+                    : Duration.ZERO;
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    private void runAndReschedule() {
+        Duration delay;
+        try {
+            delay = runDueTransitions();
+        } catch (RuntimeException e) {
+            log.error("Event status transition run failed", e);
+            delay = retryDelay;
+        }
+        scheduleAt(Instant.now().plus(delay));
+    }
+
+    private void scheduleAt(Instant when) {
+        scheduleLock.lock();
+        try {
+            if (running) {
+                nextRun = taskScheduler.schedule(this::runAndReschedule, when);
+            }
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    /**
+     * Transitions due events one batch per transaction until none are left or
+     * the per-run limit is reached.
+     *
+     * @return whether every due event was handled, the per-run limit was
+     *         reached, or another replica took the lease over
+     */
+    private Outcome transitionAll(EventStatus target, List<EventStatus> fromStatuses,
+            Function<Pageable, List<Event>> findDue, Counter counter) {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer found = transactionTemplate.execute(status -> {
+                if (!leaseService.holdForTransaction(LEASE_NAME, leaseDuration)) {
+                    return LEASE_LOST;
+                }
+                List<Event> due = findDue.apply(PageRequest.of(0, batchSize));
+                if (due.isEmpty()) {
+                    return 0;
+                }
+                List<UUID> ids = due.stream().map(Event::getId).toList();
+                Set<UUID> transitioned = new HashSet<>(eventRepository.transitionStatus(ids, fromStatuses, target));
+                counter.increment(transitioned.size());
+                if (!transitioned.isEmpty()) {
+                    eventPublisher.publishEvent(new EventStatusTransition(target,
+                            due.stream().filter(e -> transitioned.contains(e.getId())).toList()));
+                }
+                return due.size();
+            });
+            if (found != null && found == LEASE_LOST) {
+                return Outcome.LEASE_LOST;
+            }
+            if (found == null || found < batchSize) {
+                return Outcome.DRAINED;
+            }
+        }
+        return Outcome.MORE_DUE;
+    }
+
+    /**
+     * Time until the earliest pending start or end, bounded by the minimum
+     * delay and the maximum idle time.
+     */
+    private Duration untilNextDue(LocalDateTime now) {
+        Duration delay = maxIdle;
+        List<Optional<LocalDateTime>> candidates = List.of(
+                eventRepository.findEarliestStart(STARTABLE),
+                eventRepository.findEarliestEnd(EventStatus.ONGOING));
+        for (Optional<LocalDateTime> candidate : candidates) {
+            if (candidate.isPresent()) {
+                Duration until = Duration.between(now, candidate.get());
+                if (until.compareTo(delay) < 0) {
+                    delay = until;
+                }
+            }
+        }
+        return delay.compareTo(MIN_DELAY) < 0 ? MIN_DELAY : delay;
+    }
+
+    private static Counter transitionCounter(MeterRegistry meterRegistry, EventStatus target) {
+        return Counter.builder("events.status.transitions")
+                .description("Events moved to a new status by the status scheduler")
+                .tag("status", target.name())
+                .register(meterRegistry);
+    }
+}
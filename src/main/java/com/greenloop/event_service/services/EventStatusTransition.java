@@ -0,0 +1,30 @@
+package com.greenloop.event_service.services;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.models.Event;
+
+import java.util.*;
+
+/**
+ * Application event published by {@link EventStatusScheduler} for each batch
+ * of events it moved to a new status. Listeners are expected to use
+ * {@code @TransactionalEventListener}, so they only see batches that
+ * committed.
+ *
+ * @param status the status the events were moved to
+ * @param events the events that changed status, as read before the
+ *               transition; their own {@code status} field still holds the
+ *               previous value. Due events that were skipped because their
+ *               status changed meanwhile are not included.
+ */
+public record EventStatusTransition(EventStatus status, List<Event> events) {
+
+    /**
+     * @return ids of the transitioned events
+     */
+    public Set<UUID> eventIds() {
+        Set<UUID> ids = new HashSet<>();
+        events.forEach(e -> ids.add(e.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,94 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greenloop.event_service.models.OutboxMessage;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Write side of the transactional outbox.
+ * <p>
+ * Publishers hand their messages to this service instead of the
+ * {@code RabbitTemplate}. The message is serialized with the same JSON
+ * converter the template uses and stored in {@code outbox_messages} as part of
+ * the caller's transaction; {@link OutboxRelay} sends it to the broker after
+ * commit. Callers therefore never wait on RabbitMQ, and a rolled-back
+ * transaction publishes nothing.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+@RequiredArgsConstructor
+public class MessageOutbox {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final MessageConverter jsonMessageConverter;
+
+    /**
+     * Stores a message for relaying, joining the current transaction if there is
+     * one.
+     *
+     * @param exchange   the target exchange
+     * @param routingKey the routing key
+     * @param payload    the message body, serialized as JSON
+     */
+    @Transactional
+    public void enqueue(String exchange, String routingKey, Object payload) {
+        MessageProperties properties = new MessageProperties();
+        byte[] body = jsonMessageConverter.toMessage(payload, properties).getBody();
+
+        enqueueSerialized(exchange, routingKey,
+                (String) properties.getHeaders().get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME), body);
+    }
+
+    /**
+     * Stores an already serialized JSON message for relaying, joining the
+     * current transaction if there is one.
+     *
+     * @param exchange   the target exchange
+     * @param routingKey the routing key
+     * @param typeId     the type id header consumers expect, usually the payload
+     *                   class name
+     * @param body       the UTF-8 JSON message body
+     */
+    @Transactional
+    public void enqueueSerialized(String exchange, String routingKey, String typeId, byte[] body) {
+        outboxRepository.save(toOutboxMessage(exchange, routingKey, typeId, body));
+    }
+
+    /**
+     * Stores several already serialized messages for the same route in one
+     * batch, joining the current transaction if there is one.
+     *
+     * @param exchange   the target exchange
+     * @param routingKey the routing key
+     * @param typeId     the type id header consumers expect
+     * @param bodies     the UTF-8 JSON message bodies
+     */
+    @Transactional
+    public void enqueueAllSerialized(String exchange, String routingKey, String typeId, List<byte[]> bodies) {
+        outboxRepository.saveAll(bodies.stream()
+                .map(body -> toOutboxMessage(exchange, routingKey, typeId, body))
+                .toList());
+    }
+
+    private static OutboxMessage toOutboxMessage(String exchange, String routingKey, String typeId, byte[] body) {
+        return OutboxMessage.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .typeId(typeId)
+                .payload(new String(body, StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.greenloop.event_service.models.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of pre-serialized {@code event_confirmation} notification payloads.
+ * <p>
+ * Every registration used to build a new {@code NotificationMessage}, format
+ * both dates and serialize all the event-level fields again, even though only
+ * the email and timestamp differ between registrations for the same event.
+ * This cache keeps the serialized event-level fields as JSON bytes per event.
+ * Each registration then serializes only its own {@code email} and
+ * {@code timestamp} and splices them in. The resulting JSON object has the
+ * same fields and values as serializing the full message through the shared
+ * JSON converter.
+ * </p>
+ * <p>
+ * Entries are evicted when the event is updated or deleted through
+ * {@link EventService}. Each entry also remembers the field values it was
+ * built from and is rebuilt if the event no longer matches, so an update made
+ * on another replica is never served stale.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+public class NotificationPayloadCache {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a");
+
+    private final MessageConverter jsonMessageConverter;
+    private final int maxEntries;
+
+    private final Map<UUID, Template> templates = new ConcurrentHashMap<>();
+
+    public NotificationPayloadCache(MessageConverter jsonMessageConverter,
+            @Value("${events.notification-cache.max-entries:1000}") int maxEntries) {
+        this.jsonMessageConverter = jsonMessageConverter;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Builds the JSON body of an {@code event_confirmation} notification.
+     *
+     * @param event the event the user registered for
+     * @param email the email of the registered user
+     * @return the serialized message body
+     */
+    public byte[] confirmationPayload(Event event, String email) {
+        EventFields fields = EventFields.of(event);
+        Template template = templates.get(event.getId());
+        if (template == null || !template.fields().equals(fields)) {
+            if (templates.size() >= maxEntries) {
+                templates.clear();
+            }
+            template = new Template(fields, serializeObjectBody(confirmationFields(fields)));
+            templates.put(event.getId(), template);
+        }
+
+        Map<String, Object> perUser = new LinkedHashMap<>();
+        perUser.put("email", email);
+        perUser.put("timestamp", LocalDateTime.now());
+        byte[] userBody = serializeObjectBody(perUser);
+
+        // '{' + event fields + ',' + user fields + '}'
+        ByteArrayOutputStream out = new ByteArrayOutputStream(template.body().length + userBody.length + 3);
+        out.write('{');
+        out.writeBytes(template.body());
+        out.write(',');
+        out.writeBytes(userBody);
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    /**
+     * Drops the cached payload for an event, e.g. after it was updated or
+     * deleted.
+     *
+     * @param eventId the UUID of the event
+     */
+    public void evict(UUID eventId) {
+        templates.remove(eventId);
+    }
+
+    /**
+     * @return number of cached event payloads
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Event-level fields of the confirmation message, keyed by their JSON names
+     * on {@code NotificationMessage}.
+     */
+    private static Map<String, Object> confirmationFields(EventFields fields) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("type", "event_confirmation");
+        body.put("event_name", fields.name());
+        body.put("details", "You have successfully registered for this event.");
+        body.put("coins_earned", null);
+        body.put("location", fields.location());
+        body.put("start_date", fields.startDateTime().format(DATE_FORMATTER));
+        body.put("end_date", fields.endDateTime().format(DATE_FORMATTER));
+        body.put("organizer", fields.organizer());
+        body.put("coins", fields.coins());
+        return body;
+    }
+
+    /**
+     * Serializes a map with the shared JSON converter and strips the enclosing
+     * braces, so the fields can be spliced into a larger object.
+     */
+    private byte[] serializeObjectBody(Map<String, Object> fields) {
+        byte[] json = jsonMessageConverter.toMessage(fields, new MessageProperties()).getBody();
+        return Arrays.copyOfRange(json, 1, json.length - 1);
+    }
+
+    private record EventFields(String name, String location, String organizer, int coins,
+            LocalDateTime startDateTime, LocalDateTime endDateTime) {
+
+        static EventFields of(Event event) {
+            return new EventFields(event.getName(), event.getLocation(), event.getOrganizer(), event.getCoins(),
+                    event.getStartDateTime(), event.getEndDateTime());
+        }
+    }
+
+    private record Template(EventFields fields, byte[] body) {
+    }
+}
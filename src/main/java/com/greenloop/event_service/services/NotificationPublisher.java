@@ -2,39 +2,48 @@ package com.greenloop.event_service.services;
 
 import com.greenloop.event_service.dtos.NotificationMessage;
 import com.greenloop.event_service.models.Event;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
+import java.util.List;
 
+/**
+ * Builds notification messages for the notification service.
+ * <p>
+ * Messages go through the {@link MessageOutbox}, so they are written in the
+ * caller's transaction and only reach RabbitMQ after it commits.
+ * </p>
+ */
 @Service
 public class NotificationPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a");
+    private final MessageOutbox outbox;
+    private final NotificationPayloadCache payloadCache;
 
     @Value("${rabbitmq.notification.exchange:notifications.topic}")
     private String notificationExchange;
 
-    public NotificationPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public NotificationPublisher(MessageOutbox outbox, NotificationPayloadCache payloadCache) {
+        this.outbox = outbox;
+        this.payloadCache = payloadCache;
     }
 
+    /**
+     * Queues an event confirmation email. The event-level part of the payload
+     * comes pre-serialized from {@link NotificationPayloadCache}.
+     */
     public void publishEventConfirmation(String email, Event event) {
-        NotificationMessage message = NotificationMessage.builder()
-                .type("event_confirmation")
-                .email(email)
-                .eventName(event.getName())
-                .location(event.getLocation())
-                .startDate(event.getStartDateTime().format(DATE_FORMATTER))
-                .endDate(event.getEndDateTime().format(DATE_FORMATTER))
-                .organizer(event.getOrganizer())
-                .coins(event.getCoins())
-                .details("You have successfully registered for this event.")
-                .build();
-        
-        rabbitTemplate.convertAndSend(notificationExchange, "event.confirmation", message);
+        outbox.enqueueSerialized(notificationExchange, "event.confirmation", NotificationMessage.class.getName(),
+                payloadCache.confirmationPayload(event, email));
+    }
+
+    /**
+     * Queues confirmation emails for several new attendees of the same event in
+     * one outbox write, sharing the cached event-level payload.
+     */
+    public void publishEventConfirmations(Event event, List<String> emails) {
+        outbox.enqueueAllSerialized(notificationExchange, "event.confirmation", NotificationMessage.class.getName(),
+                emails.stream().map(email -> payloadCache.confirmationPayload(event, email)).toList());
     }
 
     public void publishEventAttendance(String email, String eventName, int coinsEarned) {
@@ -46,6 +55,6 @@ public class NotificationPublisher {
                 .details("Thank you for attending!")
                 .build();
         
-        rabbitTemplate.convertAndSend(notificationExchange, "event.attendance", message);
+        outbox.enqueue(notificationExchange, "event.attendance", message);
     }
 }
@@ -0,0 +1,167 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.greenloop.event_service.models.OutboxMessage;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import com.greenloop.event_service.services.BatchingRabbitPublisher.OutboundMessage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read side of the transactional outbox: drains {@code outbox_messages} to
+ * RabbitMQ.
+ * <p>
+ * Each batch goes through three steps, and no transaction or connection is
+ * held while waiting on the broker:
+ * </p>
+ * <ol>
+ * <li>a short transaction claims the oldest unclaimed messages for
+ * {@code claim-ms} and commits;</li>
+ * <li>{@link BatchingRabbitPublisher} sends them and waits for confirms;</li>
+ * <li>a short transaction deletes the confirmed messages and releases the
+ * claim on the rest, which are sent again on a later run.</li>
+ * </ol>
+ * <p>
+ * If a relay dies between the steps its claims lapse and another relay takes
+ * the messages over, so delivery is at-least-once. Each message carries its
+ * outbox id as {@code message_id} so consumers can drop duplicates.
+ * </p>
+ * <p>
+ * The number of pending rows is exposed as the {@code events.outbox.pending}
+ * gauge.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final BatchingRabbitPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long claimMillis;
+
+    public OutboxRelay(OutboxMessageRepository outboxRepository,
+            BatchingRabbitPublisher publisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${events.outbox.batch-size:200}") int batchSize,
+            @Value("${events.outbox.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${events.outbox.claim-ms:60000}") long claimMillis) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.claimMillis = claimMillis;
+
+        Gauge.builder("events.outbox.pending", outboxRepository, OutboxMessageRepository::count)
+                .description("Messages stored in the outbox and not yet confirmed by RabbitMQ")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays pending messages until the outbox is empty, the per-run limit is
+     * reached, or a batch is not fully confirmed.
+     *
+     * @return number of messages confirmed by the broker in this run
+     */
+    @Scheduled(fixedDelayString = "${events.outbox.relay-interval-ms:200}")
+    public int relay() {
+        int relayed = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int confirmed = relayBatch();
+            relayed += confirmed;
+            if (confirmed < batchSize) {
+                break;
+            }
+        }
+        return relayed;
+    }
+
+    /**
+     * Claims one batch, sends it outside any transaction, then deletes the
+     * confirmed messages and releases the others.
+     */
+    private int relayBatch() {
+        UUID token = UUID.randomUUID();
+        List<OutboxMessage> batch = transactionTemplate.execute(status -> claimNextBatch(token));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> acked = Set.of();
+        try {
+            acked = publisher.publish(batch.stream().map(this::toOutbound).toList());
+        } finally {
+            settle(batch, acked, token);
+        }
+        return acked.size();
+    }
+
+    private List<OutboxMessage> claimNextBatch(UUID token) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxRepository.lockNextUnclaimed(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            outboxRepository.claim(batch.stream().map(OutboxMessage::getId).toList(), token,
+                    now.plus(Duration.ofMillis(claimMillis)));
+        }
+        return batch;
+    }
+
+    private void settle(List<OutboxMessage> batch, Set<String> acked, UUID token) {
+        List<UUID> confirmed = new ArrayList<>();
+        List<UUID> unconfirmed = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            if (acked.contains(message.getId().toString())) {
+                confirmed.add(message.getId());
+            } else {
+                unconfirmed.add(message.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!confirmed.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(confirmed);
+            }
+            if (!unconfirmed.isEmpty()) {
+                outboxRepository.releaseClaim(unconfirmed, token);
+            }
+        });
+    }
+
+    private OutboundMessage toOutbound(OutboxMessage message) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId(message.getId().toString());
+        if (message.getTypeId() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, message.getTypeId());
+        }
+        Message amqp = new Message(message.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+        return new OutboundMessage(message.getId().toString(), message.getExchange(), message.getRoutingKey(), amqp);
+    }
+}
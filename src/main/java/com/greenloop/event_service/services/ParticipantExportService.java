@@ -0,0 +1,143 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.enums.ExportFormat;
+import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Streams an event's participant list as NDJSON or CSV.
+ * <p>
+ * {@link EventAttendeeService#getAllEventAttendees} loads every attendee
+ * entity and builds the whole response in memory, which does not scale to
+ * events with tens of thousands of attendees. This service reads the attendees
+ * through a database cursor as DTO projections and writes each row to the
+ * output stream as soon as it is read, so memory use does not depend on the
+ * size of the event.
+ * </p>
+ * <p>
+ * NDJSON rows use the same JSON representation as the participants endpoint.
+ * CSV rows have the columns {@code id, user_id, user_email, attended,
+ * registered_at, attended_at}.
+ * </p>
+ * <p>
+ * The cursor keeps one database connection checked out until the last row is
+ * written, i.e. for as long as the client takes to download the export. With
+ * replica routing enabled the export reads from the replica; otherwise it
+ * takes a primary connection, which is why exports run in their own bulkhead,
+ * one at a time, and are cut off after {@code spring.mvc.async.request-timeout}.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ParticipantExportService {
+
+    static final String CSV_HEADER = "id,user_id,user_email,attended,registered_at,attended_at";
+
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository attendeeRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Checks that an event exists before the export response is committed, so a
+     * missing event is still reported as a 404.
+     *
+     * @param eventId the UUID of the event
+     * @throws EventNotFoundException if the event does not exist
+     */
+    public void requireEvent(UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException("Event with id " + eventId + " is not found");
+        }
+    }
+
+    /**
+     * Writes all participants of an event to the given stream. The stream is
+     * flushed but not closed.
+     *
+     * @param eventId the UUID of the event
+     * @param format  the output format
+     * @param out     the stream to write to
+     * @return number of participants written
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long writeParticipants(UUID eventId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter json = objectMapper.writerFor(EventAttendeeResponse.class);
+        long rows = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try (Stream<EventAttendeeResponse> attendees = attendeeRepository.streamByEventId(eventId)) {
+            Iterator<EventAttendeeResponse> it = attendees.iterator();
+            while (it.hasNext()) {
+                EventAttendeeResponse attendee = it.next();
+                writer.write(format == ExportFormat.CSV ? toCsv(attendee) : json.writeValueAsString(attendee));
+                writer.write('\n');
+                rows++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} participant(s) of event {} as {}", rows, eventId, format);
+        return rows;
+    }
+
+    private static String toCsv(EventAttendeeResponse attendee) {
+        return String.join(",",
+                String.valueOf(attendee.getId()),
+                String.valueOf(attendee.getUserId()),
+                csvField(attendee.getUserEmail()),
+                String.valueOf(attendee.isAttended()),
+                timestamp(attendee.getRegisteredAt()),
+                timestamp(attendee.getAttendedAt()));
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Quotes a free-text field when needed (RFC 4180) and neutralises leading
+     * characters that spreadsheet applications would evaluate as a formula.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,159 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index from QR token to event for events in ONGOING status.
+ * <p>
+ * Attendance scans arrive in bursts at the start of an event, and every scan
+ * used to resolve its token with a database query. This index keeps a detached
+ * snapshot of each ongoing event so token resolution is memory-only after the
+ * first scan. Only ONGOING events are indexed, since scans for any other status
+ * are rejected anyway.
+ * </p>
+ * <p>
+ * Entries are evicted when the event is updated or deleted through this
+ * service, when it reaches its end time, and after a maximum age so changes
+ * made on another replica are picked up. Events that
+ * {@link EventStatusScheduler} starts on this replica are indexed right away,
+ * so the first scans of an event do not all miss at once.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+public class QrTokenIndex {
+
+    private final EventRepository eventRepository;
+    private final long maxAgeMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public QrTokenIndex(EventRepository eventRepository,
+            @Value("${events.qr-index.max-age-ms:60000}") long maxAgeMillis) {
+        this.eventRepository = eventRepository;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Resolves a QR token to its event, from memory when possible.
+     * <p>
+     * On a miss the event is loaded from the database and, if it is ONGOING,
+     * indexed for subsequent scans.
+     * </p>
+     *
+     * @param qrToken the scanned QR token
+     * @return the event for the token, or empty if no event has this token
+     */
+    public Optional<Event> resolve(String qrToken) {
+        if (qrToken == null) {
+            return Optional.empty();
+        }
+
+        Entry cached = entries.get(qrToken);
+        if (cached != null) {
+            if (cached.isFresh(LocalDateTime.now(), maxAgeMillis)) {
+                return Optional.of(cached.event());
+            }
+            entries.remove(qrToken, cached);
+        }
+
+        Optional<Event> loaded = eventRepository.findByQrToken(qrToken);
+        loaded.filter(e -> e.getStatus() == EventStatus.ONGOING)
+                .ifPresent(e -> entries.put(qrToken,
+                        new Entry(snapshotOf(e, e.getStatus()), System.currentTimeMillis())));
+        return loaded;
+    }
+
+    /**
+     * Drops the entry for an event, e.g. after it was updated, deleted, closed or
+     * had its token rotated.
+     *
+     * @param eventId the UUID of the event
+     */
+    public void evict(UUID eventId) {
+        entries.values().removeIf(entry -> entry.event().getId().equals(eventId));
+    }
+
+    /**
+     * Drops every entry. Status transitions update the index through
+     * {@link #onStatusTransition} and edits through {@link #evict}, so nothing
+     * in the service calls this; tests use it to start from an empty index.
+     */
+    public void evictAll() {
+        entries.clear();
+    }
+
+    /**
+     * Indexes events that just became ONGOING and drops events that left it,
+     * once the scheduler's transition has committed.
+     *
+     * @param transition a committed batch of status transitions
+     */
+    @TransactionalEventListener
+    public void onStatusTransition(EventStatusTransition transition) {
+        if (transition.status() == EventStatus.ONGOING) {
+            long now = System.currentTimeMillis();
+            transition.events().stream()
+                    .filter(e -> e.getQrToken() != null)
+                    .forEach(e -> entries.put(e.getQrToken(), new Entry(snapshotOf(e, EventStatus.ONGOING), now)));
+        } else {
+            Set<UUID> ids = transition.eventIds();
+            entries.values().removeIf(entry -> ids.contains(entry.event().getId()));
+        }
+    }
+
+    /**
+     * @return number of indexed tokens
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Periodically removes entries for events that have ended or aged out, so
+     * the index does not hold on to events nobody scans anymore.
+     */
+    @Scheduled(fixedDelayString = "${events.qr-index.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        entries.values().removeIf(entry -> !entry.isFresh(now, maxAgeMillis));
+    }
+
+    /**
+     * Copies the fields a scan needs into a detached event, so the index never
+     * holds a managed entity or its attendee collection.
+     */
+    private static Event snapshotOf(Event event, EventStatus status) {
+        return Event.builder()
+                .id(event.getId())
+                .name(event.getName())
+                .type(event.getType())
+                .status(status)
+                .coins(event.getCoins())
+                .startDateTime(event.getStartDateTime())
+                .endDateTime(event.getEndDateTime())
+                .qrToken(event.getQrToken())
+                .build();
+    }
+
+    private record Entry(Event event, long indexedAtMillis) {
+
+        boolean isFresh(LocalDateTime now, long maxAgeMillis) {
+            boolean ended = event.getEndDateTime() != null && !now.isBefore(event.getEndDateTime());
+            return !ended && System.currentTimeMillis() - indexedAtMillis < maxAgeMillis;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.greenloop.event_service.services;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.greenloop.event_service.models.SchedulerLease;
+import com.greenloop.event_service.repos.SchedulerLeaseRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases that let exactly one replica run a cluster-wide job.
+ * <p>
+ * A lease is one row in {@code scheduler_leases}. Taking it is a single
+ * conditional UPDATE that only matches when this replica already owns the
+ * row or the previous owner's lease has expired; the first replica to ever
+ * ask inserts the row, and a concurrent insert loses on the primary key. No
+ * row lock is held while the job runs, so a run can outlive its lease; jobs
+ * whose writes must not overlap with the next holder's confirm the lease with
+ * {@link #holdForTransaction} in each of their transactions.
+ * </p>
+ *
+ * @author GreenLoop Team
+ * @version 1.0
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String owner;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository) {
+        this.leaseRepository = leaseRepository;
+        this.owner = System.getenv().getOrDefault("HOSTNAME", "event-service") + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Takes or extends a lease for this replica.
+     *
+     * @param name     the job the lease guards
+     * @param duration how long the lease is held unless released earlier
+     * @return true if this replica now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(duration);
+        if (leaseRepository.tryAcquire(name, owner, now, expiresAt) == 1) {
+            return true;
+        }
+        if (leaseRepository.existsById(name)) {
+            return false;
+        }
+        try {
+            leaseRepository.saveAndFlush(new SchedulerLease(name, owner, expiresAt));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another replica created the row first
+            return false;
+        }
+    }
+
+    /**
+     * Confirms, inside the caller's transaction, that this replica still holds
+     * a lease, and extends it.
+     * <p>
+     * The lease row stays locked until the transaction ends, so no other
+     * replica can take the lease over while the caller's writes are in flight.
+     * A lease that expired without being taken over still counts as held.
+     * </p>
+     *
+     * @param name     the job the lease guards
+     * @param duration how long the lease is extended by, from now
+     * @return false if another replica has taken the lease over
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean holdForTransaction(String name, Duration duration) {
+        return leaseRepository.extend(name, owner, LocalDateTime.now().plus(duration)) == 1;
+    }
+
+    /**
+     * Releases a lease held by this replica so any replica can take the next
+     * run without waiting for it to expire.
+     *
+     * @param name the job the lease guards
+     */
+    public void release(String name) {
+        leaseRepository.release(name, owner, LocalDateTime.now());
+    }
+
+    /**
+     * @return the owner id this replica writes into the leases it holds
+     */
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,60 @@
+package com.greenloop.event_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.greenloop.event_service.dtos.ApiResponse;
+import com.greenloop.event_service.dtos.EventResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@code ApiResponse<List<EventResponse>>}, the body
+ * shape of every list endpoint, with an ObjectMapper configured like the
+ * application's (Java time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApiResponseSerializationBenchmark {
+
+        @Param({ "1000", "10000", "100000" })
+        public int eventCount;
+
+        private ObjectMapper objectMapper;
+        private ObjectWriter writer;
+        private ApiResponse<List<EventResponse>> response;
+
+        @Setup
+        public void setUp() {
+                objectMapper = Jackson2ObjectMapperBuilder.json().build();
+                List<EventResponse> events = BenchmarkData.events(eventCount).stream()
+                                .map(BenchmarkData::toResponse)
+                                .toList();
+                response = ApiResponse.success("Events retrieved successfully", events);
+                writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                                .constructParametricType(ApiResponse.class,
+                                                objectMapper.getTypeFactory().constructCollectionType(List.class,
+                                                                EventResponse.class)));
+        }
+
+        /**
+         * Serializes through {@code writeValueAsBytes}, resolving the serializer
+         * from the runtime type as Spring MVC does.
+         */
+        @Benchmark
+        public byte[] serialize() throws JsonProcessingException {
+                return objectMapper.writeValueAsBytes(response);
+        }
+
+        /**
+         * Serializes with a writer bound to the full generic type, for comparison.
+         */
+        @Benchmark
+        public byte[] serializeWithTypedWriter() throws JsonProcessingException {
+                return writer.writeValueAsBytes(response);
+        }
+}
@@ -0,0 +1,95 @@
+package com.greenloop.event_service.benchmark;
+
+import com.greenloop.event_service.dtos.EventResponse;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Deterministic synthetic event catalogs for the JMH benchmarks, so every run
+ * at a given size measures the same data.
+ */
+final class BenchmarkData {
+
+        static final Comparator<Event> CATALOG_ORDER = Comparator.comparing(Event::getStartDateTime)
+                        .thenComparing(Event::getId);
+
+        private static final EventType[] TYPES = EventType.values();
+        private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+        private BenchmarkData() {
+        }
+
+        /**
+         * Builds {@code count} events sorted like the catalog, spread over about
+         * a year around now. Every 10th event has ended, every 7th is full and
+         * every 4th has unlimited capacity.
+         */
+        static List<Event> events(int count) {
+                Random random = new Random(42);
+                LocalDateTime now = LocalDateTime.now();
+                List<Event> events = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                        LocalDateTime start = i % 10 == 0
+                                        ? now.minusDays(1 + random.nextInt(180))
+                                        : now.plusMinutes(1 + random.nextInt(365 * 24 * 60));
+                        int capacity = i % 4 == 0 ? -1 : 20 + random.nextInt(200);
+                        int attendees = i % 7 == 0 && capacity != -1 ? capacity : random.nextInt(20);
+                        events.add(Event.builder()
+                                        .id(new UUID(random.nextLong(), random.nextLong()))
+                                        .name("Event " + i)
+                                        .description("Community event number " + i + " in the benchmark catalog")
+                                        .type(TYPES[i % TYPES.length])
+                                        .status(EventStatus.REGISTRATION)
+                                        .location("Location " + (i % 50))
+                                        .imageUrl("https://images.example.com/events/" + i + ".png")
+                                        .organizer("Organizer " + (i % 20))
+                                        .capacity(capacity)
+                                        .coins(10 + i % 40)
+                                        .startDateTime(start)
+                                        .endDateTime(start.plusHours(3))
+                                        .qrToken(UUID.randomUUID().toString())
+                                        .qrGeneratedAt(BASE)
+                                        .attendeeCount(attendees)
+                                        .version(i % 5)
+                                        .build());
+                }
+                events.sort(CATALOG_ORDER);
+                return events;
+        }
+
+        static EventResponse toResponse(Event event) {
+                return EventResponse.builder()
+                                .id(event.getId())
+                                .capacity(event.getCapacity())
+                                .coins(event.getCoins())
+                                .description(event.getDescription())
+                                .imageUrl(event.getImageUrl())
+                                .location(event.getLocation())
+                                .name(event.getName())
+                                .organizer(event.getOrganizer())
+                                .startDateTime(event.getStartDateTime())
+                                .endDateTime(event.getEndDateTime())
+                                .type(event.getType().name())
+                                .status(event.getStatus().name())
+                                .qrToken(event.getQrToken())
+                                .qrGeneratedAt(event.getQrGeneratedAt())
+                                .attendeeCount(event.getAttendeeCount())
+                                .build();
+        }
+
+        /**
+         * Index of the first event after the keyset cursor, or 0 without one.
+         */
+        static int seek(List<Event> sorted, LocalDateTime cursorStart, UUID cursorId) {
+                if (cursorStart == null) {
+                        return 0;
+                }
+                Event key = Event.builder().startDateTime(cursorStart).id(cursorId).build();
+                int index = Collections.binarySearch(sorted, key, CATALOG_ORDER);
+                return index >= 0 ? index + 1 : -index - 1;
+        }
+}
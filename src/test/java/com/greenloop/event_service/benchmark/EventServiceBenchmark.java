@@ -0,0 +1,155 @@
+package com.greenloop.event_service.benchmark;
+
+import com.greenloop.event_service.dtos.EventPageResponse;
+import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventCalendarIndex;
+import com.greenloop.event_service.services.EventService;
+import com.greenloop.event_service.services.EventStatsService;
+import com.greenloop.event_service.services.NotificationPayloadCache;
+import com.greenloop.event_service.services.QrTokenIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Service-side cost of the catalog and joinable-event listings, and of
+ * applying an update request to an event.
+ * <p>
+ * Each operation walks the whole synthetic catalog page by page through
+ * {@link EventService}, so it covers {@code mapToResponse}, the page ETag and
+ * cursor handling for every event. The repository is a stub that seeks into
+ * the sorted dataset the way the keyset queries seek into the index, and for
+ * the joinable listing applies the same filters (not ended, not full, not
+ * joined). Database time is therefore excluded; the numbers track the Java
+ * side only.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventServiceBenchmark {
+
+        private static final int PAGE_SIZE = EventService.MAX_PAGE_SIZE;
+
+        @Param({ "1000", "10000", "100000" })
+        public int eventCount;
+
+        private List<Event> events;
+        private Set<UUID> joined;
+        private EventService eventService;
+        private UUID userId;
+        private UpdateEventRequest updateRequest;
+
+        @Setup
+        public void setUp() {
+                events = BenchmarkData.events(eventCount);
+                userId = UUID.randomUUID();
+                joined = new HashSet<>();
+                for (int i = 0; i < events.size(); i += 5) {
+                        joined.add(events.get(i).getId());
+                }
+
+                EventRepository eventRepository = mock(EventRepository.class, withSettings().stubOnly());
+                when(eventRepository.findEventPage(any(), any(), any(), any(), any(), any(), any()))
+                                .thenAnswer(invocation -> catalogPage(invocation.getArgument(4),
+                                                invocation.getArgument(5), invocation.getArgument(6)));
+                when(eventRepository.findJoinableEventPage(any(), any(), any(), any(), any()))
+                                .thenAnswer(invocation -> joinablePage(invocation.getArgument(1),
+                                                invocation.getArgument(2), invocation.getArgument(3),
+                                                invocation.getArgument(4)));
+
+                eventService = new EventService(eventRepository,
+                                mock(EventAttendeeRepository.class, withSettings().stubOnly()),
+                                mock(EventStatsService.class, withSettings().stubOnly()),
+                                mock(QrTokenIndex.class, withSettings().stubOnly()),
+                                mock(NotificationPayloadCache.class, withSettings().stubOnly()),
+                                mock(EventCalendarIndex.class, withSettings().stubOnly()));
+
+                updateRequest = UpdateEventRequest.builder()
+                                .name("Renamed Event")
+                                .description("Updated description")
+                                .type("workshop")
+                                .status("registration")
+                                .location("Town Hall")
+                                .organizer("GreenLoop")
+                                .capacity(150)
+                                .coins(25)
+                                .startDateTime(LocalDateTime.of(2026, 6, 1, 9, 0))
+                                .endDateTime(LocalDateTime.of(2026, 6, 1, 12, 0))
+                                .build();
+        }
+
+        /**
+         * Pages through the full catalog via {@code GET /api/events}.
+         */
+        @Benchmark
+        public int catalogWalk(Blackhole blackhole) {
+                int seen = 0;
+                String cursor = null;
+                do {
+                        EventPageResponse page = eventService.getEvents(null, null, null, null, cursor, PAGE_SIZE);
+                        blackhole.consume(page);
+                        seen += page.getEvents().size();
+                        cursor = page.getNextCursor();
+                } while (cursor != null);
+                return seen;
+        }
+
+        /**
+         * Pages through every event the user can still join via
+         * {@code upcomingNotJoinedEventsForUser}.
+         */
+        @Benchmark
+        public int joinableWalk(Blackhole blackhole) {
+                int seen = 0;
+                String cursor = null;
+                do {
+                        EventPageResponse page = eventService.upcomingNotJoinedEventsForUser(userId, cursor,
+                                        PAGE_SIZE);
+                        blackhole.consume(page);
+                        seen += page.getEvents().size();
+                        cursor = page.getNextCursor();
+                } while (cursor != null);
+                return seen;
+        }
+
+        /**
+         * Applies the same full update request to every event in the dataset.
+         */
+        @Benchmark
+        public void updateFromRequest(Blackhole blackhole) {
+                for (Event event : events) {
+                        blackhole.consume(event.updateFromRequest(updateRequest));
+                }
+        }
+
+        private List<Event> catalogPage(LocalDateTime cursorStart, UUID cursorId, Pageable pageable) {
+                int from = BenchmarkData.seek(events, cursorStart, cursorId);
+                int to = Math.min(events.size(), from + pageable.getPageSize());
+                return events.subList(from, to);
+        }
+
+        private List<Event> joinablePage(LocalDateTime now, LocalDateTime cursorStart, UUID cursorId,
+                        Pageable pageable) {
+                List<Event> page = new ArrayList<>(pageable.getPageSize());
+                for (int i = BenchmarkData.seek(events, cursorStart, cursorId); i < events.size()
+                                && page.size() < pageable.getPageSize(); i++) {
+                        Event event = events.get(i);
+                        boolean open = event.getCapacity() == -1 || event.getAttendeeCount() < event.getCapacity();
+                        if (event.getEndDateTime().isAfter(now) && open && !joined.contains(event.getId())) {
+                                page.add(event);
+                        }
+                }
+                return page;
+        }
+}
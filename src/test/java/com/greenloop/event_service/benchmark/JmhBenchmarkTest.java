@@ -0,0 +1,50 @@
+package com.greenloop.event_service.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the JMH benchmarks in this package at 1k, 10k and 100k events and
+ * writes the results to {@code target/jmh-result.json}, so runs can be
+ * compared before a release.
+ * <p>
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=JmhBenchmarkTest}; excluded
+ * from the default build. Narrow a run with {@code -Djmh.include=<regex>}
+ * (e.g. {@code EventServiceBenchmark.catalogWalk}) and
+ * {@code -Djmh.eventCount=1000,10000}.
+ * </p>
+ */
+@Tag("benchmark")
+class JmhBenchmarkTest {
+
+        @Test
+        void runBenchmarks() throws Exception {
+                Options options = new OptionsBuilder()
+                                .include(System.getProperty("jmh.include",
+                                                getClass().getPackageName() + "\\..*Benchmark\\."))
+                                .param("eventCount", System.getProperty("jmh.eventCount", "1000,10000,100000")
+                                                .split(","))
+                                .forks(Integer.getInteger("jmh.forks", 1))
+                                .warmupIterations(3)
+                                .warmupTime(TimeValue.seconds(1))
+                                .measurementIterations(5)
+                                .measurementTime(TimeValue.seconds(1))
+                                .resultFormat(ResultFormatType.JSON)
+                                .result("target/jmh-result.json")
+                                .build();
+
+                Collection<RunResult> results = new Runner(options).run();
+
+                assertThat(results).isNotEmpty();
+        }
+}
@@ -0,0 +1,79 @@
+package com.greenloop.event_service.benchmark;
+
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import com.greenloop.event_service.services.MessageOutbox;
+import com.greenloop.event_service.services.NotificationPayloadCache;
+import com.greenloop.event_service.services.NotificationPublisher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Cost of building notification messages through {@link NotificationPublisher}
+ * up to the outbox row, with the real JSON converter, payload cache and
+ * {@link MessageOutbox}; only the repository save is stubbed out.
+ * <p>
+ * {@code confirmationsAcrossEvents} sends one confirmation per event, so once
+ * the dataset exceeds the payload cache size most calls rebuild the event
+ * template. {@code confirmationsForOneEvent} sends the same number of
+ * confirmations for a single event, the registration-surge case the cache is
+ * built for. {@code attendances} serializes a full message per call.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NotificationPublisherBenchmark {
+
+        @Param({ "1000", "10000", "100000" })
+        public int eventCount;
+
+        private List<Event> events;
+        private List<String> emails;
+        private NotificationPublisher publisher;
+
+        @Setup
+        public void setUp() {
+                events = BenchmarkData.events(eventCount);
+                emails = new ArrayList<>(eventCount);
+                for (int i = 0; i < eventCount; i++) {
+                        emails.add("user" + i + "@example.com");
+                }
+
+                MessageConverter converter = new Jackson2JsonMessageConverter();
+                MessageOutbox outbox = new MessageOutbox(
+                                mock(OutboxMessageRepository.class, withSettings().stubOnly()), converter);
+                publisher = new NotificationPublisher(outbox, new NotificationPayloadCache(converter, 1000));
+                ReflectionTestUtils.setField(publisher, "notificationExchange", "notifications.topic");
+        }
+
+        @Benchmark
+        public void confirmationsAcrossEvents() {
+                for (int i = 0; i < eventCount; i++) {
+                        publisher.publishEventConfirmation(emails.get(i), events.get(i));
+                }
+        }
+
+        @Benchmark
+        public void confirmationsForOneEvent() {
+                Event event = events.get(0);
+                for (int i = 0; i < eventCount; i++) {
+                        publisher.publishEventConfirmation(emails.get(i), event);
+                }
+        }
+
+        @Benchmark
+        public void attendances() {
+                for (int i = 0; i < eventCount; i++) {
+                        Event event = events.get(i);
+                        publisher.publishEventAttendance(emails.get(i), event.getName(), event.getCoins());
+                }
+        }
+}
@@ -0,0 +1,133 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.dtos.ScanRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.AttendanceCheckInService;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventMessagePublisher;
+import com.greenloop.event_service.services.NotificationPublisher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Throughput comparison of per-scan transactions
+ * ({@link EventAttendeeService#markAttendanceByToken}) against the batched
+ * {@link AttendanceCheckInService} pipeline, on the production pool size of two
+ * connections.
+ * <p>
+ * Run with {@code ./mvnw test -Pbenchmark}; excluded from the default build.
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:checkin-benchmark;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.maximum-pool-size=2",
+                "spring.datasource.hikari.connection-timeout=60000",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false"
+})
+class AttendanceCheckInBenchmarkTest {
+
+        private static final int SCANS_PER_PATH = 2000;
+        private static final int THREADS = 64;
+
+        @Autowired
+        private EventAttendeeService attendeeService;
+
+        @Autowired
+        private AttendanceCheckInService checkInService;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        @MockitoBean
+        private EventMessagePublisher messagePublisher;
+
+        @Test
+        void compareDirectAndBatchedCheckIn() throws Exception {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Benchmark Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.ONGOING)
+                                .capacity(-1)
+                                .coins(10)
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+
+                List<UUID> users = new ArrayList<>();
+                List<EventAttendee> attendees = new ArrayList<>();
+                for (int i = 0; i < SCANS_PER_PATH * 2; i++) {
+                        UUID userId = UUID.randomUUID();
+                        users.add(userId);
+                        attendees.add(EventAttendee.builder().userId(userId).userEmail(i + "@example.com")
+                                        .event(event).build());
+                }
+                attendeeRepository.saveAll(attendees);
+
+                ScanRequest scan = new ScanRequest();
+                scan.setQrToken(event.getQrToken());
+
+                double direct = run("markAttendanceByToken", users.subList(0, SCANS_PER_PATH),
+                                user -> attendeeService.markAttendanceByToken(scan, user, "u@example.com"));
+                double batched = run("AttendanceCheckInService", users.subList(SCANS_PER_PATH, users.size()),
+                                user -> checkInService.checkIn(scan, user, "u@example.com"));
+
+                System.out.printf("check-in throughput: direct=%.0f scans/s, batched=%.0f scans/s (x%.2f)%n",
+                                direct, batched, batched / direct);
+
+                assertThat(attendeeRepository.findAll()).allMatch(EventAttendee::isAttended);
+        }
+
+        private double run(String label, List<UUID> users, Consumer<UUID> scanAction) throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        for (UUID user : users) {
+                                futures.add(pool.submit(() -> {
+                                        start.await();
+                                        scanAction.accept(user);
+                                        return null;
+                                }));
+                        }
+                        long began = System.nanoTime();
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(5, TimeUnit.MINUTES);
+                        }
+                        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+                        System.out.printf("%s: %d scans in %.2fs%n", label, users.size(), seconds);
+                        return users.size() / seconds;
+                } finally {
+                        pool.shutdownNow();
+                }
+        }
+}
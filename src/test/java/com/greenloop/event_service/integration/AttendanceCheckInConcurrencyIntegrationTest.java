@@ -0,0 +1,139 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.dtos.ScanRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.exceptions.AttendanceAlreadyMarkedException;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.AttendanceCheckInService;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventMessagePublisher;
+import com.greenloop.event_service.services.NotificationPublisher;
+import com.greenloop.event_service.services.QrTokenIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs two check-in pipelines, as on two replicas, against one database and
+ * scans the same attendee on both while the first batch is still open.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:checkin-concurrency;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.maximum-pool-size=4",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false"
+})
+class AttendanceCheckInConcurrencyIntegrationTest {
+
+        @Autowired
+        private EventAttendeeService attendeeService;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private QrTokenIndex qrTokenIndex;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        @MockitoBean
+        private EventMessagePublisher messagePublisher;
+
+        @AfterEach
+        void cleanUp() {
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void sameAttendeeFlushedOnTwoReplicas_isPublishedOnce() throws Exception {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Beach Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.ONGOING)
+                                .capacity(-1)
+                                .coins(20)
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                UUID userId = UUID.randomUUID();
+                attendeeRepository.save(EventAttendee.builder().userId(userId).userEmail("a@example.com")
+                                .event(event).build());
+                ScanRequest scan = new ScanRequest();
+                scan.setQrToken(event.getQrToken());
+
+                // Hold the first batch open, after its UPDATE, until the second one has started
+                CountDownLatch firstPublishing = new CountDownLatch(1);
+                CountDownLatch releaseFirst = new CountDownLatch(1);
+                doAnswer(invocation -> {
+                        firstPublishing.countDown();
+                        releaseFirst.await(10, TimeUnit.SECONDS);
+                        return null;
+                }).when(messagePublisher).publishEventParticipation(any(), any(), anyInt());
+
+                AttendanceCheckInService replicaA = pipeline();
+                AttendanceCheckInService replicaB = pipeline();
+                ExecutorService pool = Executors.newFixedThreadPool(2);
+                try {
+                        Future<EventAttendeeResponse> first = pool.submit(
+                                        () -> replicaA.checkIn(scan, userId, "a@example.com"));
+                        assertThat(firstPublishing.await(5, TimeUnit.SECONDS)).isTrue();
+
+                        Future<EventAttendeeResponse> second = pool.submit(
+                                        () -> replicaB.checkIn(scan, userId, "a@example.com"));
+                        // Give the second batch time to reach the attendee row
+                        Thread.sleep(300);
+                        releaseFirst.countDown();
+
+                        assertThat(first.get(10, TimeUnit.SECONDS).isAttended()).isTrue();
+                        assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS))
+                                        .hasCauseInstanceOf(AttendanceAlreadyMarkedException.class);
+                } finally {
+                        releaseFirst.countDown();
+                        pool.shutdownNow();
+                        replicaA.stop();
+                        replicaB.stop();
+                }
+
+                verify(messagePublisher, times(1)).publishEventParticipation(any(), eq(userId), anyInt());
+                verify(notificationPublisher, times(1)).publishEventAttendance(any(), any(), anyInt());
+        }
+
+        private AttendanceCheckInService pipeline() {
+                AttendanceCheckInService pipeline = new AttendanceCheckInService(attendeeService, attendeeRepository,
+                                qrTokenIndex, messagePublisher, notificationPublisher, transactionManager, true, 100,
+                                50, 1, 10000, 1);
+                pipeline.start();
+                return pipeline;
+        }
+}
@@ -0,0 +1,170 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.config.Bulkhead;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.enums.TrafficClass;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import com.greenloop.event_service.services.NotificationPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Saturates the browse traffic class with requests that hold their database
+ * connection, on the default two-connection pool, and checks that a QR scan
+ * still goes through at once.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:connection-bulkheads;MODE=PostgreSQL;LOCK_TIMEOUT=30000;"
+                                + "DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.maximum-pool-size=2",
+                "spring.datasource.hikari.connection-timeout=250",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "events.outbox.relay-interval-ms=3600000"
+})
+class ConnectionBulkheadIntegrationTest {
+
+        private static final long BROWSE_HOLD_MILLIS = 3000;
+
+        private static final CountDownLatch BROWSING = new CountDownLatch(1);
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private OutboxMessageRepository outboxRepository;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        @AfterEach
+        void cleanUp() {
+                outboxRepository.deleteAll();
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void saturatedBrowseTraffic_doesNotDelayScan() throws Exception {
+                Event ongoing = eventRepository.save(Event.builder()
+                                .name("Beach Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.ONGOING)
+                                .capacity(-1)
+                                .coins(20)
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                UUID userId = UUID.randomUUID();
+                attendeeRepository.save(EventAttendee.builder().userId(userId).userEmail("a@example.com")
+                                .event(ongoing).build());
+
+                ExecutorService browsers = Executors.newFixedThreadPool(5);
+                try {
+                        List<Future<Integer>> browses = new ArrayList<>();
+                        for (int i = 0; i < 5; i++) {
+                                browses.add(browsers.submit(() -> mockMvc.perform(get("/api/test/slow-browse"))
+                                                .andReturn().getResponse().getStatus()));
+                        }
+                        assertThat(BROWSING.await(5, TimeUnit.SECONDS)).isTrue();
+
+                        long start = System.nanoTime();
+                        mockMvc.perform(post("/api/events/scan")
+                                        .header("X-User-ID", userId.toString())
+                                        .header("X-User-Email", "a@example.com")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"qrToken\":\"" + ongoing.getQrToken() + "\"}"))
+                                        .andExpect(status().isOk());
+                        long scanMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                        // Well before the browse request holding a connection lets go of it
+                        assertThat(scanMillis).isLessThan(BROWSE_HOLD_MILLIS / 2);
+
+                        List<Integer> statuses = new ArrayList<>();
+                        for (Future<Integer> browse : browses) {
+                                statuses.add(browse.get(10, TimeUnit.SECONDS));
+                        }
+                        // One browse request got the class's only connection, the rest were turned away
+                        assertThat(statuses).containsOnlyOnce(200).contains(429);
+                } finally {
+                        browsers.shutdownNow();
+                }
+        }
+
+        @TestConfiguration
+        static class SlowBrowseConfig {
+
+                @Bean
+                SlowBrowseController slowBrowseController(PlatformTransactionManager transactionManager,
+                                JdbcTemplate jdbcTemplate) {
+                        return new SlowBrowseController(transactionManager, jdbcTemplate);
+                }
+        }
+
+        @RestController
+        static class SlowBrowseController {
+
+                private final TransactionTemplate readOnly;
+                private final JdbcTemplate jdbcTemplate;
+
+                SlowBrowseController(PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate) {
+                        this.readOnly = new TransactionTemplate(transactionManager);
+                        this.readOnly.setReadOnly(true);
+                        this.jdbcTemplate = jdbcTemplate;
+                }
+
+                // A browse request that keeps its connection, like a slow catalog query
+                @GetMapping("/api/test/slow-browse")
+                @Bulkhead(TrafficClass.BROWSE)
+                String slowBrowse() {
+                        return readOnly.execute(status -> {
+                                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                                BROWSING.countDown();
+                                try {
+                                        Thread.sleep(BROWSE_HOLD_MILLIS);
+                                } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                }
+                                return "ok";
+                        });
+                }
+        }
+}
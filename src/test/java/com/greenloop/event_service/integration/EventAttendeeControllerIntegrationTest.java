@@ -1,8 +1,14 @@
 package com.greenloop.event_service.integration;
 
 import com.greenloop.event_service.controllers.EventAttendeeController;
+import com.greenloop.event_service.dtos.BulkRegistrationResponse;
+import com.greenloop.event_service.dtos.BulkRegistrationResult;
 import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.enums.ExportFormat;
+import com.greenloop.event_service.enums.RegistrationOutcome;
+import com.greenloop.event_service.exceptions.EventNotFoundException;
 import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.ParticipantExportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +18,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -32,13 +42,16 @@ class EventAttendeeControllerIntegrationTest {
         @Autowired
         private EventAttendeeService attendeeService;
 
+        @Autowired
+        private ParticipantExportService exportService;
+
         private static final UUID EVENT_ID = UUID.randomUUID();
         private static final UUID USER_ID = UUID.randomUUID();
         private static final String USER_EMAIL = "test@example.com";
 
         @BeforeEach
         void resetMocks() {
-                org.mockito.Mockito.reset(attendeeService);
+                org.mockito.Mockito.reset(attendeeService, exportService);
         }
 
         @Test
@@ -130,11 +143,127 @@ class EventAttendeeControllerIntegrationTest {
                 verify(attendeeService).deregisterAttendee(EVENT_ID, USER_ID);
         }
 
+        @Test
+        void registerAttendees_AsAdmin_ReturnsPerUserOutcomes() throws Exception {
+                UUID other = UUID.randomUUID();
+                BulkRegistrationResponse response = BulkRegistrationResponse.builder()
+                                .eventId(EVENT_ID)
+                                .registered(1)
+                                .full(1)
+                                .results(List.of(
+                                                BulkRegistrationResult.builder().userId(USER_ID)
+                                                                .outcome(RegistrationOutcome.REGISTERED).build(),
+                                                BulkRegistrationResult.builder().userId(other)
+                                                                .outcome(RegistrationOutcome.FULL).build()))
+                                .build();
+                when(attendeeService.registerAttendees(eq(EVENT_ID), any())).thenReturn(response);
+
+                mockMvc.perform(post("/api/events/{eventId}/register/bulk", EVENT_ID)
+                                .header("X-User-Role", "ADMIN")
+                                .contentType("application/json")
+                                .content("{\"attendees\":[{\"userId\":\"" + USER_ID + "\",\"email\":\"" + USER_EMAIL
+                                                + "\"},{\"userId\":\"" + other + "\",\"email\":\"b@example.com\"}]}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.registered").value(1))
+                                .andExpect(jsonPath("$.data.full").value(1))
+                                .andExpect(jsonPath("$.data.results[0].outcome").value("REGISTERED"))
+                                .andExpect(jsonPath("$.data.results[1].outcome").value("FULL"));
+
+                verify(attendeeService).registerAttendees(eq(EVENT_ID), argThat(registrants -> registrants.size() == 2
+                                && registrants.get(0).getUserId().equals(USER_ID)
+                                && registrants.get(0).getEmail().equals(USER_EMAIL)));
+        }
+
+        @Test
+        void registerAttendees_AsNonAdmin_ThrowsException() throws Exception {
+                mockMvc.perform(post("/api/events/{eventId}/register/bulk", EVENT_ID)
+                                .header("X-User-Role", "USER")
+                                .contentType("application/json")
+                                .content("{\"attendees\":[]}"))
+                                .andExpect(status().isForbidden());
+
+                verify(attendeeService, never()).registerAttendees(any(), any());
+        }
+
+        @Test
+        void exportEventAttendees_AsAdmin_StreamsNdjson() throws Exception {
+                doAnswer(invocation -> {
+                        OutputStream out = invocation.getArgument(2);
+                        out.write(("{\"userId\":\"" + USER_ID + "\"}\n").getBytes(StandardCharsets.UTF_8));
+                        return 1L;
+                }).when(exportService).writeParticipants(eq(EVENT_ID), eq(ExportFormat.NDJSON), any());
+
+                MvcResult started = mockMvc.perform(get("/api/events/{eventId}/participants/export", EVENT_ID)
+                                .header("X-User-Role", "ADMIN"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson"))
+                                .andExpect(header().string("Content-Disposition",
+                                                "attachment; filename=\"participants-" + EVENT_ID + ".ndjson\""))
+                                .andExpect(content().string("{\"userId\":\"" + USER_ID + "\"}\n"));
+
+                verify(exportService).requireEvent(EVENT_ID);
+        }
+
+        @Test
+        void exportEventAttendees_CsvFormat_UsesCsvContentType() throws Exception {
+                MvcResult started = mockMvc.perform(get("/api/events/{eventId}/participants/export", EVENT_ID)
+                                .header("X-User-Role", "ADMIN")
+                                .param("format", "CSV"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("text/csv"));
+
+                verify(exportService).writeParticipants(eq(EVENT_ID), eq(ExportFormat.CSV), any());
+        }
+
+        @Test
+        void exportEventAttendees_UnknownFormat_ReturnsBadRequest() throws Exception {
+                mockMvc.perform(get("/api/events/{eventId}/participants/export", EVENT_ID)
+                                .header("X-User-Role", "ADMIN")
+                                .param("format", "xml"))
+                                .andExpect(status().isBadRequest());
+
+                verifyNoInteractions(exportService);
+        }
+
+        @Test
+        void exportEventAttendees_EventNotFound_ReturnsNotFound() throws Exception {
+                doThrow(new EventNotFoundException("Event with id " + EVENT_ID + " is not found"))
+                                .when(exportService).requireEvent(EVENT_ID);
+
+                mockMvc.perform(get("/api/events/{eventId}/participants/export", EVENT_ID)
+                                .header("X-User-Role", "ADMIN"))
+                                .andExpect(status().isNotFound());
+
+                verify(exportService, never()).writeParticipants(any(), any(), any());
+        }
+
+        @Test
+        void exportEventAttendees_AsNonAdmin_ThrowsException() throws Exception {
+                mockMvc.perform(get("/api/events/{eventId}/participants/export", EVENT_ID)
+                                .header("X-User-Role", "USER"))
+                                .andExpect(status().isForbidden());
+
+                verifyNoInteractions(exportService);
+        }
+
         @TestConfiguration
         static class TestConfig {
                 @Bean
                 EventAttendeeService attendeeService() {
                         return org.mockito.Mockito.mock(EventAttendeeService.class);
                 }
+
+                @Bean
+                ParticipantExportService exportService() {
+                        return org.mockito.Mockito.mock(ParticipantExportService.class);
+                }
         }
 }
\ No newline at end of file
@@ -2,12 +2,29 @@ package com.greenloop.event_service.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.greenloop.event_service.controllers.EventController;
+import com.greenloop.event_service.dtos.CalendarDayResponse;
+import com.greenloop.event_service.dtos.CalendarEventResponse;
 import com.greenloop.event_service.dtos.CreateEventRequest;
+import com.greenloop.event_service.dtos.EventCalendarResponse;
+import com.greenloop.event_service.dtos.EventPageResponse;
 import com.greenloop.event_service.dtos.EventResponse;
+import com.greenloop.event_service.dtos.EventStatsResponse;
+import com.greenloop.event_service.dtos.EventVersion;
 import com.greenloop.event_service.dtos.UpdateEventRequest;
-import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.dtos.UserEventResponse;
+import com.greenloop.event_service.dtos.UserEventsResponse;
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.dtos.ScanRequest;
+import com.greenloop.event_service.exceptions.AttendanceAlreadyMarkedException;
+import com.greenloop.event_service.services.AttendanceCheckInService;
 import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.exceptions.InvalidCursorException;
+import com.greenloop.event_service.exceptions.InvalidFilterException;
+import com.greenloop.event_service.exceptions.InvalidDateRangeException;
+import com.greenloop.event_service.services.EventCalendarIndex;
 import com.greenloop.event_service.services.EventService;
+import com.greenloop.event_service.services.EventStatsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +36,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -51,13 +69,19 @@ class EventControllerIntegrationTest {
         private EventService eventService;
 
         @Autowired
-        private EventAttendeeService attendeeService;
+        private AttendanceCheckInService checkInService;
+
+        @Autowired
+        private EventStatsService statsService;
+
+        @Autowired
+        private EventCalendarIndex calendarIndex;
 
         private static final UUID EVENT_ID = UUID.randomUUID();
 
         @BeforeEach
         void resetMocks() {
-                org.mockito.Mockito.reset(eventService, attendeeService);
+                org.mockito.Mockito.reset(eventService, checkInService, statsService, calendarIndex);
         }
 
         @Test
@@ -169,23 +193,68 @@ class EventControllerIntegrationTest {
 
         @Test
         void getAllEvents_Success() throws Exception {
-                List<EventResponse> responses = List.of(
-                                EventResponse.builder()
+                EventPageResponse page = EventPageResponse.builder()
+                                .events(List.of(EventResponse.builder()
                                                 .id(EVENT_ID)
                                                 .name("Community Cleanup")
                                                 .capacity(50)
-                                                .build());
+                                                .build()))
+                                .nextCursor("next-cursor")
+                                .hasNext(true)
+                                .build();
 
-                when(eventService.getAllEvents()).thenReturn(responses);
+                when(eventService.getEvents(isNull(), isNull(), isNull(), isNull(), isNull(), eq(20)))
+                                .thenReturn(page);
 
                 mockMvc.perform(get("/api/events")
                                 .contentType(MediaType.APPLICATION_JSON))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.success").value(true))
                                 .andExpect(jsonPath("$.message").value("Events retrieved successfully"))
-                                .andExpect(jsonPath("$.data[0].name").value("Community Cleanup"));
+                                .andExpect(jsonPath("$.data.events[0].name").value("Community Cleanup"))
+                                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"))
+                                .andExpect(jsonPath("$.data.hasNext").value(true));
+
+                verify(eventService).getEvents(isNull(), isNull(), isNull(), isNull(), isNull(), eq(20));
+        }
+
+        @Test
+        void getAllEvents_WithFiltersAndCursor() throws Exception {
+                LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+                LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+                when(eventService.getEvents(any(), any(), any(), any(), any(), anyInt()))
+                                .thenReturn(EventPageResponse.builder().events(List.of()).build());
 
-                verify(eventService).getAllEvents();
+                mockMvc.perform(get("/api/events")
+                                .param("status", "REGISTRATION")
+                                .param("type", "WORKSHOP")
+                                .param("from", "2025-01-01T00:00:00")
+                                .param("to", "2025-02-01T00:00:00")
+                                .param("cursor", "abc")
+                                .param("size", "50"))
+                                .andExpect(status().isOk());
+
+                verify(eventService).getEvents("REGISTRATION", "WORKSHOP", from, to, "abc", 50);
+        }
+
+        @Test
+        void getAllEvents_InvalidCursor_ReturnsBadRequest() throws Exception {
+                when(eventService.getEvents(any(), any(), any(), any(), eq("bad"), anyInt()))
+                                .thenThrow(new InvalidCursorException("Invalid page cursor"));
+
+                mockMvc.perform(get("/api/events").param("cursor", "bad"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        @Test
+        void getAllEvents_InvalidStatus_ReturnsBadRequest() throws Exception {
+                when(eventService.getEvents(eq("bogus"), any(), any(), any(), any(), anyInt()))
+                                .thenThrow(new InvalidFilterException("Invalid status 'bogus'"));
+
+                mockMvc.perform(get("/api/events").param("status", "bogus"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.success").value(false));
         }
 
         @Test
@@ -193,6 +262,7 @@ class EventControllerIntegrationTest {
                 EventResponse response = EventResponse.builder()
                                 .id(EVENT_ID)
                                 .name("Beach Cleanup")
+                                .version(eventVersion(3))
                                 .build();
 
                 when(eventService.getEventById(EVENT_ID)).thenReturn(response);
@@ -202,53 +272,199 @@ class EventControllerIntegrationTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.success").value(true))
                                 .andExpect(jsonPath("$.message").value("Event retrieved successfully"))
+                                .andExpect(jsonPath("$.data.name").value("Beach Cleanup"))
+                                .andExpect(header().string("ETag", "\"" + EVENT_ID + "-3\""))
+                                .andExpect(header().exists("Last-Modified"))
+                                .andExpect(jsonPath("$.data.version").doesNotExist());
+
+                // Without a validator there is nothing to answer early
+                verify(eventService, never()).getEventVersion(any());
+        }
+
+        @Test
+        void getEventById_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+                when(eventService.getEventVersion(EVENT_ID)).thenReturn(eventVersion(3));
+
+                mockMvc.perform(get("/api/events/{id}", EVENT_ID)
+                                .header("If-None-Match", "\"" + EVENT_ID + "-3\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", "\"" + EVENT_ID + "-3\""))
+                                .andExpect(content().string(""));
+
+                verify(eventService, never()).getEventById(any());
+        }
+
+        @Test
+        void getEventById_StaleIfNoneMatch_TagsWithLoadedVersion() throws Exception {
+                when(eventService.getEventVersion(EVENT_ID)).thenReturn(eventVersion(4));
+                // Updated again between the version check and the load
+                when(eventService.getEventById(EVENT_ID)).thenReturn(EventResponse.builder()
+                                .id(EVENT_ID)
+                                .name("Beach Cleanup")
+                                .version(eventVersion(5))
+                                .build());
+
+                mockMvc.perform(get("/api/events/{id}", EVENT_ID)
+                                .header("If-None-Match", "\"" + EVENT_ID + "-3\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"" + EVENT_ID + "-5\""))
                                 .andExpect(jsonPath("$.data.name").value("Beach Cleanup"));
+        }
 
-                verify(eventService).getEventById(EVENT_ID);
+        @Test
+        void getEventById_NotModifiedSince_ReturnsNotModified() throws Exception {
+                when(eventService.getEventById(EVENT_ID)).thenReturn(EventResponse.builder()
+                                .id(EVENT_ID)
+                                .version(eventVersion(3))
+                                .build());
+
+                mockMvc.perform(get("/api/events/{id}", EVENT_ID)
+                                .header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+        }
+
+        @Test
+        void getEventById_NotFound_ReturnsNotFound() throws Exception {
+                when(eventService.getEventById(EVENT_ID))
+                                .thenThrow(new EventNotFoundException("Event with id " + EVENT_ID + " is not found"));
+
+                mockMvc.perform(get("/api/events/{id}", EVENT_ID))
+                                .andExpect(status().isNotFound());
+        }
+
+        @Test
+        void getAllEvents_MatchingIfNoneMatch_ReturnsNotModified() throws Exception {
+                when(eventService.getEventsEtag(any(), any(), any(), any(), any(), anyInt())).thenReturn("\"page-1\"");
+                when(eventService.getEvents(any(), any(), any(), any(), any(), anyInt()))
+                                .thenReturn(EventPageResponse.builder().events(List.of()).etag("\"page-1\"").build());
+
+                mockMvc.perform(get("/api/events"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"page-1\""))
+                                .andExpect(jsonPath("$.data.etag").doesNotExist());
+
+                mockMvc.perform(get("/api/events").header("If-None-Match", "\"page-1\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+
+                // The 304 is answered from the ETag alone, which only a conditional request computes
+                verify(eventService, times(1)).getEventsEtag(any(), any(), any(), any(), any(), anyInt());
+                verify(eventService, times(1)).getEvents(any(), any(), any(), any(), any(), anyInt());
+        }
+
+        @Test
+        void getAllEvents_StaleIfNoneMatch_TagsWithLoadedPage() throws Exception {
+                when(eventService.getEventsEtag(any(), any(), any(), any(), any(), anyInt())).thenReturn("\"page-2\"");
+                // An event on the page changed between the ETag query and the page load
+                when(eventService.getEvents(any(), any(), any(), any(), any(), anyInt()))
+                                .thenReturn(EventPageResponse.builder().events(List.of()).etag("\"page-3\"").build());
+
+                mockMvc.perform(get("/api/events").header("If-None-Match", "\"page-1\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"page-3\""));
         }
 
         @Test
         void upcomingEventsForUser_Success() throws Exception {
                 UUID userId = UUID.randomUUID();
-                List<EventResponse> responses = Arrays.asList(
-                                EventResponse.builder()
+                EventPageResponse page = EventPageResponse.builder()
+                                .events(List.of(EventResponse.builder()
                                                 .id(EVENT_ID)
                                                 .name("Upcoming Event")
                                                 .startDateTime(LocalDateTime.now().plusDays(5))
-                                                .build());
+                                                .build()))
+                                .build();
 
-                when(eventService.upcomingEventForUser(userId)).thenReturn(responses);
+                when(eventService.upcomingEventForUser(userId, null, 20)).thenReturn(page);
 
                 mockMvc.perform(get("/api/events/upcoming/joined")
                                 .header("X-User-ID", userId.toString()))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.success").value(true))
-                                .andExpect(jsonPath("$.data").isArray())
-                                .andExpect(jsonPath("$.data[0].name").value("Upcoming Event"));
+                                .andExpect(jsonPath("$.data.events").isArray())
+                                .andExpect(jsonPath("$.data.events[0].name").value("Upcoming Event"));
+
+                verify(eventService).upcomingEventForUser(userId, null, 20);
+        }
+
+        @Test
+        void getUserEvents_Success() throws Exception {
+                UUID userId = UUID.randomUUID();
+                UserEventsResponse response = UserEventsResponse.builder()
+                                .upcoming(List.of(UserEventResponse.builder()
+                                                .event(EventResponse.builder().id(EVENT_ID).name("Upcoming Event")
+                                                                .build())
+                                                .build()))
+                                .past(List.of(UserEventResponse.builder()
+                                                .event(EventResponse.builder().id(UUID.randomUUID())
+                                                                .name("Past Event").build())
+                                                .attended(true)
+                                                .build()))
+                                .build();
+
+                when(eventService.getUserEvents(userId, 10)).thenReturn(response);
+
+                mockMvc.perform(get("/api/events/me")
+                                .header("X-User-ID", userId.toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data.upcoming[0].event.name").value("Upcoming Event"))
+                                .andExpect(jsonPath("$.data.upcoming[0].attended").value(false))
+                                .andExpect(jsonPath("$.data.past[0].event.name").value("Past Event"))
+                                .andExpect(jsonPath("$.data.past[0].attended").value(true));
+
+                verify(eventService).getUserEvents(userId, 10);
+        }
+
+        @Test
+        void upcomingNotJoinedEventsForUser_Success() throws Exception {
+                UUID userId = UUID.randomUUID();
+                EventPageResponse page = EventPageResponse.builder()
+                                .events(List.of(EventResponse.builder()
+                                                .id(EVENT_ID)
+                                                .name("Joinable Event")
+                                                .build()))
+                                .hasNext(false)
+                                .build();
+
+                when(eventService.upcomingNotJoinedEventsForUser(userId, null, 20)).thenReturn(page);
+
+                mockMvc.perform(get("/api/events/upcoming/joinable")
+                                .header("X-User-ID", userId.toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data.events[0].name").value("Joinable Event"))
+                                .andExpect(jsonPath("$.data.hasNext").value(false));
 
-                verify(eventService).upcomingEventForUser(userId);
+                verify(eventService).upcomingNotJoinedEventsForUser(userId, null, 20);
         }
 
         @Test
         void pastEventsForUser_Success() throws Exception {
                 UUID userId = UUID.randomUUID();
-                List<EventResponse> responses = Arrays.asList(
-                                EventResponse.builder()
+                EventPageResponse page = EventPageResponse.builder()
+                                .events(List.of(EventResponse.builder()
                                                 .id(EVENT_ID)
                                                 .name("Past Event")
                                                 .endDateTime(LocalDateTime.now().minusDays(1))
-                                                .build());
+                                                .build()))
+                                .nextCursor("next-cursor")
+                                .hasNext(true)
+                                .build();
 
-                when(eventService.pastEventsForUser(userId)).thenReturn(responses);
+                when(eventService.pastEventsForUser(userId, "abc", 5)).thenReturn(page);
 
                 mockMvc.perform(get("/api/events/past")
-                                .header("X-User-ID", userId.toString()))
+                                .header("X-User-ID", userId.toString())
+                                .param("cursor", "abc")
+                                .param("size", "5"))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.success").value(true))
-                                .andExpect(jsonPath("$.data").isArray())
-                                .andExpect(jsonPath("$.data[0].name").value("Past Event"));
+                                .andExpect(jsonPath("$.data.events[0].name").value("Past Event"))
+                                .andExpect(jsonPath("$.data.nextCursor").value("next-cursor"));
 
-                verify(eventService).pastEventsForUser(userId);
+                verify(eventService).pastEventsForUser(userId, "abc", 5);
         }
 
         @Test
@@ -265,11 +481,92 @@ class EventControllerIntegrationTest {
                 verify(eventService).getAllEventTypes();
         }
 
+        @Test
+        void getCalendar_ReturnsEventsGroupedByDay() throws Exception {
+                LocalDate day = LocalDate.of(2026, 3, 2);
+                CalendarEventResponse event = CalendarEventResponse.builder()
+                                .id(EVENT_ID)
+                                .name("Tree Planting")
+                                .type(EventType.TREE_PLANTING)
+                                .startDateTime(day.atTime(9, 0))
+                                .endDateTime(day.atTime(12, 0))
+                                .build();
+                when(calendarIndex.getCalendar(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 7)))
+                                .thenReturn(EventCalendarResponse.builder()
+                                                .from(LocalDate.of(2026, 3, 1))
+                                                .to(LocalDate.of(2026, 3, 7))
+                                                .total(1)
+                                                .days(List.of(CalendarDayResponse.builder()
+                                                                .date(day)
+                                                                .count(1)
+                                                                .events(List.of(event))
+                                                                .build()))
+                                                .build());
+
+                mockMvc.perform(get("/api/events/calendar")
+                                .param("from", "2026-03-01")
+                                .param("to", "2026-03-07"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.data.total").value(1))
+                                .andExpect(jsonPath("$.data.days[0].date").value("2026-03-02"))
+                                .andExpect(jsonPath("$.data.days[0].events[0].name").value("Tree Planting"));
+        }
+
+        @Test
+        void getCalendar_DefaultsToOneWeekFromToday() throws Exception {
+                LocalDate today = LocalDate.now();
+                when(calendarIndex.getCalendar(today, today.plusDays(6)))
+                                .thenReturn(EventCalendarResponse.builder()
+                                                .from(today)
+                                                .to(today.plusDays(6))
+                                                .days(List.of())
+                                                .build());
+
+                mockMvc.perform(get("/api/events/calendar"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.total").value(0));
+
+                verify(calendarIndex).getCalendar(today, today.plusDays(6));
+        }
+
+        @Test
+        void getCalendar_InvalidRange_ReturnsBadRequest() throws Exception {
+                when(calendarIndex.getCalendar(any(), any()))
+                                .thenThrow(new InvalidDateRangeException("'to' must not be before 'from'"));
+
+                mockMvc.perform(get("/api/events/calendar")
+                                .param("from", "2026-03-07")
+                                .param("to", "2026-03-01"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
         // ==================== ANALYTICS ENDPOINT TESTS ==================== //
 
+        @Test
+        void getStats_Success() throws Exception {
+                when(statsService.getStats()).thenReturn(EventStatsResponse.builder()
+                                .totalOpenEvents(12)
+                                .upcomingEventsNext30Days(5)
+                                .totalParticipantsInOpenEvents(250)
+                                .generatedAt(LocalDateTime.now())
+                                .build());
+
+                mockMvc.perform(get("/api/events/stats"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.message").value("Event stats retrieved successfully"))
+                                .andExpect(jsonPath("$.data.totalOpenEvents").value(12))
+                                .andExpect(jsonPath("$.data.upcomingEventsNext30Days").value(5))
+                                .andExpect(jsonPath("$.data.totalParticipantsInOpenEvents").value(250));
+
+                verify(statsService).getStats();
+        }
+
         @Test
         void getTotalOpenEvents_Success() throws Exception {
-                when(eventService.getTotalOpenEvents()).thenReturn(12L);
+                when(statsService.getTotalOpenEvents()).thenReturn(12L);
 
                 mockMvc.perform(get("/api/events/stats/open/total"))
                                 .andExpect(status().isOk())
@@ -277,12 +574,12 @@ class EventControllerIntegrationTest {
                                 .andExpect(jsonPath("$.message").value("Total event count retrieved successfully"))
                                 .andExpect(jsonPath("$.data").value(12));
 
-                verify(eventService).getTotalOpenEvents();
+                verify(statsService).getTotalOpenEvents();
         }
 
         @Test
         void getUpcomingEventsNext30Days_Success() throws Exception {
-                when(eventService.getUpcomingEventsNext30Days()).thenReturn(5L);
+                when(statsService.getUpcomingEventsNext30Days()).thenReturn(5L);
 
                 mockMvc.perform(get("/api/events/stats/upcoming/30days"))
                                 .andExpect(status().isOk())
@@ -290,12 +587,12 @@ class EventControllerIntegrationTest {
                                 .andExpect(jsonPath("$.message").value("Events retrieved successfully"))
                                 .andExpect(jsonPath("$.data").value(5));
 
-                verify(eventService).getUpcomingEventsNext30Days();
+                verify(statsService).getUpcomingEventsNext30Days();
         }
 
         @Test
         void getTotalParticipantsInOpenEvents_Success() throws Exception {
-                when(eventService.getTotalParticipantsInOpenEvents()).thenReturn(250L);
+                when(statsService.getTotalParticipantsInOpenEvents()).thenReturn(250L);
 
                 mockMvc.perform(get("/api/events/stats/open/participants"))
                                 .andExpect(status().isOk())
@@ -304,7 +601,59 @@ class EventControllerIntegrationTest {
                                                 .value("Total participant count retrieved successfully"))
                                 .andExpect(jsonPath("$.data").value(250));
 
-                verify(eventService).getTotalParticipantsInOpenEvents();
+                verify(statsService).getTotalParticipantsInOpenEvents();
+        }
+
+        @Test
+        void scanAndMarkAttendance_Success() throws Exception {
+                UUID userId = UUID.randomUUID();
+                EventAttendeeResponse response = EventAttendeeResponse.builder()
+                                .id(UUID.randomUUID())
+                                .userId(userId)
+                                .attended(true)
+                                .attendedAt(LocalDateTime.now())
+                                .build();
+                ScanRequest request = new ScanRequest();
+                request.setQrToken("qr-token");
+
+                when(checkInService.checkIn(any(ScanRequest.class), eq(userId), eq("user@example.com")))
+                                .thenReturn(response);
+
+                mockMvc.perform(post("/api/events/scan")
+                                .header("X-User-ID", userId.toString())
+                                .header("X-User-Email", "user@example.com")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.success").value(true))
+                                .andExpect(jsonPath("$.message").value("Attendance marked successfully"))
+                                .andExpect(jsonPath("$.data.attended").value(true));
+        }
+
+        @Test
+        void scanAndMarkAttendance_AlreadyMarked_ReturnsConflict() throws Exception {
+                UUID userId = UUID.randomUUID();
+                ScanRequest request = new ScanRequest();
+                request.setQrToken("qr-token");
+
+                when(checkInService.checkIn(any(ScanRequest.class), eq(userId), any()))
+                                .thenThrow(new AttendanceAlreadyMarkedException("already marked"));
+
+                mockMvc.perform(post("/api/events/scan")
+                                .header("X-User-ID", userId.toString())
+                                .header("X-User-Email", "user@example.com")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        private static EventVersion eventVersion(long version) {
+                return EventVersion.builder()
+                                .id(EVENT_ID)
+                                .version(version)
+                                .updatedAt(LocalDateTime.of(2026, 3, 1, 10, 0))
+                                .build();
         }
 
         @TestConfiguration
@@ -315,8 +664,18 @@ class EventControllerIntegrationTest {
                 }
 
                 @Bean
-                EventAttendeeService attendeeService() {
-                        return org.mockito.Mockito.mock(EventAttendeeService.class);
+                AttendanceCheckInService checkInService() {
+                        return org.mockito.Mockito.mock(AttendanceCheckInService.class);
+                }
+
+                @Bean
+                EventStatsService statsService() {
+                        return org.mockito.Mockito.mock(EventStatsService.class);
+                }
+
+                @Bean
+                EventCalendarIndex calendarIndex() {
+                        return org.mockito.Mockito.mock(EventCalendarIndex.class);
                 }
         }
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.dtos.BulkRegistrationRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.exceptions.EventFullException;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.AttendeeCountReconciler;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventMessagePublisher;
+import com.greenloop.event_service.services.NotificationPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Stress test for seat reservation: fires thousands of parallel registrations,
+ * single and bulk, at a single event against an in-memory database and checks
+ * that the event is never oversold.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:concurrency;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.maximum-pool-size=16",
+                "spring.datasource.hikari.connection-timeout=60000",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                // Measures seat accounting, not admission control
+                "events.registration-limiter.enabled=false"
+})
+class EventRegistrationConcurrencyIntegrationTest {
+
+        private static final int CAPACITY = 50;
+        private static final int REGISTRATIONS = 2000;
+        private static final int THREADS = 32;
+
+        @Autowired
+        private EventAttendeeService attendeeService;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private AttendeeCountReconciler reconciler;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        @MockitoBean
+        private EventMessagePublisher messagePublisher;
+
+        @AfterEach
+        void cleanUp() {
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void registerAttendee_ParallelBurst_NeverExceedsCapacity() throws Exception {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Tree Planting")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(CAPACITY)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                UUID eventId = event.getId();
+
+                AtomicInteger registered = new AtomicInteger();
+                AtomicInteger rejectedFull = new AtomicInteger();
+                List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+                CountDownLatch start = new CountDownLatch(1);
+
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                try {
+                        List<Future<?>> futures = new ArrayList<>();
+                        for (int i = 0; i < REGISTRATIONS; i++) {
+                                futures.add(pool.submit(() -> {
+                                        start.await();
+                                        try {
+                                                attendeeService.registerAttendee(eventId, UUID.randomUUID(),
+                                                                "user@example.com");
+                                                registered.incrementAndGet();
+                                        } catch (EventFullException e) {
+                                                rejectedFull.incrementAndGet();
+                                        } catch (Throwable t) {
+                                                unexpected.add(t);
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(2, TimeUnit.MINUTES);
+                        }
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                assertThat(unexpected).isEmpty();
+                assertThat(registered.get()).isEqualTo(CAPACITY);
+                assertThat(rejectedFull.get()).isEqualTo(REGISTRATIONS - CAPACITY);
+
+                Event stored = eventRepository.findById(eventId).orElseThrow();
+                assertThat(stored.getAttendeeCount()).isEqualTo(CAPACITY);
+                assertThat(stored.getStatus()).isEqualTo(EventStatus.FULL);
+                assertThat(attendeeRepository.count()).isEqualTo(CAPACITY);
+        }
+
+        @Test
+        void deregisterAttendee_FromFullEvent_ReopensRegistration() {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Beach Cleanup")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(1)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                UUID userId = UUID.randomUUID();
+
+                attendeeService.registerAttendee(event.getId(), userId, "user@example.com");
+                assertThat(eventRepository.findById(event.getId()).orElseThrow().getStatus())
+                                .isEqualTo(EventStatus.FULL);
+
+                attendeeService.deregisterAttendee(event.getId(), userId);
+
+                Event stored = eventRepository.findById(event.getId()).orElseThrow();
+                assertThat(stored.getStatus()).isEqualTo(EventStatus.REGISTRATION);
+                assertThat(stored.getAttendeeCount()).isZero();
+        }
+
+        @Test
+        void registerAttendees_BulkRacingSingles_NeverExceedsCapacity() throws Exception {
+                Event event = eventRepository.save(Event.builder()
+                                .name("School Planting Day")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(CAPACITY)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                UUID eventId = event.getId();
+
+                AtomicInteger registered = new AtomicInteger();
+                List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+                CountDownLatch start = new CountDownLatch(1);
+
+                ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+                try {
+                        List<Future<?>> futures = new ArrayList<>();
+                        for (int i = 0; i < 10; i++) {
+                                futures.add(pool.submit(() -> {
+                                        List<BulkRegistrationRequest.Registrant> roster = new ArrayList<>();
+                                        for (int j = 0; j < 20; j++) {
+                                                roster.add(new BulkRegistrationRequest.Registrant(UUID.randomUUID(),
+                                                                "student@example.com"));
+                                        }
+                                        start.await();
+                                        try {
+                                                registered.addAndGet(attendeeService.registerAttendees(eventId, roster)
+                                                                .getRegistered());
+                                        } catch (Throwable t) {
+                                                unexpected.add(t);
+                                        }
+                                        return null;
+                                }));
+                        }
+                        for (int i = 0; i < 100; i++) {
+                                futures.add(pool.submit(() -> {
+                                        start.await();
+                                        try {
+                                                attendeeService.registerAttendee(eventId, UUID.randomUUID(),
+                                                                "user@example.com");
+                                                registered.incrementAndGet();
+                                        } catch (EventFullException e) {
+                                                // expected once the seats are gone
+                                        } catch (Throwable t) {
+                                                unexpected.add(t);
+                                        }
+                                        return null;
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(2, TimeUnit.MINUTES);
+                        }
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                assertThat(unexpected).isEmpty();
+                assertThat(registered.get()).isEqualTo(CAPACITY);
+
+                Event stored = eventRepository.findById(eventId).orElseThrow();
+                assertThat(stored.getAttendeeCount()).isEqualTo(CAPACITY);
+                assertThat(stored.getStatus()).isEqualTo(EventStatus.FULL);
+                assertThat(attendeeRepository.count()).isEqualTo(CAPACITY);
+        }
+
+        @Test
+        void reserveSeat_EventNoLongerOpen_TakesNoSeat() {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Beach Cleanup")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.ONGOING)
+                                .capacity(CAPACITY)
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(1))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+
+                assertThat(eventRepository.reserveSeat(event.getId(), EventStatus.REGISTRATION, EventStatus.FULL))
+                                .isZero();
+                assertThat(eventRepository.reserveSeats(event.getId(), 2, EventStatus.REGISTRATION, EventStatus.FULL))
+                                .isZero();
+                assertThat(eventRepository.findById(event.getId()).orElseThrow().getAttendeeCount()).isZero();
+        }
+
+        @Test
+        void reconcile_SeatBeingTaken_LeavesCounterAlone() throws Exception {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Beach Cleanup")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(CAPACITY)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                // An attendee row without a reserved seat, so the counter has already drifted
+                attendeeRepository.save(EventAttendee.builder()
+                                .userId(UUID.randomUUID())
+                                .userEmail("drifted@example.com")
+                                .event(event)
+                                .build());
+                CountDownLatch reserved = new CountDownLatch(1);
+                CountDownLatch reconciled = new CountDownLatch(1);
+
+                ExecutorService pool = Executors.newFixedThreadPool(2);
+                try {
+                        // A registration between its seat UPDATE and its attendee INSERT
+                        Future<?> registration = pool.submit(() -> new TransactionTemplate(transactionManager)
+                                        .executeWithoutResult(status -> {
+                                                eventRepository.reserveSeat(event.getId(), EventStatus.REGISTRATION,
+                                                                EventStatus.FULL);
+                                                reserved.countDown();
+                                                try {
+                                                        reconciled.await(30, TimeUnit.SECONDS);
+                                                } catch (InterruptedException e) {
+                                                        Thread.currentThread().interrupt();
+                                                }
+                                                attendeeRepository.save(EventAttendee.builder()
+                                                                .userId(UUID.randomUUID())
+                                                                .userEmail("user@example.com")
+                                                                .event(eventRepository.getReferenceById(event.getId()))
+                                                                .build());
+                                        }));
+                        assertThat(reserved.await(30, TimeUnit.SECONDS)).isTrue();
+
+                        // Done while the registration still holds the row, instead of waiting for it
+                        assertThat(pool.submit(reconciler::reconcile).get(5, TimeUnit.SECONDS)).isZero();
+                        reconciled.countDown();
+                        registration.get(30, TimeUnit.SECONDS);
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                // Repaired on the next run, with the new seat counted
+                assertThat(reconciler.reconcile()).isEqualTo(1);
+                assertThat(eventRepository.findById(event.getId()).orElseThrow().getAttendeeCount()).isEqualTo(2);
+        }
+
+        @Test
+        void reconcile_CountBelowCapacity_ReopensRegistration() {
+                Event event = eventRepository.save(Event.builder()
+                                .name("Beach Cleanup")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(1)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "user@example.com");
+                // Removed outside the service, so the seat is never given back
+                attendeeRepository.deleteAll();
+
+                assertThat(reconciler.reconcile()).isEqualTo(1);
+
+                Event stored = eventRepository.findById(event.getId()).orElseThrow();
+                assertThat(stored.getAttendeeCount()).isZero();
+                assertThat(stored.getStatus()).isEqualTo(EventStatus.REGISTRATION);
+        }
+}
@@ -0,0 +1,209 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.config.HibernateCacheConfig;
+import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventService;
+import com.greenloop.event_service.services.NotificationPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the second-level cache for {@link Event} against an in-memory
+ * database: repeated reads are served from the cache, updates, deletes, seat
+ * reservations and status transitions are visible on the next read, and seat
+ * updates leave the other events cached.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "events.outbox.relay-interval-ms=3600000"
+})
+class EventSecondLevelCacheIntegrationTest {
+
+        @Autowired
+        private EventService eventService;
+
+        @Autowired
+        private EventAttendeeService attendeeService;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        private Statistics statistics;
+        private Event event;
+
+        @BeforeEach
+        void setUp() {
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+                event = eventRepository.save(Event.builder()
+                                .name("Riverside Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(10)
+                                .coins(20)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+                entityManagerFactory.getCache().evictAll();
+                statistics.clear();
+        }
+
+        @AfterEach
+        void cleanUp() {
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void getEventById_RepeatedReads_ServedFromCache() {
+                eventService.getEventById(event.getId());
+                eventService.getEventById(event.getId());
+                eventService.getEventById(event.getId());
+
+                CacheRegionStatistics region = statistics
+                                .getDomainDataRegionStatistics(HibernateCacheConfig.EVENTS_REGION);
+                assertThat(region.getMissCount()).isEqualTo(1);
+                assertThat(region.getHitCount()).isEqualTo(2);
+                assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        }
+
+        @Test
+        void updateEvent_NextReadSeesChange() {
+                eventService.getEventById(event.getId());
+
+                UpdateEventRequest request = new UpdateEventRequest();
+                request.setName("Harbour Cleanup");
+                eventService.updateEvent(event.getId(), request);
+
+                assertThat(eventService.getEventById(event.getId()).getName()).isEqualTo("Harbour Cleanup");
+        }
+
+        @Test
+        void deleteEvent_NextReadIsNotFound() {
+                eventService.getEventById(event.getId());
+
+                eventService.deleteEvent(event.getId());
+
+                assertThatThrownBy(() -> eventService.getEventById(event.getId()))
+                                .isInstanceOf(EventNotFoundException.class);
+        }
+
+        @Test
+        void registerAttendee_NextReadSeesReservedSeat() {
+                assertThat(eventService.getEventById(event.getId()).getAttendeeCount()).isZero();
+
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "user@example.com");
+
+                assertThat(eventService.getEventById(event.getId()).getAttendeeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void registerAttendee_LeavesOtherEventsCached() {
+                Event other = saveOtherEvent();
+                eventService.getEventById(event.getId());
+                eventService.getEventById(other.getId());
+
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "user@example.com");
+
+                assertThat(entityManagerFactory.getCache().contains(Event.class, event.getId())).isFalse();
+                assertThat(entityManagerFactory.getCache().contains(Event.class, other.getId())).isTrue();
+                assertThat(eventService.getEventById(event.getId()).getAttendeeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void reconcileAttendeeCounts_EvictsOnlyRepairedEvents() {
+                Event other = saveOtherEvent();
+                // An attendee row without a reserved seat, so the counter has drifted
+                attendeeRepository.save(EventAttendee.builder()
+                                .userId(UUID.randomUUID())
+                                .userEmail("drifted@example.com")
+                                .event(event)
+                                .build());
+                eventService.getEventById(event.getId());
+                eventService.getEventById(other.getId());
+
+                assertThat(eventRepository.reconcileAttendeeCounts(EventStatus.REGISTRATION, EventStatus.FULL))
+                                .isEqualTo(1);
+
+                assertThat(entityManagerFactory.getCache().contains(Event.class, event.getId())).isFalse();
+                assertThat(entityManagerFactory.getCache().contains(Event.class, other.getId())).isTrue();
+                assertThat(eventService.getEventById(event.getId()).getAttendeeCount()).isEqualTo(1);
+        }
+
+        @Test
+        void findByQrToken_CachedUntilStatusTransition() {
+                eventRepository.findByQrToken(event.getQrToken());
+                eventRepository.findByQrToken(event.getQrToken());
+                assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+                eventRepository.transitionStatus(List.of(event.getId()),
+                                List.of(EventStatus.REGISTRATION, EventStatus.FULL), EventStatus.ONGOING);
+
+                assertThat(eventRepository.findByQrToken(event.getQrToken()).orElseThrow().getStatus())
+                                .isEqualTo(EventStatus.ONGOING);
+                assertThat(eventRepository.findByStatus(EventStatus.ONGOING)).hasSize(1);
+        }
+
+        @Test
+        void cacheMeters_AreRegistered() {
+                eventService.getEventById(event.getId());
+
+                assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                                .tag("region", HibernateCacheConfig.EVENTS_REGION).meters()).isNotEmpty();
+                assertThat(meterRegistry.find("hibernate.cache.query.requests").meters()).isNotEmpty();
+        }
+
+        private Event saveOtherEvent() {
+                return eventRepository.save(Event.builder()
+                                .name("Harbour Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(10)
+                                .coins(20)
+                                .startDateTime(LocalDateTime.now().plusDays(3))
+                                .endDateTime(LocalDateTime.now().plusDays(4))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+        }
+}
@@ -0,0 +1,190 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.SchedulerLease;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.repos.SchedulerLeaseRepository;
+import com.greenloop.event_service.services.EventService;
+import com.greenloop.event_service.services.EventStatusScheduler;
+import com.greenloop.event_service.services.NotificationPublisher;
+import com.greenloop.event_service.services.QrTokenIndex;
+import com.greenloop.event_service.services.SchedulerLeaseService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the status scheduler against an in-memory database: due events are
+ * opened and closed, the QR token index follows the transitions, and a lease
+ * held or taken over by another replica keeps this one from writing.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "events.outbox.relay-interval-ms=3600000"
+})
+class EventStatusSchedulerIntegrationTest {
+
+        private static final String LEASE_NAME = "event-status-transitions";
+
+        @Autowired
+        private EventStatusScheduler scheduler;
+
+        @Autowired
+        private EventService eventService;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private SchedulerLeaseRepository leaseRepository;
+
+        @Autowired
+        private QrTokenIndex qrTokenIndex;
+
+        @Autowired
+        private SchedulerLeaseService leaseService;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        @AfterEach
+        void cleanUp() {
+                eventRepository.deleteAll();
+                leaseRepository.deleteAll();
+                qrTokenIndex.evictAll();
+        }
+
+        @Test
+        void runDueTransitions_OpensStartedAndClosesEndedEvents() throws Exception {
+                Event starting = eventRepository.save(event(EventStatus.FULL, LocalDateTime.now().minusMinutes(1),
+                                LocalDateTime.now().plusHours(2)));
+                Event ending = eventRepository.save(event(EventStatus.ONGOING, LocalDateTime.now().minusHours(2),
+                                LocalDateTime.now().minusMinutes(1)));
+                Event upcoming = eventRepository.save(event(EventStatus.REGISTRATION,
+                                LocalDateTime.now().plusMinutes(10), LocalDateTime.now().plusHours(2)));
+
+                Duration delay = runWithLease();
+
+                assertThat(eventService.getEventById(starting.getId()).getStatus())
+                                .isEqualTo(EventStatus.ONGOING.name());
+                assertThat(eventService.getEventById(ending.getId()).getStatus())
+                                .isEqualTo(EventStatus.CLOSED.name());
+                assertThat(eventService.getEventById(upcoming.getId()).getStatus())
+                                .isEqualTo(EventStatus.REGISTRATION.name());
+                assertThat(delay).isLessThanOrEqualTo(Duration.ofMinutes(1));
+        }
+
+        @Test
+        void runDueTransitions_StartedEvent_IsIndexedForScans() throws Exception {
+                Event starting = eventRepository.save(event(EventStatus.REGISTRATION,
+                                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusHours(2)));
+
+                runWithLease();
+
+                assertThat(qrTokenIndex.size()).isEqualTo(1);
+                assertThat(qrTokenIndex.resolve(starting.getQrToken()).orElseThrow().getStatus())
+                                .isEqualTo(EventStatus.ONGOING);
+        }
+
+        @Test
+        void runDueTransitions_LeaseHeldByAnotherReplica_LeavesEventsAlone() throws Exception {
+                leaseRepository.save(new SchedulerLease(LEASE_NAME, "other-replica",
+                                LocalDateTime.now().plusMinutes(5)));
+                Event starting = eventRepository.save(event(EventStatus.REGISTRATION,
+                                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusHours(2)));
+
+                scheduler.runDueTransitions();
+
+                assertThat(eventService.getEventById(starting.getId()).getStatus())
+                                .isEqualTo(EventStatus.REGISTRATION.name());
+
+                // Once the other replica's lease expires, this one takes over
+                leaseRepository.save(new SchedulerLease(LEASE_NAME, "other-replica",
+                                LocalDateTime.now().minusSeconds(1)));
+                runWithLease();
+
+                assertThat(eventService.getEventById(starting.getId()).getStatus())
+                                .isEqualTo(EventStatus.ONGOING.name());
+        }
+
+        @Test
+        void transitionStatus_ReturnsOnlyEventsItChanged() {
+                Event due = eventRepository.save(event(EventStatus.REGISTRATION, LocalDateTime.now().minusMinutes(1),
+                                LocalDateTime.now().plusHours(2)));
+                Event closedMeanwhile = eventRepository.save(event(EventStatus.CLOSED,
+                                LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusHours(2)));
+
+                List<UUID> transitioned = eventRepository.transitionStatus(
+                                List.of(due.getId(), closedMeanwhile.getId()),
+                                List.of(EventStatus.REGISTRATION, EventStatus.FULL), EventStatus.ONGOING);
+
+                assertThat(transitioned).containsExactly(due.getId());
+                assertThat(eventRepository.findById(closedMeanwhile.getId()).orElseThrow().getStatus())
+                                .isEqualTo(EventStatus.CLOSED);
+        }
+
+        @Test
+        void holdForTransaction_LeaseTakenOverByAnotherReplica_ReturnsFalse() {
+                TransactionTemplate tx = new TransactionTemplate(transactionManager);
+                // Expired but not taken over: still this replica's to use
+                leaseRepository.save(new SchedulerLease(LEASE_NAME, leaseService.getOwner(),
+                                LocalDateTime.now().minusSeconds(1)));
+                Boolean held = tx.execute(status -> leaseService.holdForTransaction(LEASE_NAME, Duration.ofMinutes(1)));
+                assertThat(held).isTrue();
+                assertThat(leaseRepository.findById(LEASE_NAME).orElseThrow().getExpiresAt())
+                                .isAfter(LocalDateTime.now());
+
+                leaseRepository.save(new SchedulerLease(LEASE_NAME, "other-replica",
+                                LocalDateTime.now().plusMinutes(5)));
+                held = tx.execute(status -> leaseService.holdForTransaction(LEASE_NAME, Duration.ofMinutes(1)));
+                assertThat(held).isFalse();
+                assertThat(leaseRepository.findById(LEASE_NAME).orElseThrow().getOwner()).isEqualTo("other-replica");
+        }
+
+        /**
+         * Runs the scheduler, retrying if the background run of this context
+         * happens to hold the lease at that moment.
+         */
+        private Duration runWithLease() throws InterruptedException {
+                Duration delay = scheduler.runDueTransitions();
+                for (int i = 0; i < 10 && delay.equals(Duration.ofSeconds(5)); i++) {
+                        Thread.sleep(100);
+                        delay = scheduler.runDueTransitions();
+                }
+                return delay;
+        }
+
+        private static Event event(EventStatus status, LocalDateTime start, LocalDateTime end) {
+                return Event.builder()
+                                .name("Community Garden")
+                                .type(EventType.TREE_PLANTING)
+                                .status(status)
+                                .capacity(-1)
+                                .startDateTime(start)
+                                .endDateTime(end)
+                                .qrToken(UUID.randomUUID().toString())
+                                .build();
+        }
+}
@@ -0,0 +1,135 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.dtos.EventVersion;
+import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventService;
+import com.greenloop.event_service.services.NotificationPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the {@link Event} version against an in-memory database: every write
+ * path moves it forward, catalog page ETags computed without loading the
+ * events match the served page, and an update from a stale copy is rejected
+ * instead of overwriting the newer row.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "events.outbox.relay-interval-ms=3600000"
+})
+class EventVersioningIntegrationTest {
+
+        @Autowired
+        private EventService eventService;
+
+        @Autowired
+        private EventAttendeeService attendeeService;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @MockitoBean
+        private NotificationPublisher notificationPublisher;
+
+        private Event event;
+
+        @BeforeEach
+        void setUp() {
+                event = eventRepository.save(Event.builder()
+                                .name("Park Planting")
+                                .type(EventType.TREE_PLANTING)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(1)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+        }
+
+        @AfterEach
+        void cleanUp() {
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void everyWritePath_ChangesEtag() {
+                Set<String> etags = new HashSet<>();
+                etags.add(eventService.getEventVersion(event.getId()).getEtag());
+
+                UpdateEventRequest request = new UpdateEventRequest();
+                request.setName("Park Planting Day");
+                request.setCapacity(1);
+                eventService.updateEvent(event.getId(), request);
+                etags.add(eventService.getEventVersion(event.getId()).getEtag());
+
+                UUID userId = UUID.randomUUID();
+                attendeeService.registerAttendee(event.getId(), userId, "user@example.com");
+                etags.add(eventService.getEventVersion(event.getId()).getEtag());
+
+                attendeeService.deregisterAttendee(event.getId(), userId);
+                etags.add(eventService.getEventVersion(event.getId()).getEtag());
+
+                eventRepository.transitionStatus(List.of(event.getId()),
+                                List.of(EventStatus.REGISTRATION, EventStatus.FULL), EventStatus.ONGOING);
+                EventVersion last = eventService.getEventVersion(event.getId());
+                etags.add(last.getEtag());
+
+                assertThat(etags).hasSize(5);
+                assertThat(last.getUpdatedAt()).isNotNull();
+        }
+
+        @Test
+        void catalogPageEtag_MatchesServedPageAndFollowsWrites() {
+                String etag = eventService.getEventsEtag(null, null, null, null, null, 20);
+                assertThat(eventService.getEvents(null, null, null, null, null, 20).getEtag()).isEqualTo(etag);
+
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "user@example.com");
+
+                String changed = eventService.getEventsEtag(null, null, null, null, null, 20);
+                assertThat(changed).isNotEqualTo(etag);
+                assertThat(eventService.getEvents(null, null, null, null, null, 20).getEtag()).isEqualTo(changed);
+        }
+
+        @Test
+        void save_StaleCopyAfterSeatReservation_IsRejected() {
+                Event stale = eventRepository.findById(event.getId()).orElseThrow();
+
+                // Takes the only seat and flips the event to FULL
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "user@example.com");
+
+                stale.setName("Renamed From Stale Copy");
+                assertThatThrownBy(() -> eventRepository.save(stale))
+                                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+                Event stored = eventRepository.findById(event.getId()).orElseThrow();
+                assertThat(stored.getStatus()).isEqualTo(EventStatus.FULL);
+                assertThat(stored.getName()).isEqualTo("Park Planting");
+        }
+}
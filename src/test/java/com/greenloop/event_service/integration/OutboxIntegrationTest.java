@@ -0,0 +1,162 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.OutboxMessage;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.MessageOutbox;
+import com.greenloop.event_service.services.OutboxRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * End-to-end check of the transactional outbox against an in-memory database:
+ * messages are stored with the registration that produced them, nothing is
+ * stored for a rolled-back registration, and the relay removes rows once the
+ * broker confirms them.
+ */
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:outbox;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                // Drive the relay from the test instead of the scheduler
+                "events.outbox.relay-interval-ms=3600000",
+                "events.publisher.retry-backoff-ms=0"
+})
+class OutboxIntegrationTest {
+
+        @Autowired
+        private EventAttendeeService attendeeService;
+
+        @Autowired
+        private MessageOutbox outbox;
+
+        @Autowired
+        private OutboxRelay relay;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private OutboxMessageRepository outboxRepository;
+
+        @MockitoBean
+        private RabbitTemplate rabbitTemplate;
+
+        @AfterEach
+        void cleanUp() {
+                outboxRepository.deleteAll();
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void registerAttendee_StoresConfirmationInOutboxWithoutBrokerCall() {
+                Event event = saveEvent();
+
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "user@example.com");
+
+                List<OutboxMessage> pending = outboxRepository.findAll();
+                assertThat(pending).hasSize(1);
+                assertThat(pending.get(0).getRoutingKey()).isEqualTo("event.confirmation");
+                assertThat(pending.get(0).getPayload()).contains("\"email\":\"user@example.com\"");
+                assertThat(pending.get(0).getTypeId()).isEqualTo("com.greenloop.event_service.dtos.NotificationMessage");
+                verifyNoInteractions(rabbitTemplate);
+        }
+
+        @Test
+        void enqueue_TransactionRolledBack_StoresNothing() {
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        outbox.enqueue("notifications.topic", "event.confirmation", Map.of("type", "x"));
+                        status.setRollbackOnly();
+                });
+
+                assertThat(outboxRepository.count()).isZero();
+        }
+
+        @Test
+        void relay_DrainsOutboxOnceConfirmed() {
+                List<Boolean> publishedInTransaction = new ArrayList<>();
+                when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+                        publishedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+                        RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+                        return callback.doInRabbit(rabbitTemplate);
+                });
+                doAnswer(invocation -> {
+                        CorrelationData correlation = invocation.getArgument(3);
+                        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+                        return null;
+                }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+                Event event = saveEvent();
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "a@example.com");
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "b@example.com");
+
+                assertThat(relay.relay()).isEqualTo(2);
+
+                verify(rabbitTemplate, times(2)).send(eq("notifications.topic"), eq("event.confirmation"),
+                                any(Message.class), any(CorrelationData.class));
+                assertThat(outboxRepository.count()).isZero();
+                // The broker round trip must not hold a pooled connection or row locks
+                assertThat(publishedInTransaction).isNotEmpty().containsOnly(false);
+        }
+
+        @Test
+        void relay_BrokerDown_KeepsMessages() {
+                when(rabbitTemplate.invoke(any())).thenThrow(new AmqpConnectException(new RuntimeException("down")));
+                Event event = saveEvent();
+                attendeeService.registerAttendee(event.getId(), UUID.randomUUID(), "a@example.com");
+
+                assertThat(relay.relay()).isZero();
+                assertThat(outboxRepository.findAll()).singleElement()
+                                .satisfies(message -> assertThat(message.getClaimedUntil()).isNull());
+        }
+
+        private Event saveEvent() {
+                return eventRepository.save(Event.builder()
+                                .name("River Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(10)
+                                .location("Riverside")
+                                .organizer("GreenLoop")
+                                .coins(10)
+                                .startDateTime(LocalDateTime.now().plusDays(1))
+                                .endDateTime(LocalDateTime.now().plusDays(2))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build());
+        }
+}
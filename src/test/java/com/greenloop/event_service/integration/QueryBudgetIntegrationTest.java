@@ -0,0 +1,277 @@
+package com.greenloop.event_service.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenloop.event_service.config.QueryBudget;
+import com.greenloop.event_service.dtos.BulkRegistrationRequest;
+import com.greenloop.event_service.dtos.CreateEventRequest;
+import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the controller endpoints against an in-memory database with query
+ * budgets enforced: any endpoint that runs more SQL statements than its
+ * {@link QueryBudget} fails the request.
+ * <p>
+ * The user in these tests is registered for several upcoming and past
+ * events, and the catalog holds more events than one page, so a query per
+ * listed row would exceed every budget.
+ * </p>
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+                "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "events.outbox.relay-interval-ms=3600000",
+                "events.query-stats.enforce-budgets=true"
+})
+class QueryBudgetIntegrationTest {
+
+        private static final int CATALOG_EVENTS = 30;
+        private static final int JOINED_UPCOMING = 6;
+        private static final int JOINED_PAST = 4;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private OutboxMessageRepository outboxRepository;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        private final UUID userId = UUID.randomUUID();
+        private List<Event> upcoming;
+        private Event ongoing;
+
+        @BeforeEach
+        void setUp() {
+                LocalDateTime now = LocalDateTime.now();
+                List<Event> events = new ArrayList<>();
+                for (int i = 0; i < CATALOG_EVENTS; i++) {
+                        events.add(event("Upcoming " + i, EventStatus.REGISTRATION, now.plusDays(1 + i % 5)));
+                }
+                for (int i = 0; i < JOINED_PAST; i++) {
+                        events.add(event("Past " + i, EventStatus.CLOSED, now.minusDays(3 + i)));
+                }
+                ongoing = event("Ongoing", EventStatus.ONGOING, now.minusHours(1));
+                events.add(ongoing);
+                List<Event> saved = eventRepository.saveAll(events);
+                upcoming = saved.subList(0, CATALOG_EVENTS);
+
+                List<EventAttendee> attendees = new ArrayList<>();
+                for (Event event : saved.subList(0, JOINED_UPCOMING)) {
+                        attendees.add(attendee(event, userId));
+                }
+                for (Event event : saved.subList(CATALOG_EVENTS, CATALOG_EVENTS + JOINED_PAST)) {
+                        attendees.add(attendee(event, userId));
+                }
+                for (int i = 0; i < 5; i++) {
+                        attendees.add(attendee(upcoming.get(0), UUID.randomUUID()));
+                }
+                attendees.add(attendee(ongoing, userId));
+                attendeeRepository.saveAll(attendees);
+        }
+
+        @AfterEach
+        void cleanUp() {
+                outboxRepository.deleteAll();
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void catalogEndpoints_stayWithinBudget() throws Exception {
+                mockMvc.perform(get("/api/events").param("size", "20")).andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/{id}", upcoming.get(1).getId())).andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/calendar")).andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/types")).andExpect(status().isOk());
+        }
+
+        @Test
+        void filteredCatalogPages_walkWholeCatalogWithinBudget() throws Exception {
+                Set<String> seen = new HashSet<>();
+                String cursor = null;
+                do {
+                        var request = get("/api/events")
+                                        .param("status", "registration")
+                                        .param("type", "cleanups")
+                                        .param("from", LocalDateTime.now().toString())
+                                        .param("size", "7");
+                        if (cursor != null) {
+                                request.param("cursor", cursor);
+                        }
+                        String body = mockMvc.perform(request)
+                                        .andExpect(status().isOk())
+                                        .andReturn().getResponse().getContentAsString();
+                        var data = objectMapper.readTree(body).get("data");
+                        data.get("events").forEach(event -> assertThat(seen.add(event.get("id").asText())).isTrue());
+                        cursor = data.get("hasNext").asBoolean() ? data.get("nextCursor").asText() : null;
+                } while (cursor != null);
+
+                assertThat(seen).hasSize(CATALOG_EVENTS);
+        }
+
+        @Test
+        void userEndpoints_stayWithinBudget() throws Exception {
+                String user = userId.toString();
+                mockMvc.perform(get("/api/events/upcoming/joined").header("X-User-ID", user))
+                                .andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/upcoming/joinable").header("X-User-ID", user))
+                                .andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/past").header("X-User-ID", user))
+                                .andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/me").header("X-User-ID", user))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void statsEndpoints_stayWithinBudget() throws Exception {
+                mockMvc.perform(get("/api/events/stats")).andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/stats/open/total")).andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/stats/upcoming/30days")).andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/stats/open/participants")).andExpect(status().isOk());
+        }
+
+        @Test
+        void adminEndpoints_stayWithinBudget() throws Exception {
+                CreateEventRequest create = CreateEventRequest.builder()
+                                .name("New Event")
+                                .type(EventType.CLEANUPS.name())
+                                .capacity(50)
+                                .coins(10)
+                                .startDateTime(LocalDateTime.now().plusDays(10))
+                                .endDateTime(LocalDateTime.now().plusDays(10).plusHours(2))
+                                .build();
+                mockMvc.perform(post("/api/events")
+                                .header("X-User-Role", "ADMIN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(create)))
+                                .andExpect(status().isCreated());
+
+                UpdateEventRequest update = UpdateEventRequest.builder().name("Renamed").build();
+                mockMvc.perform(put("/api/events/{id}", upcoming.get(2).getId())
+                                .header("X-User-Role", "ADMIN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(update)))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(delete("/api/events/{id}", upcoming.get(3).getId())
+                                .header("X-User-Role", "ADMIN"))
+                                .andExpect(status().isNoContent());
+        }
+
+        @Test
+        void attendeeEndpoints_stayWithinBudget() throws Exception {
+                UUID eventId = upcoming.get(0).getId();
+                mockMvc.perform(post("/api/events/{eventId}/register", upcoming.get(10).getId())
+                                .header("X-User-ID", userId.toString())
+                                .header("X-User-Email", "user@example.com"))
+                                .andExpect(status().isOk());
+
+                List<BulkRegistrationRequest.Registrant> registrants = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                        registrants.add(new BulkRegistrationRequest.Registrant(UUID.randomUUID(),
+                                        "bulk" + i + "@example.com"));
+                }
+                mockMvc.perform(post("/api/events/{eventId}/register/bulk", upcoming.get(11).getId())
+                                .header("X-User-Role", "ADMIN")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new BulkRegistrationRequest(registrants))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/api/events/{eventId}/participants", eventId).header("X-User-Role", "ADMIN"))
+                                .andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/{eventId}/is-registered", eventId)
+                                .header("X-User-ID", userId.toString()))
+                                .andExpect(status().isOk());
+                mockMvc.perform(get("/api/events/{eventId}/user", eventId).header("X-User-ID", userId.toString()))
+                                .andExpect(status().isOk());
+                mockMvc.perform(delete("/api/events/{eventId}/participants/{userId}", eventId, userId))
+                                .andExpect(status().isNoContent());
+        }
+
+        @Test
+        void scan_staysWithinBudget() throws Exception {
+                mockMvc.perform(post("/api/events/scan")
+                                .header("X-User-ID", userId.toString())
+                                .header("X-User-Email", "user@example.com")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"qrToken\":\"" + ongoing.getQrToken() + "\"}"))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void trackedRequests_areRecordedPerEndpoint() throws Exception {
+                mockMvc.perform(get("/api/events/upcoming/joined").header("X-User-ID", userId.toString()))
+                                .andExpect(status().isOk());
+
+                assertThat(meterRegistry.get("events.request.rows")
+                                .tag("uri", "/api/events/upcoming/joined")
+                                .summary()
+                                .max()).isGreaterThanOrEqualTo(JOINED_UPCOMING);
+                assertThat(meterRegistry.get("events.request.statements")
+                                .tag("uri", "/api/events/upcoming/joined")
+                                .summary()
+                                .max()).isPositive();
+        }
+
+        private static Event event(String name, EventStatus status, LocalDateTime start) {
+                return Event.builder()
+                                .name(name)
+                                .type(EventType.CLEANUPS)
+                                .status(status)
+                                .capacity(-1)
+                                .coins(10)
+                                .location("Riverside")
+                                .organizer("GreenLoop")
+                                .startDateTime(start)
+                                .endDateTime(start.plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build();
+        }
+
+        private static EventAttendee attendee(Event event, UUID userId) {
+                return EventAttendee.builder()
+                                .userId(userId)
+                                .userEmail(userId + "@example.com")
+                                .event(event)
+                                .build();
+        }
+}
@@ -0,0 +1,208 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import com.greenloop.event_service.services.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the application with replica routing enabled. Both pools point at the
+ * same in-memory database, so which pool served a request is read from the
+ * replica pool's connection acquisitions.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+                "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.DB_URL,
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "events.outbox.relay-interval-ms=3600000",
+                "events.replica-routing.enabled=true",
+                "events.replica-routing.read-your-writes-ms=60000",
+                "events.replica-routing.lag-query=",
+                "events.datasource.replica.jdbc-url=" + ReadReplicaRoutingIntegrationTest.DB_URL,
+                "events.datasource.replica.username=sa",
+                "events.datasource.replica.password="
+})
+class ReadReplicaRoutingIntegrationTest {
+
+        static final String DB_URL = "jdbc:h2:mem:replica-routing;MODE=PostgreSQL;LOCK_TIMEOUT=30000;"
+                        + "DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS event_service";
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private OutboxMessageRepository outboxRepository;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private EventService eventService;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Event joined;
+        private Event open;
+
+        @BeforeEach
+        void setUp() {
+                LocalDateTime start = LocalDateTime.now().plusDays(2);
+                joined = eventRepository.save(event("Joined", start));
+                open = eventRepository.save(event("Open", start.plusDays(1)));
+        }
+
+        @AfterEach
+        void cleanUp() {
+                outboxRepository.deleteAll();
+                attendeeRepository.deleteAll();
+                eventRepository.deleteAll();
+        }
+
+        @Test
+        void getRequest_readsFromReplica() throws Exception {
+                UUID userId = UUID.randomUUID();
+                attendeeRepository.save(attendee(joined, userId));
+                long before = replicaAcquisitions();
+
+                mockMvc.perform(get("/api/events/upcoming/joined").header("X-User-ID", userId.toString()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.events", hasSize(1)));
+
+                assertThat(replicaAcquisitions()).isGreaterThan(before);
+        }
+
+        @Test
+        void writeRequest_usesPrimaryOnly() throws Exception {
+                long before = replicaAcquisitions();
+
+                mockMvc.perform(post("/api/events/{eventId}/register", open.getId())
+                                .header("X-User-ID", UUID.randomUUID().toString())
+                                .header("X-User-Email", "writer@example.com"))
+                                .andExpect(status().isOk());
+
+                assertThat(replicaAcquisitions()).isEqualTo(before);
+        }
+
+        @Test
+        void userWhoJustRegistered_readsOwnRegistrationFromPrimary() throws Exception {
+                String writer = UUID.randomUUID().toString();
+                Cookie lastWrite = mockMvc.perform(post("/api/events/{eventId}/register", open.getId())
+                                .header("X-User-ID", writer)
+                                .header("X-User-Email", "writer@example.com"))
+                                .andExpect(status().isOk())
+                                .andExpect(cookie().exists("events_last_write"))
+                                .andReturn().getResponse().getCookie("events_last_write");
+                long before = replicaAcquisitions();
+
+                // The cookie, not the instance that took the write, keeps the read on the primary
+                mockMvc.perform(get("/api/events/upcoming/joined").header("X-User-ID", writer).cookie(lastWrite))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.events[0].id").value(open.getId().toString()));
+                assertThat(replicaAcquisitions()).isEqualTo(before);
+
+                // Without it, e.g. for other users, reads keep going to the replica
+                mockMvc.perform(get("/api/events/upcoming/joined").header("X-User-ID", writer))
+                                .andExpect(status().isOk());
+                assertThat(replicaAcquisitions()).isGreaterThan(before);
+        }
+
+        @Test
+        void participantExport_streamsFromReplica() throws Exception {
+                UUID userId = UUID.randomUUID();
+                attendeeRepository.save(attendee(joined, userId));
+                long before = replicaAcquisitions();
+
+                MvcResult started = mockMvc.perform(get("/api/events/{eventId}/participants/export", joined.getId())
+                                .header("X-User-Role", "ADMIN"))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+                mockMvc.perform(asyncDispatch(started))
+                                .andExpect(status().isOk())
+                                .andExpect(content().string(containsString(userId.toString())));
+
+                // One for the existence check on the request thread, one for the streamed rows
+                assertThat(replicaAcquisitions()).isEqualTo(before + 2);
+        }
+
+        @Test
+        void replicaRead_doesNotPopulateSecondLevelCache() throws Exception {
+                entityManagerFactory.getCache().evictAll();
+                long before = replicaAcquisitions();
+
+                mockMvc.perform(get("/api/events/{id}", open.getId()))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.data.id").value(open.getId().toString()));
+
+                assertThat(replicaAcquisitions()).isGreaterThan(before);
+                assertThat(entityManagerFactory.getCache().contains(Event.class, open.getId())).isFalse();
+
+                // Reads outside a replica request still cache the primary's row
+                eventService.getEventById(open.getId());
+                assertThat(entityManagerFactory.getCache().contains(Event.class, open.getId())).isTrue();
+        }
+
+        private long replicaAcquisitions() {
+                Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "replica").timer();
+                return timer == null ? 0 : timer.count();
+        }
+
+        private static Event event(String name, LocalDateTime start) {
+                return Event.builder()
+                                .name(name)
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.REGISTRATION)
+                                .capacity(-1)
+                                .coins(10)
+                                .location("Riverside")
+                                .organizer("GreenLoop")
+                                .startDateTime(start)
+                                .endDateTime(start.plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build();
+        }
+
+        private static EventAttendee attendee(Event event, UUID userId) {
+                return EventAttendee.builder()
+                                .userId(userId)
+                                .userEmail(userId + "@example.com")
+                                .event(event)
+                                .build();
+        }
+}
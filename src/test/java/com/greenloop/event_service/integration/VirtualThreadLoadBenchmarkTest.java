@@ -0,0 +1,217 @@
+package com.greenloop.event_service.integration;
+
+import com.greenloop.event_service.EventServiceApplication;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * HTTP load comparison of platform-thread and virtual-thread request handling
+ * ({@code spring.threads.virtual.enabled}) on the registration and scan
+ * endpoints, with the production pool size of two connections.
+ * <p>
+ * Each mode starts its own application on a random port and in-memory
+ * database, then fires the same number of concurrent requests at
+ * {@code POST /api/events/{id}/register} and
+ * {@code POST /api/events/scan}, after a discarded warm-up round. Throughput
+ * and p50/p99 latency are printed per mode and endpoint.
+ * </p>
+ * <p>
+ * Virtual threads require Java 21. On older runtimes the property is ignored
+ * and both modes would run on platform threads, so the benchmark is skipped
+ * there, and each run checks that Tomcat really uses the executor of its mode
+ * before measuring.
+ * </p>
+ * <p>
+ * Run with {@code ./mvnw test -Pbenchmark}; excluded from the default build.
+ * </p>
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+        private static final int REQUESTS_PER_ENDPOINT = 4000;
+        private static final int WARMUP_REQUESTS = 1000;
+        private static final int CLIENT_CONCURRENCY = 400;
+
+        private final HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newFixedThreadPool(CLIENT_CONCURRENCY))
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+
+        @Test
+        void comparePlatformAndVirtualThreads() throws Exception {
+                assumeTrue(Runtime.version().feature() >= 21,
+                                "Virtual threads need Java 21; on Java " + Runtime.version().feature()
+                                                + " both modes would run on platform threads");
+
+                List<Result> results = new ArrayList<>();
+                results.addAll(runMode(false));
+                results.addAll(runMode(true));
+
+                System.out.printf("Java %d%n", Runtime.version().feature());
+                System.out.printf("%-8s %-9s %8s %10s %9s %9s%n", "threads", "endpoint", "errors", "req/s", "p50 ms",
+                                "p99 ms");
+                for (Result r : results) {
+                        System.out.printf("%-8s %-9s %8d %10.0f %9.1f %9.1f%n", r.mode(), r.endpoint(), r.errors(),
+                                        r.throughput(), r.p50Millis(), r.p99Millis());
+                }
+
+                assertThat(results).allMatch(r -> r.errors() == 0);
+        }
+
+        private List<Result> runMode(boolean virtual) throws Exception {
+                String mode = virtual ? "virtual" : "platform";
+                // Command-line arguments, so they win over application.properties
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(EventServiceApplication.class)
+                                .run(
+                                                "--server.port=0",
+                                                "--spring.threads.virtual.enabled=" + virtual,
+                                                "--spring.datasource.url=jdbc:h2:mem:vt-" + mode
+                                                                + ";MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                                                "--spring.datasource.driver-class-name=org.h2.Driver",
+                                                "--spring.datasource.username=sa",
+                                                "--spring.datasource.password=",
+                                                "--spring.datasource.hikari.maximum-pool-size=2",
+                                                "--spring.datasource.hikari.connection-timeout=60000",
+                                                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                                                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                                                "--spring.jpa.show-sql=false",
+                                                // Keep the relay away from the (absent) broker
+                                                "--events.outbox.relay-interval-ms=3600000");
+                try {
+                        WebServer webServer = ((WebServerApplicationContext) context).getWebServer();
+                        Executor executor = ((TomcatWebServer) webServer).getTomcat().getConnector()
+                                        .getProtocolHandler().getExecutor();
+                        assertThat(executor.getClass().getSimpleName().startsWith("VirtualThread"))
+                                        .as("%s mode request executor %s", mode, executor.getClass().getName())
+                                        .isEqualTo(virtual);
+
+                        int port = webServer.getPort();
+                        String base = "http://localhost:" + port + "/api/events";
+                        measure(context, base, mode, WARMUP_REQUESTS);
+                        return measure(context, base, mode, REQUESTS_PER_ENDPOINT);
+                } finally {
+                        context.close();
+                }
+        }
+
+        private List<Result> measure(ConfigurableApplicationContext context, String base, String mode, int requests)
+                        throws Exception {
+                EventRepository eventRepository = context.getBean(EventRepository.class);
+                EventAttendeeRepository attendeeRepository = context.getBean(EventAttendeeRepository.class);
+
+                Event registration = eventRepository.save(event("Registration Load", EventStatus.REGISTRATION));
+                Result register = run(mode, "register", requests, i -> HttpRequest.newBuilder()
+                                .uri(URI.create(base + "/" + registration.getId() + "/register"))
+                                .header("X-User-ID", UUID.randomUUID().toString())
+                                .header("X-User-Email", i + "@example.com")
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build());
+
+                Event ongoing = eventRepository.save(event("Scan Load", EventStatus.ONGOING));
+                List<EventAttendee> attendees = new ArrayList<>();
+                for (int i = 0; i < requests; i++) {
+                        attendees.add(EventAttendee.builder().userId(UUID.randomUUID())
+                                        .userEmail(i + "@example.com").event(ongoing).build());
+                }
+                List<EventAttendee> saved = attendeeRepository.saveAll(attendees);
+                String body = "{\"qrToken\":\"" + ongoing.getQrToken() + "\"}";
+                Result scan = run(mode, "scan", requests, i -> HttpRequest.newBuilder()
+                                .uri(URI.create(base + "/scan"))
+                                .header("Content-Type", "application/json")
+                                .header("X-User-ID", saved.get(i).getUserId().toString())
+                                .header("X-User-Email", saved.get(i).getUserEmail())
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build());
+
+                return List.of(register, scan);
+        }
+
+        private Result run(String mode, String endpoint, int requests, Function<Integer, HttpRequest> requestFor)
+                        throws Exception {
+                ExecutorService pool = Executors.newFixedThreadPool(CLIENT_CONCURRENCY);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger errors = new AtomicInteger();
+                long[] latencies = new long[requests];
+                List<Future<?>> futures = new ArrayList<>();
+                try {
+                        for (int i = 0; i < requests; i++) {
+                                int index = i;
+                                futures.add(pool.submit(() -> {
+                                        HttpRequest request = requestFor.apply(index);
+                                        start.await();
+                                        long sent = System.nanoTime();
+                                        HttpResponse<String> response = client.send(request,
+                                                        HttpResponse.BodyHandlers.ofString());
+                                        latencies[index] = System.nanoTime() - sent;
+                                        if (response.statusCode() != 200 && errors.getAndIncrement() == 0) {
+                                                System.out.printf("%s %s first error: %d %s%n", mode, endpoint,
+                                                                response.statusCode(), response.body());
+                                        }
+                                        return null;
+                                }));
+                        }
+                        long began = System.nanoTime();
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(5, TimeUnit.MINUTES);
+                        }
+                        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+
+                        Arrays.sort(latencies);
+                        return new Result(mode, endpoint, errors.get(), requests / seconds,
+                                        percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99));
+                } finally {
+                        pool.shutdownNow();
+                }
+        }
+
+        private static double percentileMillis(long[] sortedNanos, double percentile) {
+                int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+                return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        private static Event event(String name, EventStatus status) {
+                return Event.builder()
+                                .name(name)
+                                .type(EventType.CLEANUPS)
+                                .status(status)
+                                .capacity(-1)
+                                .coins(10)
+                                .location("Riverside")
+                                .organizer("GreenLoop")
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build();
+        }
+
+        private record Result(String mode, String endpoint, int errors, double throughput, double p50Millis,
+                        double p99Millis) {
+        }
+}
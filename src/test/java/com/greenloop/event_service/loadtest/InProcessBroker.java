@@ -0,0 +1,49 @@
+package com.greenloop.event_service.loadtest;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for RabbitMQ during load tests.
+ * <p>
+ * Replaces the application's {@link RabbitTemplate} so the outbox relay runs
+ * its real batching and confirm path without a broker: every message is
+ * counted per exchange and routing key and acked immediately. Nothing is
+ * delivered anywhere.
+ * </p>
+ */
+class InProcessBroker extends RabbitTemplate {
+
+        private final Map<String, LongAdder> received = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> T invoke(OperationsCallback<T> action, com.rabbitmq.client.ConfirmCallback acks,
+                        com.rabbitmq.client.ConfirmCallback nacks) {
+                return action.doInRabbit(this);
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+                received.computeIfAbsent(exchange + "/" + routingKey, route -> new LongAdder()).increment();
+                if (correlationData != null) {
+                        correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+                }
+        }
+
+        /**
+         * Returns the messages received per {@code exchange/routingKey} since the
+         * last call, and starts counting again from zero.
+         */
+        Map<String, Long> drainCounts() {
+                Map<String, Long> counts = new TreeMap<>();
+                received.forEach((route, count) -> counts.put(route, count.sumThenReset()));
+                counts.values().removeIf(count -> count == 0);
+                return counts;
+        }
+}
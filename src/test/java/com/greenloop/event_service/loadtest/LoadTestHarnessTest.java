@@ -0,0 +1,437 @@
+package com.greenloop.event_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Offline end-to-end load test: boots the whole application on a random port
+ * against an in-memory H2 database and an {@link InProcessBroker}, drives it
+ * over HTTP with realistic request mixes, and writes a JSON report that can be
+ * diffed between builds.
+ * <p>
+ * Scenarios, each run after the previous one's outbox has drained:
+ * </p>
+ * <ul>
+ * <li>{@code catalog-browsing}: event listing, event details, joinable events
+ * and the calendar, over a seeded catalog</li>
+ * <li>{@code registration-burst}: registrations of new users for a few hot
+ * events, one of them filling up</li>
+ * <li>{@code qr-scan-storm}: check-in scans of registered attendees for an
+ * ongoing event</li>
+ * <li>{@code mixed}: 70% browsing, 20% registration and 10% scans at once</li>
+ * </ul>
+ * <p>
+ * Per endpoint the report has throughput, p50/p95/p99/max latency, status
+ * counts and time spent waiting for a pooled connection
+ * ({@link PoolWaitRecorder}); per scenario, the time until the outbox was
+ * relayed and the messages the stand-in broker received. The pool keeps the
+ * production size of two connections unless overridden.
+ * </p>
+ * <p>
+ * Run with {@code ./mvnw test -Pbenchmark -Dtest=LoadTestHarnessTest};
+ * excluded from the default build. Tune with {@code -Dloadtest.requests}
+ * (per scenario, default 4000), {@code -Dloadtest.concurrency} (default 200),
+ * {@code -Dloadtest.events} (catalog size, default 2000) and
+ * {@code -Dloadtest.report} (default {@code target/load-test-report.json}).
+ * </p>
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.datasource.url=jdbc:h2:mem:load-test;MODE=PostgreSQL;LOCK_TIMEOUT=30000;DB_CLOSE_DELAY=-1;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS event_service",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.datasource.hikari.connection-timeout=60000",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false"
+})
+class LoadTestHarnessTest {
+
+        private static final int REQUESTS = Integer.getInteger("loadtest.requests", 4000);
+        private static final int CLIENT_CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+        private static final int CATALOG_EVENTS = Integer.getInteger("loadtest.events", 2000);
+        private static final String REPORT = System.getProperty("loadtest.report", "target/load-test-report.json");
+        private static final Duration OUTBOX_DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private EventAttendeeRepository attendeeRepository;
+
+        @Autowired
+        private OutboxMessageRepository outboxRepository;
+
+        @Autowired
+        private InProcessBroker broker;
+
+        @Autowired
+        private PoolWaitRecorder poolWaits;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private Environment environment;
+
+        private final HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newFixedThreadPool(CLIENT_CONCURRENCY))
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+
+        private final Random random = new Random(42);
+        private List<UUID> catalog;
+
+        @TestConfiguration
+        static class LoadTestConfig {
+
+                @Bean
+                @Primary
+                InProcessBroker inProcessBroker(ConnectionFactory connectionFactory) {
+                        InProcessBroker broker = new InProcessBroker();
+                        // Required by RabbitTemplate, never connected: sends are intercepted
+                        broker.setConnectionFactory(connectionFactory);
+                        return broker;
+                }
+
+                @Bean
+                static PoolWaitRecorder poolWaitRecorder() {
+                        return new PoolWaitRecorder();
+                }
+        }
+
+        @Test
+        void runLoadTest() throws Exception {
+                catalog = seedCatalog();
+
+                // Warm-up round, discarded
+                runScenario("warm-up", REQUESTS / 4, mixed(REQUESTS / 4));
+
+                List<LoadTestReport.Scenario> scenarios = new ArrayList<>();
+                scenarios.add(runScenario("catalog-browsing", REQUESTS, catalogBrowsing()));
+                scenarios.add(runScenario("registration-burst", REQUESTS, registrationBurst(REQUESTS)));
+                scenarios.add(runScenario("qr-scan-storm", REQUESTS, List.of(new Weighted(1, scanStorm(REQUESTS)))));
+                scenarios.add(runScenario("mixed", REQUESTS, mixed(REQUESTS)));
+
+                LoadTestReport report = new LoadTestReport(
+                                Instant.now().toString(),
+                                Runtime.version().feature(),
+                                new LoadTestReport.Settings(REQUESTS, CLIENT_CONCURRENCY, CATALOG_EVENTS,
+                                                environment.getProperty("spring.datasource.hikari.maximum-pool-size",
+                                                                Integer.class, 10)),
+                                scenarios);
+                File file = new File(REPORT);
+                file.getAbsoluteFile().getParentFile().mkdirs();
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+
+                print(scenarios);
+                System.out.println("Report written to " + file.getAbsolutePath());
+
+                assertThat(scenarios)
+                                .flatMap(LoadTestReport.Scenario::endpoints)
+                                .allMatch(e -> e.errors() == 0);
+        }
+
+        // ---- Scenarios ----
+
+        private List<Weighted> catalogBrowsing() {
+                String base = baseUrl();
+                return List.of(
+                                new Weighted(50, i -> new Call("GET /api/events",
+                                                get(base + "?size=20").build())),
+                                new Weighted(25, i -> new Call("GET /api/events/{id}",
+                                                get(base + "/" + catalog.get(i % catalog.size())).build())),
+                                new Weighted(15, i -> new Call("GET /api/events/upcoming/joinable",
+                                                get(base + "/upcoming/joinable?size=20")
+                                                                .header("X-User-ID", UUID.randomUUID().toString())
+                                                                .build())),
+                                new Weighted(10, i -> new Call("GET /api/events/calendar",
+                                                get(base + "/calendar").build())));
+        }
+
+        private List<Weighted> registrationBurst(int requests) {
+                String base = baseUrl();
+                // Two open-ended events and one that fills up halfway through
+                List<UUID> hot = List.of(
+                                eventRepository.save(event("Hot Event A", EventStatus.REGISTRATION, -1)).getId(),
+                                eventRepository.save(event("Hot Event B", EventStatus.REGISTRATION, -1)).getId(),
+                                eventRepository.save(event("Hot Event C", EventStatus.REGISTRATION,
+                                                Math.max(1, requests / 6))).getId());
+                return List.of(new Weighted(1, i -> new Call("POST /api/events/{eventId}/register",
+                                HttpRequest.newBuilder()
+                                                .uri(URI.create(base + "/" + hot.get(i % hot.size()) + "/register"))
+                                                .header("X-User-ID", UUID.randomUUID().toString())
+                                                .header("X-User-Email", "user" + i + "@example.com")
+                                                .POST(HttpRequest.BodyPublishers.noBody())
+                                                .build())));
+        }
+
+        private IntFunction<Call> scanStorm(int attendeeCount) {
+                String base = baseUrl();
+                Event ongoing = eventRepository.save(event("Scan Storm", EventStatus.ONGOING, -1));
+                List<EventAttendee> attendees = new ArrayList<>(attendeeCount);
+                for (int i = 0; i < attendeeCount; i++) {
+                        attendees.add(EventAttendee.builder()
+                                        .userId(UUID.randomUUID())
+                                        .userEmail("attendee" + i + "@example.com")
+                                        .event(ongoing)
+                                        .build());
+                }
+                List<EventAttendee> saved = attendeeRepository.saveAll(attendees);
+                String body = "{\"qrToken\":\"" + ongoing.getQrToken() + "\"}";
+                AtomicInteger next = new AtomicInteger();
+                return i -> {
+                        EventAttendee attendee = saved.get(next.getAndIncrement() % saved.size());
+                        return new Call("POST /api/events/scan", HttpRequest.newBuilder()
+                                        .uri(URI.create(base + "/scan"))
+                                        .header("Content-Type", "application/json")
+                                        .header("X-User-ID", attendee.getUserId().toString())
+                                        .header("X-User-Email", attendee.getUserEmail())
+                                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                                        .build());
+                };
+        }
+
+        private List<Weighted> mixed(int requests) {
+                List<Weighted> mix = new ArrayList<>();
+                for (Weighted browse : catalogBrowsing()) {
+                        mix.add(new Weighted(browse.weight() * 70 / 100, browse.call()));
+                }
+                mix.add(new Weighted(20, registrationBurst(requests).get(0).call()));
+                mix.add(new Weighted(10, scanStorm(requests)));
+                return mix;
+        }
+
+        // ---- Driver ----
+
+        private LoadTestReport.Scenario runScenario(String name, int requests, List<Weighted> mix)
+                        throws Exception {
+                // Pick each request's kind up front, so the mix is identical between builds
+                int totalWeight = mix.stream().mapToInt(Weighted::weight).sum();
+                IntFunction<Call>[] plan = planFor(requests, mix, totalWeight);
+
+                ExecutorService pool = Executors.newFixedThreadPool(CLIENT_CONCURRENCY);
+                CountDownLatch start = new CountDownLatch(1);
+                String[] endpoints = new String[requests];
+                int[] statuses = new int[requests];
+                long[] latencies = new long[requests];
+                List<Future<?>> futures = new ArrayList<>(requests);
+                long elapsedNanos;
+                try {
+                        for (int i = 0; i < requests; i++) {
+                                int index = i;
+                                futures.add(pool.submit(() -> {
+                                        Call call = plan[index].apply(index);
+                                        endpoints[index] = call.endpoint();
+                                        start.await();
+                                        long sent = System.nanoTime();
+                                        try {
+                                                HttpResponse<Void> response = client.send(call.request(),
+                                                                HttpResponse.BodyHandlers.discarding());
+                                                statuses[index] = response.statusCode();
+                                        } catch (java.io.IOException e) {
+                                                // Transport failure; reported as status 0
+                                                statuses[index] = 0;
+                                        }
+                                        latencies[index] = System.nanoTime() - sent;
+                                        return null;
+                                }));
+                        }
+                        long began = System.nanoTime();
+                        start.countDown();
+                        for (Future<?> future : futures) {
+                                future.get(5, TimeUnit.MINUTES);
+                        }
+                        elapsedNanos = System.nanoTime() - began;
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                long drainMillis = awaitOutboxDrained();
+                Map<String, LoadTestReport.PoolWait> waits = poolWaits.drain();
+                Map<String, Long> messages = broker.drainCounts();
+
+                double seconds = elapsedNanos / 1_000_000_000.0;
+                Map<String, List<Integer>> byEndpoint = new TreeMap<>();
+                for (int i = 0; i < requests; i++) {
+                        byEndpoint.computeIfAbsent(endpoints[i], e -> new ArrayList<>()).add(i);
+                }
+                List<LoadTestReport.Endpoint> endpointResults = new ArrayList<>();
+                byEndpoint.forEach((endpoint, indexes) -> endpointResults.add(
+                                endpointResult(endpoint, indexes, statuses, latencies, seconds,
+                                                waits.getOrDefault(endpoint, LoadTestReport.PoolWait.NONE))));
+
+                return new LoadTestReport.Scenario(name, requests, elapsedNanos / 1_000_000, requests / seconds,
+                                endpointResults,
+                                waits.getOrDefault(PoolWaitRecorder.BACKGROUND, LoadTestReport.PoolWait.NONE),
+                                drainMillis, messages);
+        }
+
+        @SuppressWarnings("unchecked")
+        private IntFunction<Call>[] planFor(int requests, List<Weighted> mix, int totalWeight) {
+                IntFunction<Call>[] plan = new IntFunction[requests];
+                for (int i = 0; i < requests; i++) {
+                        int pick = random.nextInt(totalWeight);
+                        for (Weighted weighted : mix) {
+                                pick -= weighted.weight();
+                                if (pick < 0) {
+                                        plan[i] = weighted.call();
+                                        break;
+                                }
+                        }
+                }
+                return plan;
+        }
+
+        private static LoadTestReport.Endpoint endpointResult(String endpoint, List<Integer> indexes,
+                        int[] statuses, long[] latencies, double seconds, LoadTestReport.PoolWait poolWait) {
+                long[] sorted = indexes.stream().mapToLong(i -> latencies[i]).sorted().toArray();
+                Map<Integer, Long> statusCounts = new TreeMap<>();
+                int errors = 0;
+                for (int i : indexes) {
+                        statusCounts.merge(statuses[i], 1L, Long::sum);
+                        if (statuses[i] == 0 || statuses[i] >= 500) {
+                                errors++;
+                        }
+                }
+                return new LoadTestReport.Endpoint(endpoint, indexes.size(), errors, statusCounts,
+                                indexes.size() / seconds,
+                                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.95),
+                                percentileMillis(sorted, 0.99), sorted[sorted.length - 1] / 1_000_000.0,
+                                poolWait);
+        }
+
+        /**
+         * Waits until the relay has handed every outbox message to the broker.
+         *
+         * @return milliseconds from the end of the scenario until the outbox was
+         *         empty
+         */
+        private long awaitOutboxDrained() throws InterruptedException {
+                long began = System.nanoTime();
+                long deadline = began + OUTBOX_DRAIN_TIMEOUT.toNanos();
+                while (outboxRepository.count() > 0) {
+                        if (System.nanoTime() > deadline) {
+                                fail("Outbox not drained within " + OUTBOX_DRAIN_TIMEOUT);
+                        }
+                        Thread.sleep(50);
+                }
+                return (System.nanoTime() - began) / 1_000_000;
+        }
+
+        // ---- Helpers ----
+
+        private List<UUID> seedCatalog() {
+                EventType[] types = EventType.values();
+                LocalDateTime now = LocalDateTime.now();
+                List<Event> events = new ArrayList<>(CATALOG_EVENTS);
+                for (int i = 0; i < CATALOG_EVENTS; i++) {
+                        LocalDateTime start = now.plusHours(1 + random.nextInt(60 * 24));
+                        events.add(Event.builder()
+                                        .name("Catalog Event " + i)
+                                        .description("Seeded for the load test")
+                                        .type(types[i % types.length])
+                                        .status(EventStatus.REGISTRATION)
+                                        .capacity(i % 3 == 0 ? -1 : 50 + random.nextInt(200))
+                                        .coins(10)
+                                        .location("Location " + (i % 40))
+                                        .organizer("GreenLoop")
+                                        .startDateTime(start)
+                                        .endDateTime(start.plusHours(3))
+                                        .qrToken(UUID.randomUUID().toString())
+                                        .build());
+                }
+                return eventRepository.saveAll(events).stream().map(Event::getId).toList();
+        }
+
+        private static Event event(String name, EventStatus status, int capacity) {
+                return Event.builder()
+                                .name(name)
+                                .type(EventType.CLEANUPS)
+                                .status(status)
+                                .capacity(capacity)
+                                .coins(10)
+                                .location("Riverside")
+                                .organizer("GreenLoop")
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(3))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build();
+        }
+
+        private String baseUrl() {
+                return "http://localhost:" + port + "/api/events";
+        }
+
+        private static HttpRequest.Builder get(String uri) {
+                return HttpRequest.newBuilder().uri(URI.create(uri)).GET();
+        }
+
+        private static double percentileMillis(long[] sortedNanos, double percentile) {
+                int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+                return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        private static void print(List<LoadTestReport.Scenario> scenarios) {
+                System.out.printf("%-19s %-36s %7s %6s %9s %8s %8s %8s %10s%n", "scenario", "endpoint", "count",
+                                "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "pool ms");
+                for (LoadTestReport.Scenario scenario : scenarios) {
+                        for (LoadTestReport.Endpoint e : scenario.endpoints()) {
+                                System.out.printf("%-19s %-36s %7d %6d %9.0f %8.1f %8.1f %8.1f %10.1f%n",
+                                                scenario.name(), e.endpoint(), e.requests(), e.errors(),
+                                                e.throughput(), e.p50Millis(), e.p95Millis(), e.p99Millis(),
+                                                e.poolWait().totalMillis());
+                        }
+                        System.out.printf("%-19s outbox drained in %d ms, broker received %s%n", scenario.name(),
+                                        scenario.outboxDrainMillis(), scenario.brokerMessages());
+                }
+        }
+
+        /**
+         * One request, labelled with the route it hits.
+         */
+        private record Call(String endpoint, HttpRequest request) {
+        }
+
+        /**
+         * A kind of request and its share of a scenario's mix.
+         */
+        private record Weighted(int weight, IntFunction<Call> call) {
+        }
+}
@@ -0,0 +1,53 @@
+package com.greenloop.event_service.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable load-test results, written as JSON to
+ * {@code target/load-test-report.json}. Maps are sorted by key so reports from
+ * two builds can be diffed directly.
+ */
+record LoadTestReport(
+                String generatedAt,
+                int javaVersion,
+                Settings settings,
+                List<Scenario> scenarios) {
+
+        record Settings(int requestsPerScenario, int clientConcurrency, int catalogEvents, int poolSize) {
+        }
+
+        record Scenario(
+                        String name,
+                        int requests,
+                        long durationMillis,
+                        double throughput,
+                        List<Endpoint> endpoints,
+                        PoolWait backgroundPoolWait,
+                        long outboxDrainMillis,
+                        Map<String, Long> brokerMessages) {
+        }
+
+        record Endpoint(
+                        String endpoint,
+                        int requests,
+                        int errors,
+                        Map<Integer, Long> statuses,
+                        double throughput,
+                        double p50Millis,
+                        double p95Millis,
+                        double p99Millis,
+                        double maxMillis,
+                        PoolWait poolWait) {
+        }
+
+        record PoolWait(long acquisitions, double totalMillis, double meanMillis, double maxMillis) {
+
+                static final PoolWait NONE = new PoolWait(0, 0, 0, 0);
+
+                static PoolWait of(long acquisitions, long totalNanos, long maxNanos) {
+                        return new PoolWait(acquisitions, totalNanos / 1_000_000.0,
+                                        totalNanos / 1_000_000.0 / acquisitions, maxNanos / 1_000_000.0);
+                }
+        }
+}
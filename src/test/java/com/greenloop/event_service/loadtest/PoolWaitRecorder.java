@@ -0,0 +1,125 @@
+package com.greenloop.event_service.loadtest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long each endpoint waits for a pooled JDBC connection.
+ * <p>
+ * The application {@link DataSource} is wrapped so every
+ * {@code getConnection()} is timed; with Hikari that is the time spent waiting
+ * for a free connection. A handler interceptor tags the request thread with
+ * its route (e.g. {@code POST /api/events/{eventId}/register}), so each wait
+ * is charged to the endpoint that caused it. Connections taken off request
+ * threads (check-in writer, outbox relay, schedulers) are charged to
+ * {@value #BACKGROUND}.
+ * </p>
+ */
+class PoolWaitRecorder implements BeanPostProcessor, WebMvcConfigurer {
+
+        static final String BACKGROUND = "(background)";
+
+        private static final ThreadLocal<String> CURRENT_ENDPOINT = new ThreadLocal<>();
+
+        private final Map<String, Stats> waits = new ConcurrentHashMap<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return new TimedDataSource(dataSource);
+                }
+                return bean;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new HandlerInterceptor() {
+                        @Override
+                        public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler) {
+                                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                                CURRENT_ENDPOINT.set(request.getMethod() + " " + pattern);
+                                return true;
+                        }
+
+                        @Override
+                        public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                                CURRENT_ENDPOINT.remove();
+                        }
+                });
+        }
+
+        /**
+         * Returns the waits recorded per endpoint since the last call, and starts
+         * recording again from zero.
+         */
+        Map<String, LoadTestReport.PoolWait> drain() {
+                Map<String, LoadTestReport.PoolWait> snapshot = new TreeMap<>();
+                waits.forEach((endpoint, stats) -> {
+                        long acquisitions = stats.acquisitions.sumThenReset();
+                        long totalNanos = stats.totalNanos.sumThenReset();
+                        long maxNanos = stats.maxNanos.getThenReset();
+                        if (acquisitions > 0) {
+                                snapshot.put(endpoint, LoadTestReport.PoolWait.of(acquisitions, totalNanos, maxNanos));
+                        }
+                });
+                return snapshot;
+        }
+
+        private void record(long nanos) {
+                String endpoint = CURRENT_ENDPOINT.get();
+                Stats stats = waits.computeIfAbsent(endpoint != null ? endpoint : BACKGROUND, e -> new Stats());
+                stats.acquisitions.increment();
+                stats.totalNanos.add(nanos);
+                stats.maxNanos.accumulate(nanos);
+        }
+
+        private static final class Stats {
+                private final LongAdder acquisitions = new LongAdder();
+                private final LongAdder totalNanos = new LongAdder();
+                private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        }
+
+        private final class TimedDataSource extends DelegatingDataSource {
+
+                private TimedDataSource(DataSource target) {
+                        super(target);
+                }
+
+                @Override
+                public Connection getConnection() throws SQLException {
+                        long start = System.nanoTime();
+                        try {
+                                return super.getConnection();
+                        } finally {
+                                record(System.nanoTime() - start);
+                        }
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                        long start = System.nanoTime();
+                        try {
+                                return super.getConnection(username, password);
+                        } finally {
+                                record(System.nanoTime() - start);
+                        }
+                }
+        }
+}
@@ -0,0 +1,150 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.config.AdaptiveConcurrencyLimiter;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+        private final AtomicLong clock = new AtomicLong();
+
+        @Test
+        void stableLatencyUnderLoad_growsLimit() {
+                AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 20);
+
+                runWindow(limiter, 4, 10);
+                assertThat(limiter.getLimit()).isEqualTo(4);
+                assertThat(limiter.getBaselineMillis()).isEqualTo(10);
+
+                runWindow(limiter, 4, 10);
+                assertThat(limiter.getLimit()).isEqualTo(6);
+        }
+
+        @Test
+        void quietWindow_doesNotGrowLimit() {
+                AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 20);
+
+                runWindow(limiter, 10, 10);
+                runWindow(limiter, 1, 10);
+
+                assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+
+        @Test
+        void p99BeyondTolerance_shrinksLimit() {
+                AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 20);
+
+                runWindow(limiter, 10, 10);
+                runWindow(limiter, 10, 40);
+
+                assertThat(limiter.getLastP99Millis()).isEqualTo(40);
+                assertThat(limiter.getLimit()).isEqualTo(5);
+        }
+
+        @Test
+        void limit_staysWithinBounds() {
+                AdaptiveConcurrencyLimiter limiter = limiter(4, 2, 6);
+                for (int i = 0; i < 5; i++) {
+                        runWindow(limiter, limiter.getLimit(), 10);
+                }
+                assertThat(limiter.getLimit()).isEqualTo(6);
+
+                for (int i = 0; i < 5; i++) {
+                        runWindow(limiter, limiter.getLimit(), 1000);
+                }
+                assertThat(limiter.getLimit()).isEqualTo(2);
+        }
+
+        @Test
+        void acquire_rejectsAtOnceWhenQueueIsFull() {
+                AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                .name("registration")
+                                .initialLimit(1).minLimit(1).maxLimit(1)
+                                .maxQueued(0)
+                                .maxWaitMillis(5000)
+                                .retryAfterSeconds(2)
+                                .build();
+                limiter.acquire();
+
+                assertThatThrownBy(limiter::acquire)
+                                .isInstanceOf(BulkheadFullException.class)
+                                .hasMessageContaining("queue is full")
+                                .extracting("retryAfterSeconds").isEqualTo(2L);
+                assertThat(limiter.getRejectedQueueFull()).isEqualTo(1);
+        }
+
+        @Test
+        void acquire_rejectsQueuedCallAfterMaxWait() {
+                AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                .name("registration")
+                                .initialLimit(1).minLimit(1).maxLimit(1)
+                                .maxQueued(1)
+                                .maxWaitMillis(20)
+                                .build();
+                limiter.acquire();
+
+                assertThatThrownBy(limiter::acquire)
+                                .isInstanceOf(BulkheadFullException.class)
+                                .hasMessageContaining("no slot within 20 ms");
+                assertThat(limiter.getRejectedTimeout()).isEqualTo(1);
+                assertThat(limiter.getQueued()).isZero();
+        }
+
+        @Test
+        void queuedCall_getsSlotWhenOneIsReleased() throws Exception {
+                AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+                                .name("registration")
+                                .initialLimit(1).minLimit(1).maxLimit(1)
+                                .maxQueued(1)
+                                .maxWaitMillis(5000)
+                                .minSamples(100)
+                                .build();
+                limiter.acquire();
+
+                CompletableFuture<Void> queued = CompletableFuture.runAsync(limiter::acquire);
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (limiter.getQueued() < 1 && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                }
+                assertThat(limiter.getQueued()).isEqualTo(1);
+
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+                queued.get(5, TimeUnit.SECONDS);
+                assertThat(limiter.getInFlight()).isEqualTo(1);
+        }
+
+        private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+                return AdaptiveConcurrencyLimiter.builder()
+                                .name("registration")
+                                .initialLimit(initialLimit)
+                                .minLimit(minLimit)
+                                .maxLimit(maxLimit)
+                                .maxQueued(0)
+                                .windowMillis(100)
+                                .minSamples(1)
+                                .tolerance(1.5)
+                                .smoothing(1.0)
+                                .nanoClock(clock::get)
+                                .build();
+        }
+
+        // Runs one full window of calls at the given concurrency and latency
+        private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyMillis) {
+                for (int i = 0; i < concurrency; i++) {
+                        limiter.acquire();
+                }
+                for (int i = 0; i < concurrency; i++) {
+                        if (i == concurrency - 1) {
+                                // The last release closes the window
+                                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+                        }
+                        limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+                }
+        }
+}
@@ -0,0 +1,277 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.dtos.ScanRequest;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.exceptions.*;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.services.AttendanceCheckInService;
+import com.greenloop.event_service.services.EventAttendeeService;
+import com.greenloop.event_service.services.EventMessagePublisher;
+import com.greenloop.event_service.services.NotificationPublisher;
+import com.greenloop.event_service.services.QrTokenIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceCheckInServiceTest {
+
+        @Mock
+        private EventAttendeeService attendeeService;
+
+        @Mock
+        private EventAttendeeRepository attendeeRepository;
+
+        @Mock
+        private QrTokenIndex qrTokenIndex;
+
+        @Mock
+        private EventMessagePublisher messagePublisher;
+
+        @Mock
+        private NotificationPublisher notificationPublisher;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private AttendanceCheckInService checkInService;
+        private Event event;
+        private ScanRequest scan;
+
+        @BeforeEach
+        void setUp() {
+                checkInService = new AttendanceCheckInService(attendeeService, attendeeRepository, qrTokenIndex,
+                                messagePublisher, notificationPublisher, transactionManager, true, 100, 50, 50,
+                                5000, 1);
+                event = Event.builder()
+                                .id(UUID.randomUUID())
+                                .name("Beach Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.ONGOING)
+                                .coins(20)
+                                .qrToken("qr-token")
+                                .build();
+                scan = new ScanRequest();
+                scan.setQrToken("qr-token");
+        }
+
+        @AfterEach
+        void tearDown() {
+                checkInService.stop();
+        }
+
+        @Test
+        void checkIn_NotStarted_FallsBackToDirectWrite() {
+                EventAttendeeResponse direct = EventAttendeeResponse.builder().attended(true).build();
+                UUID userId = UUID.randomUUID();
+                when(attendeeService.markAttendanceByToken(scan, userId, "a@example.com")).thenReturn(direct);
+
+                assertThat(checkInService.checkIn(scan, userId, "a@example.com")).isSameAs(direct);
+                verifyNoInteractions(attendeeRepository);
+        }
+
+        @Test
+        void checkIn_Success_WritesBatchAndPublishes() {
+                checkInService.start();
+                EventAttendee attendee = attendee(UUID.randomUUID(), false);
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.of(event));
+                when(attendeeRepository.findByEventIdAndUserIdInForUpdate(eq(event.getId()), any()))
+                                .thenReturn(List.of(attendee));
+                when(attendeeRepository.markAttended(any(), any())).thenReturn(1);
+
+                EventAttendeeResponse response = checkInService.checkIn(scan, attendee.getUserId(), "a@example.com");
+
+                assertThat(response.isAttended()).isTrue();
+                assertThat(response.getAttendedAt()).isNotNull();
+                verify(attendeeRepository).markAttended(eq(List.of(attendee.getId())), any(LocalDateTime.class));
+                verify(messagePublisher).publishEventParticipation(event, attendee.getUserId(), 20);
+                verify(notificationPublisher).publishEventAttendance("a@example.com", "Beach Cleanup", 20);
+        }
+
+        @Test
+        void checkIn_ConcurrentScans_CoalescedWithPerRequestOutcomes() throws Exception {
+                checkInService.start();
+                EventAttendee registered = attendee(UUID.randomUUID(), false);
+                EventAttendee alreadyAttended = attendee(UUID.randomUUID(), true);
+                UUID unregistered = UUID.randomUUID();
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.of(event));
+                when(attendeeRepository.findByEventIdAndUserIdInForUpdate(eq(event.getId()), any()))
+                                .thenReturn(List.of(registered, alreadyAttended));
+                // Reflect the write so scans landing in a later batch see it
+                when(attendeeRepository.markAttended(any(), any())).thenAnswer(invocation -> {
+                        registered.setAttended(true);
+                        return 1;
+                });
+
+                List<UUID> users = List.of(registered.getUserId(), registered.getUserId(),
+                                alreadyAttended.getUserId(), unregistered);
+                ExecutorService pool = Executors.newFixedThreadPool(users.size());
+                List<Future<EventAttendeeResponse>> futures = new ArrayList<>();
+                try {
+                        for (UUID user : users) {
+                                futures.add(pool.submit(() -> checkInService.checkIn(scan, user, "x@example.com")));
+                        }
+
+                        int succeeded = 0;
+                        int alreadyMarked = 0;
+                        int notRegistered = 0;
+                        for (Future<EventAttendeeResponse> future : futures) {
+                                try {
+                                        future.get(5, TimeUnit.SECONDS);
+                                        succeeded++;
+                                } catch (ExecutionException e) {
+                                        if (e.getCause() instanceof AttendanceAlreadyMarkedException) {
+                                                alreadyMarked++;
+                                        } else if (e.getCause() instanceof AttendeeNotRegisteredException) {
+                                                notRegistered++;
+                                        }
+                                }
+                        }
+
+                        assertThat(succeeded).isEqualTo(1);
+                        assertThat(alreadyMarked).isEqualTo(2);
+                        assertThat(notRegistered).isEqualTo(1);
+                } finally {
+                        pool.shutdownNow();
+                }
+
+                verify(attendeeRepository).markAttended(eq(List.of(registered.getId())), any());
+        }
+
+        @Test
+        void checkIn_TimedOutWhileQueued_RejectedAndNeverMarked() throws Exception {
+                checkInService.stop();
+                checkInService = new AttendanceCheckInService(attendeeService, attendeeRepository, qrTokenIndex,
+                                messagePublisher, notificationPublisher, transactionManager, true, 100, 1, 1, 100, 1);
+                checkInService.start();
+                EventAttendee slow = attendee(UUID.randomUUID(), false);
+                EventAttendee queued = attendee(UUID.randomUUID(), false);
+                EventAttendee later = attendee(UUID.randomUUID(), false);
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.of(event));
+                CountDownLatch writerBusy = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                when(attendeeRepository.findByEventIdAndUserIdInForUpdate(eq(event.getId()), any()))
+                                .thenAnswer(invocation -> {
+                                        Set<UUID> users = invocation.getArgument(1);
+                                        if (users.contains(slow.getUserId())) {
+                                                writerBusy.countDown();
+                                                release.await(5, TimeUnit.SECONDS);
+                                                return List.of(slow);
+                                        }
+                                        return List.of(later);
+                                });
+                when(attendeeRepository.markAttended(any(), any())).thenReturn(1);
+
+                ExecutorService pool = Executors.newFixedThreadPool(2);
+                try {
+                        Future<EventAttendeeResponse> first = pool.submit(
+                                        () -> checkInService.checkIn(scan, slow.getUserId(), "x@example.com"));
+                        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+                        // Still queued behind the batch the writer is stuck on
+                        assertThatThrownBy(() -> checkInService.checkIn(scan, queued.getUserId(), "x@example.com"))
+                                        .isInstanceOf(BulkheadFullException.class)
+                                        .hasMessageContaining("before it was recorded");
+
+                        // Picked up before its timeout, so it waits for the outcome instead
+                        release.countDown();
+                        assertThat(first.get(5, TimeUnit.SECONDS).isAttended()).isTrue();
+                        assertThat(checkInService.checkIn(scan, later.getUserId(), "x@example.com").isAttended())
+                                        .isTrue();
+                } finally {
+                        release.countDown();
+                        pool.shutdownNow();
+                }
+
+                verify(attendeeRepository, never()).findByEventIdAndUserIdInForUpdate(any(),
+                                argThat(users -> users.contains(queued.getUserId())));
+                verify(messagePublisher, never()).publishEventParticipation(any(), eq(queued.getUserId()), anyInt());
+        }
+
+        @Test
+        void checkIn_BatchFailsOnce_RetriesBatch() {
+                checkInService.start();
+                EventAttendee attendee = attendee(UUID.randomUUID(), false);
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.of(event));
+                when(attendeeRepository.findByEventIdAndUserIdInForUpdate(eq(event.getId()), any()))
+                                .thenReturn(List.of(attendee));
+                when(attendeeRepository.markAttended(any(), any()))
+                                .thenThrow(new CannotAcquireLockException("deadlock detected"))
+                                .thenReturn(1);
+
+                assertThat(checkInService.checkIn(scan, attendee.getUserId(), "a@example.com").isAttended()).isTrue();
+
+                verify(attendeeRepository, times(2)).markAttended(any(), any());
+                verify(messagePublisher, times(1)).publishEventParticipation(event, attendee.getUserId(), 20);
+                verifyNoInteractions(attendeeService);
+        }
+
+        @Test
+        void checkIn_BatchFailsTwice_WritesScansOneByOne() {
+                checkInService.start();
+                EventAttendee attendee = attendee(UUID.randomUUID(), false);
+                EventAttendeeResponse direct = EventAttendeeResponse.builder().attended(true).build();
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.of(event));
+                when(attendeeRepository.findByEventIdAndUserIdInForUpdate(eq(event.getId()), any()))
+                                .thenReturn(List.of(attendee));
+                when(attendeeRepository.markAttended(any(), any()))
+                                .thenThrow(new CannotAcquireLockException("lock timeout"));
+                when(attendeeService.markAttendanceByToken(scan, attendee.getUserId(), "a@example.com"))
+                                .thenReturn(direct);
+
+                assertThat(checkInService.checkIn(scan, attendee.getUserId(), "a@example.com")).isSameAs(direct);
+
+                verify(attendeeRepository, times(2)).markAttended(any(), any());
+                verify(messagePublisher, never()).publishEventParticipation(any(), any(), anyInt());
+        }
+
+        @Test
+        void checkIn_EventNotOngoing_ThrowsWithoutQueueing() {
+                checkInService.start();
+                event.setStatus(EventStatus.REGISTRATION);
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.of(event));
+
+                assertThatThrownBy(() -> checkInService.checkIn(scan, UUID.randomUUID(), "a@example.com"))
+                                .isInstanceOf(InvalidEventStateException.class);
+
+                verifyNoInteractions(attendeeRepository);
+        }
+
+        @Test
+        void checkIn_UnknownToken_ThrowsException() {
+                checkInService.start();
+                when(qrTokenIndex.resolve("qr-token")).thenReturn(Optional.empty());
+
+                assertThatThrownBy(() -> checkInService.checkIn(scan, UUID.randomUUID(), "a@example.com"))
+                                .isInstanceOf(ResourceNotFoundException.class)
+                                .hasMessageContaining("Event not found for provided QR token");
+        }
+
+        private EventAttendee attendee(UUID userId, boolean attended) {
+                return EventAttendee.builder()
+                                .id(UUID.randomUUID())
+                                .userId(userId)
+                                .userEmail("x@example.com")
+                                .registeredAt(LocalDateTime.now().minusDays(1))
+                                .attended(attended)
+                                .event(event)
+                                .build();
+        }
+}
@@ -0,0 +1,83 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.AttendeeCountReconciler;
+import com.greenloop.event_service.services.EventStatsService;
+import com.greenloop.event_service.services.SchedulerLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendeeCountReconcilerTest {
+
+        @Mock
+        private EventRepository eventRepository;
+
+        @Mock
+        private EventStatsService statsService;
+
+        @Mock
+        private SchedulerLeaseService leaseService;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private AttendeeCountReconciler reconciler;
+
+        @BeforeEach
+        void setUp() {
+                reconciler = new AttendeeCountReconciler(eventRepository, statsService, leaseService,
+                                transactionManager, 60_000);
+        }
+
+        @Test
+        void reconcile_ReturnsNumberOfRepairedEvents() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                when(eventRepository.reconcileAttendeeCounts(EventStatus.REGISTRATION, EventStatus.FULL))
+                                .thenReturn(3);
+
+                assertThat(reconciler.reconcile()).isEqualTo(3);
+                verify(statsService).markStale();
+                verify(leaseService).release(anyString());
+        }
+
+        @Test
+        void reconcile_NoDrift_ReturnsZero() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                when(eventRepository.reconcileAttendeeCounts(EventStatus.REGISTRATION, EventStatus.FULL))
+                                .thenReturn(0);
+
+                assertThat(reconciler.reconcile()).isZero();
+                verify(statsService, never()).markStale();
+        }
+
+        @Test
+        void reconcile_LeaseHeldElsewhere_DoesNothing() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(false);
+
+                assertThat(reconciler.reconcile()).isZero();
+                verifyNoInteractions(eventRepository, statsService);
+                verify(leaseService, never()).release(anyString());
+        }
+
+        @Test
+        void reconcile_LeaseTakenOver_RepairsNothing() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(false);
+
+                assertThat(reconciler.reconcile()).isZero();
+                verifyNoInteractions(eventRepository);
+                verify(leaseService).release(anyString());
+        }
+}
@@ -0,0 +1,112 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.services.BatchingRabbitPublisher;
+import com.greenloop.event_service.services.BatchingRabbitPublisher.OutboundMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchingRabbitPublisherTest {
+
+        @Mock
+        private RabbitTemplate rabbitTemplate;
+
+        private SimpleMeterRegistry meterRegistry;
+        private BatchingRabbitPublisher publisher;
+
+        /** Message ids in the order they were sent to the broker. */
+        private final List<String> sendOrder = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                publisher = new BatchingRabbitPublisher(rabbitTemplate, meterRegistry, 100, 2, 0);
+                lenient().when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+                        RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+                        return callback.doInRabbit(rabbitTemplate);
+                });
+        }
+
+        @Test
+        void publish_AllAcked_GroupsByRouteAndRecordsMetrics() {
+                brokerConfirms(id -> true);
+                OutboundMessage a = message("notifications.topic", "event.confirmation");
+                OutboundMessage b = message("gamification.exchange", "event.participation");
+                OutboundMessage c = message("notifications.topic", "event.confirmation");
+
+                Set<String> confirmed = publisher.publish(List.of(a, b, c));
+
+                assertThat(confirmed).containsExactlyInAnyOrder(a.id(), b.id(), c.id());
+                assertThat(sendOrder).containsExactly(a.id(), c.id(), b.id());
+                assertThat(counter("acked")).isEqualTo(3);
+                assertThat(meterRegistry.get("events.publisher.confirm.latency")
+                                .tag("routing_key", "event.confirmation").timer().count()).isEqualTo(2);
+                assertThat(meterRegistry.get("events.publisher.in-flight").gauge().value()).isZero();
+        }
+
+        @Test
+        void publish_NackedOnce_RetriesAndSucceeds() {
+                Set<String> nackedOnce = new HashSet<>();
+                brokerConfirms(id -> !nackedOnce.add(id));
+                OutboundMessage message = message("notifications.topic", "event.attendance");
+
+                assertThat(publisher.publish(List.of(message))).containsExactly(message.id());
+                assertThat(counter("nacked")).isEqualTo(1);
+                assertThat(counter("retried")).isEqualTo(1);
+                assertThat(counter("acked")).isEqualTo(1);
+        }
+
+        @Test
+        void publish_NeverConfirmed_GivesUpAfterMaxAttempts() {
+                OutboundMessage message = message("notifications.topic", "event.attendance");
+
+                assertThat(publisher.publish(List.of(message))).isEmpty();
+                verify(rabbitTemplate, times(2)).send(anyString(), anyString(), any(Message.class),
+                                any(CorrelationData.class));
+                assertThat(counter("timeout")).isEqualTo(2);
+        }
+
+        @Test
+        void publish_BrokerUnreachable_ReturnsNothingConfirmed() {
+                doThrow(new AmqpConnectException(new RuntimeException("down"))).when(rabbitTemplate).invoke(any());
+
+                assertThat(publisher.publish(List.of(message("notifications.topic", "event.attendance")))).isEmpty();
+        }
+
+        /** Completes each send's confirm future, acking when the predicate holds. */
+        private void brokerConfirms(java.util.function.Predicate<String> ack) {
+                doAnswer(invocation -> {
+                        CorrelationData correlation = invocation.getArgument(3);
+                        sendOrder.add(correlation.getId());
+                        boolean acked = ack.test(correlation.getId());
+                        correlation.getFuture().complete(new CorrelationData.Confirm(acked, acked ? null : "nack"));
+                        return null;
+                }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        }
+
+        private double counter(String result) {
+                return meterRegistry.get("events.publisher.messages").tag("result", result).counter().count();
+        }
+
+        private static OutboundMessage message(String exchange, String routingKey) {
+                return new OutboundMessage(UUID.randomUUID().toString(), exchange, routingKey,
+                                new Message("{}".getBytes(), new MessageProperties()));
+        }
+}
@@ -0,0 +1,192 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.config.Bulkhead;
+import com.greenloop.event_service.config.BulkheadInterceptor;
+import com.greenloop.event_service.enums.TrafficClass;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+import com.greenloop.event_service.exceptions.GlobalExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class BulkheadInterceptorTest {
+
+        private SimpleMeterRegistry meterRegistry;
+        private BulkheadInterceptor interceptor;
+
+        @BeforeEach
+        void setUp() {
+                interceptor = interceptor(new MockEnvironment()
+                                .withProperty("events.bulkheads.browse.max-concurrent", "1")
+                                .withProperty("events.bulkheads.browse.max-queued", "1")
+                                .withProperty("events.bulkheads.browse.max-wait-ms", "2000")
+                                .withProperty("events.bulkheads.retry-after-seconds", "3"));
+        }
+
+        @Test
+        void preHandle_rejectsWhenSlotsAndQueueAreFull() throws Exception {
+                MockHttpServletRequest first = new MockHttpServletRequest();
+                interceptor.preHandle(first, new MockHttpServletResponse(), handler("browse"));
+
+                // Takes the only queue place until the first request completes
+                CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> preHandle(handler("browse")));
+                waitUntilQueued(TrafficClass.BROWSE, 1);
+
+                assertThatThrownBy(() -> preHandle(handler("browse")))
+                                .isInstanceOf(BulkheadFullException.class)
+                                .hasMessageContaining("browse")
+                                .extracting("retryAfterSeconds").isEqualTo(3L);
+                assertThat(meterRegistry.get("events.bulkhead.rejected")
+                                .tags("class", "browse", "reason", "queue_full").counter().count()).isEqualTo(1);
+
+                interceptor.afterCompletion(first, new MockHttpServletResponse(), handler("browse"), null);
+                queued.get(5, TimeUnit.SECONDS);
+                assertThat(interceptor.getActive(TrafficClass.BROWSE)).isEqualTo(1);
+                assertThat(meterRegistry.get("events.bulkhead.wait").tag("class", "browse").timer().count())
+                                .isEqualTo(1);
+        }
+
+        @Test
+        void preHandle_rejectsQueuedRequestAfterMaxWait() throws Exception {
+                interceptor = interceptor(new MockEnvironment()
+                                .withProperty("events.bulkheads.admin.max-concurrent", "1")
+                                .withProperty("events.bulkheads.admin.max-wait-ms", "20"));
+                preHandle(handler("admin"));
+
+                assertThatThrownBy(() -> preHandle(handler("admin")))
+                                .isInstanceOf(BulkheadFullException.class)
+                                .hasMessageContaining("no slot within 20 ms");
+                assertThat(meterRegistry.get("events.bulkhead.rejected")
+                                .tags("class", "admin", "reason", "timeout").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        void trafficClasses_haveSeparateLimits() throws Exception {
+                preHandle(handler("browse"));
+
+                preHandle(handler("checkIn"));
+                preHandle(handler("checkIn"));
+
+                assertThat(interceptor.getActive(TrafficClass.BROWSE)).isEqualTo(1);
+                assertThat(interceptor.getActive(TrafficClass.CHECK_IN)).isEqualTo(2);
+                assertThat(meterRegistry.get("events.bulkhead.active").tag("class", "check-in").gauge().value())
+                                .isEqualTo(2);
+        }
+
+        @Test
+        void asyncRequest_keepsItsSlotUntilAsyncDispatchCompletes() throws Exception {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                interceptor.preHandle(request, new MockHttpServletResponse(), handler("browse"));
+                interceptor.afterConcurrentHandlingStarted(request, new MockHttpServletResponse(), handler("browse"));
+
+                request.setDispatcherType(DispatcherType.ASYNC);
+                interceptor.preHandle(request, new MockHttpServletResponse(), handler("browse"));
+                assertThat(interceptor.getActive(TrafficClass.BROWSE)).isEqualTo(1);
+
+                interceptor.afterCompletion(request, new MockHttpServletResponse(), handler("browse"), null);
+                assertThat(interceptor.getActive(TrafficClass.BROWSE)).isZero();
+        }
+
+        @Test
+        void endpointWithoutTrafficClass_isNotLimited() throws Exception {
+                for (int i = 0; i < 5; i++) {
+                        preHandle(new HandlerMethod(new UnlimitedController(), "health"));
+                }
+
+                assertThat(TrafficClass.values())
+                                .allSatisfy(trafficClass -> assertThat(interceptor.getActive(trafficClass)).isZero());
+        }
+
+        @Test
+        void rejectedRequest_gets429WithRetryAfter() throws Exception {
+                interceptor = interceptor(new MockEnvironment()
+                                .withProperty("events.bulkheads.browse.max-concurrent", "0")
+                                .withProperty("events.bulkheads.browse.max-queued", "0")
+                                .withProperty("events.bulkheads.retry-after-seconds", "2"));
+                MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new LimitedController())
+                                .addInterceptors(interceptor)
+                                .setControllerAdvice(new GlobalExceptionHandler())
+                                .build();
+
+                mockMvc.perform(get("/api/browse"))
+                                .andExpect(status().isTooManyRequests())
+                                .andExpect(header().string("Retry-After", "2"))
+                                .andExpect(jsonPath("$.success").value(false));
+        }
+
+        private BulkheadInterceptor interceptor(MockEnvironment environment) {
+                StaticListableBeanFactory beans = new StaticListableBeanFactory();
+                meterRegistry = new SimpleMeterRegistry();
+                beans.addBean("meterRegistry", meterRegistry);
+                return new BulkheadInterceptor(environment, beans.getBeanProvider(MeterRegistry.class));
+        }
+
+        private void preHandle(HandlerMethod handler) {
+                interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+        }
+
+        private static HandlerMethod handler(String method) {
+                try {
+                        return new HandlerMethod(new LimitedController(), method);
+                } catch (NoSuchMethodException e) {
+                        throw new IllegalStateException(e);
+                }
+        }
+
+        private void waitUntilQueued(TrafficClass trafficClass, int expected) throws InterruptedException {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (interceptor.getQueued(trafficClass) < expected && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                }
+                assertThat(interceptor.getQueued(trafficClass)).isEqualTo(expected);
+        }
+
+        @RestController
+        @Bulkhead(TrafficClass.BROWSE)
+        static class LimitedController {
+
+                @GetMapping("/api/browse")
+                public String browse() {
+                        return "ok";
+                }
+
+                @GetMapping("/api/admin")
+                @Bulkhead(TrafficClass.ADMIN)
+                public String admin() {
+                        return "ok";
+                }
+
+                @GetMapping("/api/check-in")
+                @Bulkhead(TrafficClass.CHECK_IN)
+                public String checkIn() {
+                        return "ok";
+                }
+        }
+
+        @RestController
+        static class UnlimitedController {
+
+                @GetMapping("/api/health")
+                public String health() {
+                        return "ok";
+                }
+        }
+}
@@ -0,0 +1,152 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.config.Bulkhead;
+import com.greenloop.event_service.config.BulkheadInterceptor;
+import com.greenloop.event_service.config.ConnectionBulkheadDataSource;
+import com.greenloop.event_service.enums.TrafficClass;
+import com.greenloop.event_service.exceptions.BulkheadFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionBulkheadDataSourceTest {
+
+        private final BulkheadInterceptor interceptor = new BulkheadInterceptor(new MockEnvironment(),
+                        new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        private final ExecutorService pool = Executors.newCachedThreadPool();
+        // Never bound to a traffic class, like a scheduled job
+        private final ExecutorService background = Executors.newSingleThreadExecutor();
+
+        private DataSource pooled;
+
+        @BeforeEach
+        void setUp() throws Exception {
+                pooled = mock(DataSource.class);
+                when(pooled.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        }
+
+        @AfterEach
+        void tearDown() {
+                pool.shutdownNow();
+                background.shutdownNow();
+        }
+
+        @Test
+        void trafficClass_holdsAtMostOneConnectionLessThanThePool() throws Exception {
+                ConnectionBulkheadDataSource dataSource = new ConnectionBulkheadDataSource(pooled, 3,
+                                new MockEnvironment().withProperty("events.bulkheads.browse.max-wait-ms", "20"));
+                CountDownLatch release = new CountDownLatch(1);
+                for (int i = 0; i < 2; i++) {
+                        pool.submit(() -> holdConnection(dataSource, "browse", release));
+                }
+                waitUntilActive(dataSource, TrafficClass.BROWSE, 2);
+
+                Future<Connection> third = pool.submit(() -> connect(dataSource, "browse"));
+                assertThatThrownBy(() -> third.get(5, TimeUnit.SECONDS))
+                                .hasCauseInstanceOf(BulkheadFullException.class)
+                                .hasMessageContaining("no connection within 20 ms");
+
+                // The connection left over is free for other classes and background work
+                assertThat(pool.submit(() -> connect(dataSource, "checkIn")).get(5, TimeUnit.SECONDS)).isNotNull();
+                assertThat(background.submit(() -> dataSource.getConnection()).get(5, TimeUnit.SECONDS)).isNotNull();
+                release.countDown();
+        }
+
+        @Test
+        void nestedConnections_shareTheThreadsPermit() throws Exception {
+                ConnectionBulkheadDataSource dataSource = new ConnectionBulkheadDataSource(pooled, 2,
+                                new MockEnvironment().withProperty("events.bulkheads.browse.max-wait-ms", "20"));
+
+                pool.submit(() -> {
+                        preHandle("browse");
+                        try (Connection outer = dataSource.getConnection();
+                                        Connection inner = dataSource.getConnection()) {
+                                assertThat(dataSource.getActive(TrafficClass.BROWSE)).isEqualTo(1);
+                        }
+                        assertThat(dataSource.getActive(TrafficClass.BROWSE)).isZero();
+                        return null;
+                }).get(5, TimeUnit.SECONDS);
+        }
+
+        @Test
+        void maxConnectionsNotBelowPoolSize_failsStartup() {
+                assertThatThrownBy(() -> new ConnectionBulkheadDataSource(pooled, 2,
+                                new MockEnvironment().withProperty("events.bulkheads.browse.max-connections", "2")))
+                                .isInstanceOf(IllegalStateException.class)
+                                .hasMessageContaining("events.bulkheads.browse.max-connections");
+        }
+
+        @Test
+        void backgroundThread_retriesPoolTimeout() throws Exception {
+                Connection connection = mock(Connection.class);
+                when(pooled.getConnection())
+                                .thenThrow(new SQLTransientConnectionException("Connection is not available"))
+                                .thenReturn(connection);
+                ConnectionBulkheadDataSource dataSource = new ConnectionBulkheadDataSource(pooled, 2,
+                                new MockEnvironment());
+
+                assertThat(background.submit(() -> dataSource.getConnection()).get(5, TimeUnit.SECONDS)).isSameAs(connection);
+                verify(pooled, times(2)).getConnection();
+        }
+
+        private Object holdConnection(DataSource dataSource, String handler, CountDownLatch release)
+                        throws Exception {
+                preHandle(handler);
+                try (Connection ignored = dataSource.getConnection()) {
+                        release.await(5, TimeUnit.SECONDS);
+                }
+                return null;
+        }
+
+        private Connection connect(DataSource dataSource, String handler) throws Exception {
+                preHandle(handler);
+                return dataSource.getConnection();
+        }
+
+        // Binds the calling thread to the handler's traffic class, as for a request
+        private void preHandle(String handler) throws Exception {
+                interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                                new HandlerMethod(new LimitedController(), handler));
+        }
+
+        private static void waitUntilActive(ConnectionBulkheadDataSource dataSource, TrafficClass trafficClass,
+                        int active) throws InterruptedException {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (dataSource.getActive(trafficClass) < active && System.nanoTime() < deadline) {
+                        Thread.sleep(5);
+                }
+                assertThat(dataSource.getActive(trafficClass)).isEqualTo(active);
+        }
+
+        @RestController
+        static class LimitedController {
+
+                @GetMapping("/api/browse")
+                @Bulkhead(TrafficClass.BROWSE)
+                public String browse() {
+                        return "ok";
+                }
+
+                @GetMapping("/api/check-in")
+                @Bulkhead(TrafficClass.CHECK_IN)
+                public String checkIn() {
+                        return "ok";
+                }
+        }
+}
@@ -1,8 +1,12 @@
 package com.greenloop.event_service.unit;
 
+import com.greenloop.event_service.dtos.BulkRegistrationRequest;
+import com.greenloop.event_service.dtos.BulkRegistrationResponse;
+import com.greenloop.event_service.dtos.BulkRegistrationResult;
 import com.greenloop.event_service.dtos.EventAttendeeResponse;
 import com.greenloop.event_service.dtos.ScanRequest;
 import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.RegistrationOutcome;
 import com.greenloop.event_service.exceptions.*;
 import com.greenloop.event_service.models.Event;
 import com.greenloop.event_service.models.EventAttendee;
@@ -10,7 +14,9 @@ import com.greenloop.event_service.repos.EventAttendeeRepository;
 import com.greenloop.event_service.repos.EventRepository;
 import com.greenloop.event_service.services.EventAttendeeService;
 import com.greenloop.event_service.services.EventMessagePublisher;
+import com.greenloop.event_service.services.EventStatsService;
 import com.greenloop.event_service.services.NotificationPublisher;
+import com.greenloop.event_service.services.QrTokenIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -40,6 +46,12 @@ class EventAttendeeServiceTest {
         @Mock
         private NotificationPublisher notificationPublisher;
 
+        @Mock
+        private EventStatsService statsService;
+
+        @Mock
+        private QrTokenIndex qrTokenIndex;
+
         @InjectMocks
         private EventAttendeeService eventAttendeeService;
 
@@ -103,6 +115,7 @@ class EventAttendeeServiceTest {
         void registerAttendee_Success() {
                 when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
                 when(attendeeRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+                when(eventRepository.reserveSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL)).thenReturn(1);
 
                 EventAttendeeResponse response = eventAttendeeService.registerAttendee(eventId, userId, userEmail);
 
@@ -112,6 +125,7 @@ class EventAttendeeServiceTest {
                 assertThat(response.isAttended()).isFalse();
                 verify(eventRepository).findById(eventId);
                 verify(attendeeRepository).existsByUserIdAndEventId(userId, eventId);
+                verify(eventRepository).reserveSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL);
         }
 
         @Test
@@ -142,7 +156,7 @@ class EventAttendeeServiceTest {
         @Test
         void registerAttendee_EventFull_ThrowsException() {
                 testEvent.setCapacity(1);
-                testEvent.getAttendees().add(EventAttendee.builder().id(UUID.randomUUID()).build());
+                testEvent.setAttendeeCount(1);
 
                 when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
                 when(attendeeRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
@@ -153,6 +167,52 @@ class EventAttendeeServiceTest {
 
                 verify(eventRepository).findById(eventId);
                 verify(attendeeRepository).existsByUserIdAndEventId(userId, eventId);
+                verify(eventRepository, never()).reserveSeat(any(), any(), any());
+        }
+
+        @Test
+        void registerAttendee_LastSeatTakenConcurrently_ThrowsException() {
+                when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+                when(eventRepository.reserveSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL)).thenReturn(0);
+                when(eventRepository.findStatusById(eventId)).thenReturn(Optional.of(EventStatus.FULL));
+
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendee(eventId, userId, userEmail))
+                                .isInstanceOf(EventFullException.class)
+                                .hasMessageContaining("Event with id " + eventId + " is full");
+
+                assertThat(testEvent.getAttendees()).isEmpty();
+                verify(notificationPublisher, never()).publishEventConfirmation(any(), any());
+        }
+
+        @Test
+        void registerAttendee_EventStartedSinceLoaded_ThrowsInvalidState() {
+                // The loaded snapshot still says REGISTRATION; the row has moved on
+                when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+                when(eventRepository.reserveSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL)).thenReturn(0);
+                when(eventRepository.findStatusById(eventId)).thenReturn(Optional.of(EventStatus.ONGOING));
+
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendee(eventId, userId, userEmail))
+                                .isInstanceOf(InvalidEventStateException.class)
+                                .hasMessageContaining("not open for registration");
+
+                assertThat(testEvent.getAttendees()).isEmpty();
+                verifyNoInteractions(notificationPublisher);
+        }
+
+        @Test
+        void registerAttendee_RegistrationClosed_ThrowsInvalidState() {
+                testEvent.setStatus(EventStatus.ONGOING);
+                when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.existsByUserIdAndEventId(userId, eventId)).thenReturn(false);
+
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendee(eventId, userId, userEmail))
+                                .isInstanceOf(InvalidEventStateException.class)
+                                .hasMessageContaining("not open for registration");
+
+                verify(eventRepository, never()).reserveSeat(any(), any(), any());
+                verifyNoInteractions(notificationPublisher);
         }
 
         @Test
@@ -208,6 +268,7 @@ class EventAttendeeServiceTest {
 
                 verify(attendeeRepository).findByUserIdAndEventId(userId, eventId);
                 verify(attendeeRepository).delete(testAttendee);
+                verify(eventRepository).releaseSeat(eventId, EventStatus.REGISTRATION, EventStatus.FULL);
         }
 
         @Test
@@ -221,6 +282,7 @@ class EventAttendeeServiceTest {
 
                 verify(attendeeRepository).findByUserIdAndEventId(userId, eventId);
                 verify(attendeeRepository, never()).delete(any());
+                verify(eventRepository, never()).releaseSeat(any(), any(), any());
         }
 
         @Test
@@ -229,8 +291,8 @@ class EventAttendeeServiceTest {
                 ScanRequest scanRequest = new ScanRequest();
                 scanRequest.setQrToken("test-qr-token");
 
-                when(eventRepository.findByQrToken("test-qr-token")).thenReturn(Optional.of(testEvent));
-                when(attendeeRepository.findByUserIdAndEventId(userId, eventId))
+                when(qrTokenIndex.resolve("test-qr-token")).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.findByUserIdAndEventIdForUpdate(userId, eventId))
                                 .thenReturn(Optional.of(testAttendee));
                 when(attendeeRepository.save(any(EventAttendee.class))).thenReturn(testAttendee);
 
@@ -240,8 +302,8 @@ class EventAttendeeServiceTest {
                 assertThat(response).isNotNull();
                 assertThat(testAttendee.isAttended()).isTrue();
                 assertThat(testAttendee.getAttendedAt()).isNotNull();
-                verify(eventRepository).findByQrToken("test-qr-token");
-                verify(attendeeRepository).findByUserIdAndEventId(userId, eventId);
+                verify(qrTokenIndex).resolve("test-qr-token");
+                verify(attendeeRepository).findByUserIdAndEventIdForUpdate(userId, eventId);
                 verify(attendeeRepository).save(testAttendee);
         }
 
@@ -250,15 +312,15 @@ class EventAttendeeServiceTest {
                 ScanRequest scanRequest = new ScanRequest();
                 scanRequest.setQrToken("invalid-token");
 
-                when(eventRepository.findByQrToken("invalid-token")).thenReturn(Optional.empty());
+                when(qrTokenIndex.resolve("invalid-token")).thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> eventAttendeeService.markAttendanceByToken(
                                 scanRequest, userId, userEmail))
                                 .isInstanceOf(ResourceNotFoundException.class)
                                 .hasMessageContaining("Event not found for provided QR token");
 
-                verify(eventRepository).findByQrToken("invalid-token");
-                verify(attendeeRepository, never()).findByUserIdAndEventId(any(), any());
+                verify(qrTokenIndex).resolve("invalid-token");
+                verify(attendeeRepository, never()).findByUserIdAndEventIdForUpdate(any(), any());
         }
 
         @Test
@@ -267,15 +329,15 @@ class EventAttendeeServiceTest {
                 ScanRequest scanRequest = new ScanRequest();
                 scanRequest.setQrToken("test-qr-token");
 
-                when(eventRepository.findByQrToken("test-qr-token")).thenReturn(Optional.of(testEvent));
+                when(qrTokenIndex.resolve("test-qr-token")).thenReturn(Optional.of(testEvent));
 
                 assertThatThrownBy(() -> eventAttendeeService.markAttendanceByToken(
                                 scanRequest, userId, userEmail))
                                 .isInstanceOf(InvalidEventStateException.class)
                                 .hasMessageContaining("Attendance can only be marked for ongoing events");
 
-                verify(eventRepository).findByQrToken("test-qr-token");
-                verify(attendeeRepository, never()).findByUserIdAndEventId(any(), any());
+                verify(qrTokenIndex).resolve("test-qr-token");
+                verify(attendeeRepository, never()).findByUserIdAndEventIdForUpdate(any(), any());
         }
 
         @Test
@@ -284,8 +346,8 @@ class EventAttendeeServiceTest {
                 ScanRequest scanRequest = new ScanRequest();
                 scanRequest.setQrToken("test-qr-token");
 
-                when(eventRepository.findByQrToken("test-qr-token")).thenReturn(Optional.of(testEvent));
-                when(attendeeRepository.findByUserIdAndEventId(userId, eventId))
+                when(qrTokenIndex.resolve("test-qr-token")).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.findByUserIdAndEventIdForUpdate(userId, eventId))
                                 .thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> eventAttendeeService.markAttendanceByToken(
@@ -293,8 +355,8 @@ class EventAttendeeServiceTest {
                                 .isInstanceOf(AttendeeNotRegisteredException.class)
                                 .hasMessageContaining("User with ID " + userId + " did not register for this event");
 
-                verify(eventRepository).findByQrToken("test-qr-token");
-                verify(attendeeRepository).findByUserIdAndEventId(userId, eventId);
+                verify(qrTokenIndex).resolve("test-qr-token");
+                verify(attendeeRepository).findByUserIdAndEventIdForUpdate(userId, eventId);
         }
 
         @Test
@@ -305,8 +367,8 @@ class EventAttendeeServiceTest {
                 ScanRequest scanRequest = new ScanRequest();
                 scanRequest.setQrToken("test-qr-token");
 
-                when(eventRepository.findByQrToken("test-qr-token")).thenReturn(Optional.of(testEvent));
-                when(attendeeRepository.findByUserIdAndEventId(userId, eventId))
+                when(qrTokenIndex.resolve("test-qr-token")).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.findByUserIdAndEventIdForUpdate(userId, eventId))
                                 .thenReturn(Optional.of(testAttendee));
 
                 assertThatThrownBy(() -> eventAttendeeService.markAttendanceByToken(
@@ -314,8 +376,106 @@ class EventAttendeeServiceTest {
                                 .isInstanceOf(AttendanceAlreadyMarkedException.class)
                                 .hasMessageContaining("User with ID " + userId + " has already marked attendance");
 
-                verify(eventRepository).findByQrToken("test-qr-token");
-                verify(attendeeRepository).findByUserIdAndEventId(userId, eventId);
+                verify(qrTokenIndex).resolve("test-qr-token");
+                verify(attendeeRepository).findByUserIdAndEventIdForUpdate(userId, eventId);
                 verify(attendeeRepository, never()).save(any());
         }
-}
\ No newline at end of file
+
+        @Test
+        void registerAttendees_MixedOutcomes_ReservesRemainingSeatsOnce() {
+                testEvent.setCapacity(3);
+                testEvent.setAttendeeCount(1);
+                UUID existing = UUID.randomUUID();
+                UUID first = UUID.randomUUID();
+                UUID second = UUID.randomUUID();
+                UUID third = UUID.randomUUID();
+                List<BulkRegistrationRequest.Registrant> registrants = List.of(
+                                new BulkRegistrationRequest.Registrant(existing, "existing@example.com"),
+                                new BulkRegistrationRequest.Registrant(first, "first@example.com"),
+                                new BulkRegistrationRequest.Registrant(first, "first@example.com"),
+                                new BulkRegistrationRequest.Registrant(second, "second@example.com"),
+                                new BulkRegistrationRequest.Registrant(third, "third@example.com"));
+
+                when(eventRepository.findByIdForUpdate(eventId)).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.findByEventIdAndUserIdIn(eq(eventId), any()))
+                                .thenReturn(List.of(EventAttendee.builder().userId(existing).build()));
+                when(eventRepository.reserveSeats(eventId, 2, EventStatus.REGISTRATION, EventStatus.FULL))
+                                .thenReturn(1);
+
+                BulkRegistrationResponse response = eventAttendeeService.registerAttendees(eventId, registrants);
+
+                assertThat(response.getResults()).extracting(BulkRegistrationResult::getOutcome).containsExactly(
+                                RegistrationOutcome.ALREADY_REGISTERED,
+                                RegistrationOutcome.REGISTERED,
+                                RegistrationOutcome.ALREADY_REGISTERED,
+                                RegistrationOutcome.REGISTERED,
+                                RegistrationOutcome.FULL);
+                assertThat(response.getRegistered()).isEqualTo(2);
+                assertThat(response.getAlreadyRegistered()).isEqualTo(2);
+                assertThat(response.getFull()).isEqualTo(1);
+                assertThat(response.getResults().get(1).getAttendee().getUserEmail()).isEqualTo("first@example.com");
+                assertThat(response.getResults().get(4).getAttendee()).isNull();
+
+                verify(eventRepository).reserveSeats(eventId, 2, EventStatus.REGISTRATION, EventStatus.FULL);
+                verify(attendeeRepository).saveAll(argThat(attendees -> attendees instanceof List<?> list
+                                && list.size() == 2));
+                verify(notificationPublisher).publishEventConfirmations(testEvent,
+                                List.of("first@example.com", "second@example.com"));
+                verify(statsService).markStale();
+                verify(notificationPublisher, never()).publishEventConfirmation(anyString(), any());
+        }
+
+        @Test
+        void registerAttendees_EventAlreadyFull_ReservesNothing() {
+                testEvent.setCapacity(1);
+                testEvent.setAttendeeCount(1);
+                when(eventRepository.findByIdForUpdate(eventId)).thenReturn(Optional.of(testEvent));
+                when(attendeeRepository.findByEventIdAndUserIdIn(eq(eventId), any())).thenReturn(List.of());
+
+                BulkRegistrationResponse response = eventAttendeeService.registerAttendees(eventId,
+                                List.of(new BulkRegistrationRequest.Registrant(userId, userEmail)));
+
+                assertThat(response.getFull()).isEqualTo(1);
+                verify(eventRepository, never()).reserveSeats(any(), anyInt(), any(), any());
+                verify(attendeeRepository, never()).saveAll(any());
+                verifyNoInteractions(notificationPublisher);
+        }
+
+        @Test
+        void registerAttendees_RegistrationClosed_ThrowsInvalidState() {
+                testEvent.setStatus(EventStatus.CLOSED);
+                when(eventRepository.findByIdForUpdate(eventId)).thenReturn(Optional.of(testEvent));
+
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendees(eventId,
+                                List.of(new BulkRegistrationRequest.Registrant(userId, userEmail))))
+                                .isInstanceOf(InvalidEventStateException.class)
+                                .hasMessageContaining("not open for registration");
+
+                verify(eventRepository, never()).reserveSeats(any(), anyInt(), any(), any());
+                verify(attendeeRepository, never()).saveAll(any());
+                verifyNoInteractions(notificationPublisher);
+        }
+
+        @Test
+        void registerAttendees_EventNotFound_ThrowsException() {
+                when(eventRepository.findByIdForUpdate(eventId)).thenReturn(Optional.empty());
+
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendees(eventId,
+                                List.of(new BulkRegistrationRequest.Registrant(userId, userEmail))))
+                                .isInstanceOf(EventNotFoundException.class);
+        }
+
+        @Test
+        void registerAttendees_EmptyOrTooLarge_ThrowsException() {
+                List<BulkRegistrationRequest.Registrant> tooMany = new ArrayList<>();
+                for (int i = 0; i <= EventAttendeeService.MAX_BULK_REGISTRATIONS; i++) {
+                        tooMany.add(new BulkRegistrationRequest.Registrant(UUID.randomUUID(), i + "@example.com"));
+                }
+
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendees(eventId, List.of()))
+                                .isInstanceOf(InvalidBulkRegistrationException.class);
+                assertThatThrownBy(() -> eventAttendeeService.registerAttendees(eventId, tooMany))
+                                .isInstanceOf(InvalidBulkRegistrationException.class);
+                verifyNoInteractions(eventRepository);
+        }
+}
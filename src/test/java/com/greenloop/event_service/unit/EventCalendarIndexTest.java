@@ -0,0 +1,127 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.dtos.CalendarEventResponse;
+import com.greenloop.event_service.dtos.EventCalendarResponse;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.exceptions.InvalidDateRangeException;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventCalendarIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventCalendarIndexTest {
+
+        private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+        @Mock
+        private EventRepository eventRepository;
+
+        private EventCalendarIndex index;
+        private CalendarEventResponse morning;
+        private CalendarEventResponse evening;
+        private CalendarEventResponse nextWeek;
+
+        @BeforeEach
+        void setUp() {
+                index = new EventCalendarIndex(eventRepository, 31, 92);
+                morning = entry("Morning Planting", TOMORROW.atTime(9, 0));
+                evening = entry("Evening Cleanup", TOMORROW.atTime(18, 0));
+                nextWeek = entry("Workshop", TOMORROW.plusDays(7).atTime(10, 0));
+                lenient().when(eventRepository.findCalendarEntries(any(), isNull()))
+                                .thenReturn(List.of(evening, nextWeek, morning));
+        }
+
+        @Test
+        void count_WholeAndPartialDays_FiltersOnlyBoundaryDays() {
+                assertThat(index.count(TOMORROW.atStartOfDay(), TOMORROW.plusDays(8).atStartOfDay())).isEqualTo(3);
+                assertThat(index.count(TOMORROW.atTime(12, 0), TOMORROW.plusDays(7).atTime(10, 0))).isEqualTo(1);
+                assertThat(index.count(TOMORROW.atTime(9, 0), TOMORROW.plusDays(7).atTime(10, 1))).isEqualTo(3);
+
+                verify(eventRepository, times(1)).findCalendarEntries(any(), isNull());
+        }
+
+        @Test
+        void getCalendar_GroupsByDayInStartOrder() {
+                EventCalendarResponse calendar = index.getCalendar(TOMORROW, TOMORROW.plusDays(6));
+
+                assertThat(calendar.getTotal()).isEqualTo(2);
+                assertThat(calendar.getDays()).hasSize(1);
+                assertThat(calendar.getDays().get(0).getDate()).isEqualTo(TOMORROW);
+                assertThat(calendar.getDays().get(0).getEvents()).containsExactly(morning, evening);
+        }
+
+        @Test
+        void put_UpdatedEvent_MovesToNewDay() {
+                index.count(TOMORROW.atStartOfDay(), TOMORROW.plusDays(1).atStartOfDay());
+
+                index.put(Event.builder()
+                                .id(morning.getId())
+                                .name(morning.getName())
+                                .type(EventType.TREE_PLANTING)
+                                .startDateTime(TOMORROW.plusDays(2).atTime(9, 0))
+                                .endDateTime(TOMORROW.plusDays(2).atTime(11, 0))
+                                .build());
+
+                assertThat(index.getCalendar(TOMORROW, TOMORROW).getTotal()).isEqualTo(1);
+                assertThat(index.getCalendar(TOMORROW.plusDays(2), TOMORROW.plusDays(2)).getDays().get(0)
+                                .getEvents().get(0).getId()).isEqualTo(morning.getId());
+                assertThat(index.size()).isEqualTo(3);
+        }
+
+        @Test
+        void remove_DeletedEvent_DropsIt() {
+                index.rebuild();
+
+                index.remove(evening.getId());
+
+                assertThat(index.count(TOMORROW.atStartOfDay(), TOMORROW.plusDays(30).atStartOfDay())).isEqualTo(2);
+                assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        void getCalendar_BeforeRetention_ReadsFromDatabase() {
+                LocalDate longAgo = LocalDate.now().minusDays(90);
+                CalendarEventResponse old = entry("Old Event", longAgo.atTime(10, 0));
+                when(eventRepository.findCalendarEntries(longAgo.atStartOfDay(), longAgo.plusDays(1).atStartOfDay()))
+                                .thenReturn(List.of(old));
+
+                EventCalendarResponse calendar = index.getCalendar(longAgo, longAgo);
+
+                assertThat(calendar.getTotal()).isEqualTo(1);
+                assertThat(calendar.getDays().get(0).getEvents()).containsExactly(old);
+        }
+
+        @Test
+        void getCalendar_InvalidWindow_Throws() {
+                assertThatThrownBy(() -> index.getCalendar(TOMORROW, TOMORROW.minusDays(1)))
+                                .isInstanceOf(InvalidDateRangeException.class);
+                assertThatThrownBy(() -> index.getCalendar(TOMORROW, TOMORROW.plusDays(92)))
+                                .isInstanceOf(InvalidDateRangeException.class);
+                verifyNoInteractions(eventRepository);
+        }
+
+        private static CalendarEventResponse entry(String name, LocalDateTime start) {
+                return CalendarEventResponse.builder()
+                                .id(UUID.randomUUID())
+                                .name(name)
+                                .type(EventType.TREE_PLANTING)
+                                .location("Riverside")
+                                .startDateTime(start)
+                                .endDateTime(start.plusHours(2))
+                                .build();
+        }
+}
@@ -1,22 +1,35 @@
 package com.greenloop.event_service.unit;
 
 import com.greenloop.event_service.dtos.CreateEventRequest;
+import com.greenloop.event_service.dtos.EventPageResponse;
 import com.greenloop.event_service.dtos.EventResponse;
+import com.greenloop.event_service.dtos.EventVersion;
 import com.greenloop.event_service.dtos.UpdateEventRequest;
+import com.greenloop.event_service.dtos.UserEventsResponse;
 import com.greenloop.event_service.enums.EventStatus;
 import com.greenloop.event_service.enums.EventType;
 import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.exceptions.InvalidCursorException;
+import com.greenloop.event_service.exceptions.InvalidFilterException;
 import com.greenloop.event_service.models.Event;
 import com.greenloop.event_service.models.EventAttendee;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
 import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventCalendarIndex;
 import com.greenloop.event_service.services.EventService;
+import com.greenloop.event_service.services.EventStatsService;
+import com.greenloop.event_service.services.NotificationPayloadCache;
+import com.greenloop.event_service.services.QrTokenIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -28,7 +41,7 @@ import static org.mockito.Mockito.*;
  * Comprehensive unit tests for EventService.
  * <p>
  * Tests both command operations (create, update, delete) and query operations
- * (get all, get by ID, user event relationships, analytics).
+ * (paginated catalog, get by ID, user event relationships).
  * </p>
  */
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +50,21 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private EventAttendeeRepository attendeeRepository;
+
+    @Mock
+    private EventStatsService statsService;
+
+    @Mock
+    private QrTokenIndex qrTokenIndex;
+
+    @Mock
+    private NotificationPayloadCache payloadCache;
+
+    @Mock
+    private EventCalendarIndex calendarIndex;
+
     @InjectMocks
     private EventService eventService;
 
@@ -95,6 +123,8 @@ class EventServiceTest {
         assertThat(response.getStatus()).isEqualTo(EventStatus.REGISTRATION.name());
         assertThat(response.getQrToken()).isNotNull();
         verify(eventRepository).save(any(Event.class));
+        verify(statsService).markStale();
+        verify(calendarIndex).put(testEvent);
     }
 
     @Test
@@ -107,6 +137,9 @@ class EventServiceTest {
         assertThat(response).isNotNull();
         verify(eventRepository).findById(eventId);
         verify(eventRepository).save(testEvent);
+        verify(qrTokenIndex).evict(eventId);
+        verify(payloadCache).evict(eventId);
+        verify(calendarIndex).put(testEvent);
     }
 
     @Test
@@ -129,6 +162,10 @@ class EventServiceTest {
 
         verify(eventRepository).existsById(eventId);
         verify(eventRepository).deleteById(eventId);
+        verify(statsService).markStale();
+        verify(qrTokenIndex).evict(eventId);
+        verify(payloadCache).evict(eventId);
+        verify(calendarIndex).remove(eventId);
     }
 
     @Test
@@ -146,26 +183,118 @@ class EventServiceTest {
     // ==================== QUERY OPERATION TESTS ==================== //
 
     @Test
-    void getAllEvents_Success() {
-        List<Event> events = Arrays.asList(testEvent);
-        when(eventRepository.findAll()).thenReturn(events);
+    void getEvents_FirstPage_Success() {
+        when(eventRepository.findEventPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                any(Pageable.class))).thenReturn(List.of(testEvent));
+
+        EventPageResponse page = eventService.getEvents(null, null, null, null, null, 20);
+
+        assertThat(page.getEvents()).hasSize(1);
+        assertThat(page.getEvents().get(0).getId()).isEqualTo(eventId);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(eventRepository).findEventPage(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 21)));
+    }
+
+    @Test
+    void getEvents_EmptyList() {
+        when(eventRepository.findEventPage(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        EventPageResponse page = eventService.getEvents(null, null, null, null, null, 20);
+
+        assertThat(page.getEvents()).isEmpty();
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    void getEvents_NextCursorRoundTripsToKeysetPosition() {
+        Event second = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Second Event")
+                .startDateTime(testEvent.getStartDateTime().plusHours(1))
+                .type(EventType.WORKSHOP)
+                .status(EventStatus.REGISTRATION)
+                .build();
+        when(eventRepository.findEventPage(eq(EventStatus.REGISTRATION), eq(EventType.WORKSHOP), any(), any(),
+                isNull(), isNull(), any(Pageable.class))).thenReturn(List.of(testEvent, second));
+
+        EventPageResponse page = eventService.getEvents("registration", "workshop", null, null, null, 1);
+
+        assertThat(page.getEvents()).hasSize(1);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+
+        when(eventRepository.findEventPage(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(second));
+
+        eventService.getEvents("registration", "workshop", null, null, page.getNextCursor(), 1);
+
+        verify(eventRepository).findEventPage(eq(EventStatus.REGISTRATION), eq(EventType.WORKSHOP), isNull(),
+                isNull(), eq(testEvent.getStartDateTime()), eq(eventId), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void getEventsEtag_MatchesPageWithoutLoadingEvents() {
+        when(eventRepository.findEventPage(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(testEvent));
+        when(eventRepository.findEventPageVersions(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(new EventVersion(eventId, testEvent.getVersion(), null)));
+
+        String etag = eventService.getEventsEtag(null, null, null, null, null, 20);
+
+        assertThat(etag).isEqualTo(eventService.getEvents(null, null, null, null, null, 20).getEtag());
+        verify(eventRepository).findEventPageVersions(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 21)));
+        verify(eventRepository, times(1)).findEventPage(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getEventsEtag_ChangesWithVersionAndCursor() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (testEvent.getStartDateTime() + "|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        when(eventRepository.findEventPageVersions(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(new EventVersion(eventId, 1, null)));
+        String first = eventService.getEventsEtag(null, null, null, null, null, 20);
+        String withCursor = eventService.getEventsEtag(null, null, null, null, cursor, 20);
+
+        when(eventRepository.findEventPageVersions(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(new EventVersion(eventId, 2, null)));
+        String bumped = eventService.getEventsEtag(null, null, null, null, null, 20);
+
+        assertThat(Set.of(first, withCursor, bumped)).hasSize(3);
+    }
+
+    @Test
+    void getEvents_PageSizeIsClamped() {
+        when(eventRepository.findEventPage(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<EventResponse> responses = eventService.getAllEvents();
+        eventService.getEvents(null, null, null, null, null, 10_000);
 
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).getId()).isEqualTo(eventId);
-        assertThat(responses.get(0).getName()).isEqualTo(testEvent.getName());
-        verify(eventRepository).findAll();
+        verify(eventRepository).findEventPage(any(), any(), any(), any(), any(), any(),
+                eq(PageRequest.of(0, EventService.MAX_PAGE_SIZE + 1)));
     }
 
     @Test
-    void getAllEvents_EmptyList() {
-        when(eventRepository.findAll()).thenReturn(Collections.emptyList());
+    void getEvents_InvalidCursor_ThrowsException() {
+        assertThatThrownBy(() -> eventService.getEvents(null, null, null, null, "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
 
-        List<EventResponse> responses = eventService.getAllEvents();
+        verify(eventRepository, never()).findEventPage(any(), any(), any(), any(), any(), any(), any());
+    }
 
-        assertThat(responses).isEmpty();
-        verify(eventRepository).findAll();
+    @Test
+    void getEvents_UnknownStatus_ThrowsInvalidFilter() {
+        assertThatThrownBy(() -> eventService.getEvents("bogus", null, null, null, null, 20))
+                .isInstanceOf(InvalidFilterException.class)
+                .hasMessageContaining("status");
+        assertThatThrownBy(() -> eventService.getEvents(null, "bogus", null, null, null, 20))
+                .isInstanceOf(InvalidFilterException.class)
+                .hasMessageContaining("type");
+
+        verify(eventRepository, never()).findEventPage(any(), any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -177,9 +306,44 @@ class EventServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(eventId);
         assertThat(response.getName()).isEqualTo(testEvent.getName());
+        assertThat(response.getVersion().getEtag()).isEqualTo("\"" + eventId + "-" + testEvent.getVersion() + "\"");
         verify(eventRepository).findById(eventId);
     }
 
+    @Test
+    void getEvents_EtagChangesWithEventVersion() {
+        when(eventRepository.findEventPage(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(testEvent));
+
+        String before = eventService.getEvents(null, null, null, null, null, 20).getEtag();
+        String unchanged = eventService.getEvents(null, null, null, null, null, 20).getEtag();
+        testEvent.setVersion(testEvent.getVersion() + 1);
+        String after = eventService.getEvents(null, null, null, null, null, 20).getEtag();
+
+        assertThat(before).startsWith("\"").endsWith("\"").isEqualTo(unchanged);
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void getEventVersion_Success() {
+        testEvent.setVersion(7);
+        testEvent.setUpdatedAt(LocalDateTime.of(2026, 3, 1, 10, 0));
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
+
+        EventVersion version = eventService.getEventVersion(eventId);
+
+        assertThat(version.getEtag()).isEqualTo("\"" + eventId + "-7\"");
+        assertThat(version.getLastModifiedMillis()).isPositive();
+    }
+
+    @Test
+    void getEventVersion_NotFound_ThrowsException() {
+        when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> eventService.getEventVersion(eventId))
+                .isInstanceOf(EventNotFoundException.class);
+    }
+
     @Test
     void getEventById_NotFound_ThrowsException() {
         when(eventRepository.findById(eventId)).thenReturn(Optional.empty());
@@ -194,251 +358,142 @@ class EventServiceTest {
     @Test
     void upcomingEventForUser_Success() {
         UUID userId = UUID.randomUUID();
-        LocalDateTime now = LocalDateTime.now();
+        EventAttendee registration = EventAttendee.builder().userId(userId).event(testEvent).build();
+        when(eventRepository.findUpcomingForUser(eq(userId), any(LocalDateTime.class), isNull(), isNull(),
+                eq(PageRequest.of(0, 21)))).thenReturn(List.of(registration));
 
-        Event futureEvent = Event.builder()
-                .id(UUID.randomUUID())
-                .name("Future Event")
-                .startDateTime(now.plusDays(5))
-                .endDateTime(now.plusDays(6))
-                .capacity(100)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .type(EventType.WORKSHOP)
-                .status(EventStatus.REGISTRATION)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(now)
-                .build();
+        EventPageResponse page = eventService.upcomingEventForUser(userId, null, 20);
 
-        Event pastEvent = Event.builder()
-                .id(UUID.randomUUID())
-                .name("Past Event")
-                .startDateTime(now.minusDays(2))
-                .endDateTime(now.minusDays(1))
-                .capacity(100)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .type(EventType.WORKSHOP)
-                .status(EventStatus.CLOSED)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(now)
-                .build();
-
-        when(eventRepository.findAllEventsByAttendeeId(userId))
-                .thenReturn(Arrays.asList(futureEvent, pastEvent));
-
-        List<EventResponse> responses = eventService.upcomingEventForUser(userId);
-
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).getName()).isEqualTo("Future Event");
-        verify(eventRepository).findAllEventsByAttendeeId(userId);
+        assertThat(page.getEvents()).hasSize(1);
+        assertThat(page.getEvents().get(0).getName()).isEqualTo("Test Event");
+        assertThat(page.isHasNext()).isFalse();
     }
 
     @Test
     void upcomingEventForUser_NoUpcomingEvents() {
         UUID userId = UUID.randomUUID();
-        LocalDateTime now = LocalDateTime.now();
+        when(eventRepository.findUpcomingForUser(eq(userId), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        Event pastEvent = Event.builder()
-                .id(UUID.randomUUID())
-                .name("Past Event")
-                .startDateTime(now.minusDays(2))
-                .endDateTime(now.minusDays(1))
-                .capacity(100)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .type(EventType.WORKSHOP)
-                .status(EventStatus.CLOSED)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(now)
-                .build();
-
-        when(eventRepository.findAllEventsByAttendeeId(userId))
-                .thenReturn(Collections.singletonList(pastEvent));
-
-        List<EventResponse> responses = eventService.upcomingEventForUser(userId);
+        EventPageResponse page = eventService.upcomingEventForUser(userId, null, 20);
 
-        assertThat(responses).isEmpty();
-        verify(eventRepository).findAllEventsByAttendeeId(userId);
+        assertThat(page.getEvents()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
     }
 
     @Test
     void pastEventsForUser_Success() {
         UUID userId = UUID.randomUUID();
         LocalDateTime now = LocalDateTime.now();
-
-        Event pastEvent = Event.builder()
+        Event recent = Event.builder()
                 .id(UUID.randomUUID())
-                .name("Past Event")
+                .name("Recent Event")
                 .startDateTime(now.minusDays(2))
                 .endDateTime(now.minusDays(1))
-                .capacity(100)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .type(EventType.TREE_PLANTING)
+                .type(EventType.WORKSHOP)
                 .status(EventStatus.CLOSED)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(now)
                 .build();
-
-        Event futureEvent = Event.builder()
+        Event older = Event.builder()
                 .id(UUID.randomUUID())
-                .name("Future Event")
-                .startDateTime(now.plusDays(5))
-                .endDateTime(now.plusDays(6))
-                .capacity(100)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
+                .name("Older Event")
+                .startDateTime(now.minusDays(10))
+                .endDateTime(now.minusDays(9))
                 .type(EventType.WORKSHOP)
-                .status(EventStatus.REGISTRATION)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(now)
+                .status(EventStatus.CLOSED)
                 .build();
+        when(eventRepository.findPastForUser(eq(userId), any(LocalDateTime.class), isNull(), isNull(),
+                eq(PageRequest.of(0, 2)))).thenReturn(List.of(
+                        EventAttendee.builder().userId(userId).event(recent).build(),
+                        EventAttendee.builder().userId(userId).event(older).build()));
 
-        when(eventRepository.findAllEventsByAttendeeId(userId))
-                .thenReturn(Arrays.asList(pastEvent, futureEvent));
+        EventPageResponse page = eventService.pastEventsForUser(userId, null, 1);
 
-        List<EventResponse> responses = eventService.pastEventsForUser(userId);
+        assertThat(page.getEvents()).hasSize(1);
+        assertThat(page.getEvents().get(0).getName()).isEqualTo("Recent Event");
+        assertThat(page.isHasNext()).isTrue();
 
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).getName()).isEqualTo("Past Event");
-        verify(eventRepository).findAllEventsByAttendeeId(userId);
-    }
+        when(eventRepository.findPastForUser(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-    @Test
-    void pastEventsForUser_NoPastEvents() {
-        UUID userId = UUID.randomUUID();
-        LocalDateTime now = LocalDateTime.now();
+        eventService.pastEventsForUser(userId, page.getNextCursor(), 1);
 
-        Event futureEvent = Event.builder()
-                .id(UUID.randomUUID())
-                .name("Future Event")
-                .startDateTime(now.plusDays(5))
-                .endDateTime(now.plusDays(6))
-                .capacity(100)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .type(EventType.WORKSHOP)
-                .status(EventStatus.REGISTRATION)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(now)
-                .build();
-
-        when(eventRepository.findAllEventsByAttendeeId(userId))
-                .thenReturn(Collections.singletonList(futureEvent));
+        verify(eventRepository).findPastForUser(eq(userId), any(), eq(recent.getStartDateTime()),
+                eq(recent.getId()), eq(PageRequest.of(0, 2)));
+    }
 
-        List<EventResponse> responses = eventService.pastEventsForUser(userId);
+    @Test
+    void pastEventsForUser_InvalidCursor_ThrowsException() {
+        assertThatThrownBy(() -> eventService.pastEventsForUser(UUID.randomUUID(), "not-a-cursor", 20))
+                .isInstanceOf(InvalidCursorException.class);
 
-        assertThat(responses).isEmpty();
-        verify(eventRepository).findAllEventsByAttendeeId(userId);
+        verify(eventRepository, never()).findPastForUser(any(), any(), any(), any(), any());
     }
 
     @Test
-    void upcomingNotJoinedEventsForUser_Success() {
+    void getUserEvents_ReturnsBothSlicesWithAttendance() {
         UUID userId = UUID.randomUUID();
-        EventAttendee joinedAttendee = new EventAttendee();
-        joinedAttendee.setUserId(userId);
-
-        Event availableEvent = Event.builder()
-                .id(UUID.randomUUID())
-                .name("Available Event")
-                .capacity(10)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .startDateTime(LocalDateTime.now().plusDays(3))
-                .endDateTime(LocalDateTime.now().plusDays(4))
-                .type(EventType.WORKSHOP)
-                .status(EventStatus.REGISTRATION)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(LocalDateTime.now())
-                .attendees(new ArrayList<>())
-                .build();
-
-        Event joinedEvent = Event.builder()
+        LocalDateTime attendedAt = LocalDateTime.now().minusDays(1);
+        Event pastEvent = Event.builder()
                 .id(UUID.randomUUID())
-                .name("Joined Event")
-                .capacity(10)
-                .coins(50)
-                .organizer("Organizer")
-                .imageUrl("http://example.com/image.jpg")
-                .startDateTime(LocalDateTime.now().plusDays(1))
-                .endDateTime(LocalDateTime.now().plusDays(2))
+                .name("Past Event")
+                .startDateTime(LocalDateTime.now().minusDays(2))
+                .endDateTime(LocalDateTime.now().minusDays(1))
                 .type(EventType.WORKSHOP)
-                .status(EventStatus.REGISTRATION)
-                .qrToken(UUID.randomUUID().toString())
-                .qrGeneratedAt(LocalDateTime.now())
-                .attendees(List.of(joinedAttendee))
+                .status(EventStatus.CLOSED)
                 .build();
-
-        when(eventRepository.findAll()).thenReturn(List.of(availableEvent, joinedEvent));
-
-        List<EventResponse> responses = eventService.upcomingNotJoinedEventsForUser(userId);
-
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).getName()).isEqualTo("Available Event");
-        verify(eventRepository).findAll();
+        when(eventRepository.findUpcomingForUser(eq(userId), any(), isNull(), isNull(),
+                eq(PageRequest.of(0, 10)))).thenReturn(List.of(
+                        EventAttendee.builder().userId(userId).event(testEvent).build()));
+        when(eventRepository.findPastForUser(eq(userId), any(), isNull(), isNull(),
+                eq(PageRequest.of(0, 10)))).thenReturn(List.of(
+                        EventAttendee.builder().userId(userId).event(pastEvent).attended(true)
+                                .attendedAt(attendedAt).build()));
+
+        UserEventsResponse response = eventService.getUserEvents(userId, 10);
+
+        assertThat(response.getUpcoming()).hasSize(1);
+        assertThat(response.getUpcoming().get(0).getEvent().getName()).isEqualTo("Test Event");
+        assertThat(response.getUpcoming().get(0).isAttended()).isFalse();
+        assertThat(response.getPast()).hasSize(1);
+        assertThat(response.getPast().get(0).isAttended()).isTrue();
+        assertThat(response.getPast().get(0).getAttendedAt()).isEqualTo(attendedAt);
     }
 
-    // ==================== ANALYTICS TESTS ==================== //
-
     @Test
-    void getTotalOpenEvents_Success() {
-        Event closed = Event.builder().status(EventStatus.CLOSED).build();
-        Event open = Event.builder().status(EventStatus.REGISTRATION).build();
-
-        when(eventRepository.findAll()).thenReturn(List.of(closed, open));
-
-        long total = eventService.getTotalOpenEvents();
-
-        assertThat(total).isEqualTo(1);
-        verify(eventRepository).findAll();
-    }
-
-    @Test
-    void getUpcomingEventsNext30Days_Success() {
-        LocalDateTime now = LocalDateTime.now();
-
-        Event within30 = Event.builder()
-                .startDateTime(now.plusDays(10))
-                .build();
-
-        Event outside30 = Event.builder()
-                .startDateTime(now.plusDays(40))
-                .build();
-
-        when(eventRepository.findAll()).thenReturn(List.of(within30, outside30));
+    void upcomingNotJoinedEventsForUser_Success() {
+        UUID userId = UUID.randomUUID();
+        when(eventRepository.findJoinableEventPage(eq(userId), any(LocalDateTime.class), isNull(), isNull(),
+                eq(PageRequest.of(0, 21)))).thenReturn(List.of(testEvent));
 
-        long total = eventService.getUpcomingEventsNext30Days();
+        EventPageResponse page = eventService.upcomingNotJoinedEventsForUser(userId, null, 20);
 
-        assertThat(total).isEqualTo(1);
-        verify(eventRepository).findAll();
+        assertThat(page.getEvents()).hasSize(1);
+        assertThat(page.getEvents().get(0).getName()).isEqualTo("Test Event");
+        assertThat(page.isHasNext()).isFalse();
+        verify(eventRepository, never()).findAll();
     }
 
     @Test
-    void getTotalParticipantsInOpenEvents_Success() {
-        Event closed = Event.builder()
-                .status(EventStatus.CLOSED)
-                .attendees(List.of(new EventAttendee(), new EventAttendee()))
-                .build();
-
-        Event open = Event.builder()
+    void upcomingNotJoinedEventsForUser_NextCursorRoundTrips() {
+        UUID userId = UUID.randomUUID();
+        Event second = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Second Event")
+                .startDateTime(testEvent.getStartDateTime().plusHours(1))
+                .type(EventType.WORKSHOP)
                 .status(EventStatus.REGISTRATION)
-                .attendees(List.of(new EventAttendee(), new EventAttendee(), new EventAttendee()))
                 .build();
+        when(eventRepository.findJoinableEventPage(eq(userId), any(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(testEvent, second));
 
-        when(eventRepository.findAll()).thenReturn(List.of(closed, open));
+        EventPageResponse page = eventService.upcomingNotJoinedEventsForUser(userId, null, 1);
 
-        long total = eventService.getTotalParticipantsInOpenEvents();
+        assertThat(page.isHasNext()).isTrue();
 
-        assertThat(total).isEqualTo(3);
-        verify(eventRepository).findAll();
+        eventService.upcomingNotJoinedEventsForUser(userId, page.getNextCursor(), 1);
+
+        verify(eventRepository).findJoinableEventPage(eq(userId), any(), eq(testEvent.getStartDateTime()),
+                eq(eventId), eq(PageRequest.of(0, 2)));
     }
 
     @Test
@@ -448,22 +503,4 @@ class EventServiceTest {
         assertThat(types).isNotEmpty();
         assertThat(types).contains(EventType.WORKSHOP, EventType.TREE_PLANTING);
     }
-
-    // ==================== SCHEDULED TASKS (COMMENTED) ==================== //
-
-    // @Test
-    // void updateEventStatuses_TransitionsCorrectly() {
-    // eventService.updateEventStatuses();
-
-    // verify(eventRepository).updateStatusToOngoing(
-    // eq(EventStatus.REGISTRATION),
-    // eq(EventStatus.FULL),
-    // eq(EventStatus.ONGOING),
-    // any(LocalDateTime.class));
-
-    // verify(eventRepository).updateStatusToClosed(
-    // eq(EventStatus.ONGOING),
-    // eq(EventStatus.CLOSED),
-    // any(LocalDateTime.class));
-    // }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.dtos.EventStatsResponse;
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventCalendarIndex;
+import com.greenloop.event_service.services.EventStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventStatsServiceTest {
+
+        @Mock
+        private EventRepository eventRepository;
+
+        @Mock
+        private EventCalendarIndex calendarIndex;
+
+        @InjectMocks
+        private EventStatsService statsService;
+
+        @BeforeEach
+        void setUp() {
+                lenient().when(eventRepository.countByStatusNot(EventStatus.CLOSED)).thenReturn(4L);
+                lenient().when(calendarIndex.count(any(), any())).thenReturn(2L);
+                lenient().when(eventRepository.sumAttendeeCountByStatusNot(EventStatus.CLOSED)).thenReturn(37L);
+        }
+
+        @Test
+        void getStats_ComputesAllMetricsWithAggregateQueries() {
+                EventStatsResponse stats = statsService.getStats();
+
+                assertThat(stats.getTotalOpenEvents()).isEqualTo(4);
+                assertThat(stats.getUpcomingEventsNext30Days()).isEqualTo(2);
+                assertThat(stats.getTotalParticipantsInOpenEvents()).isEqualTo(37);
+                assertThat(stats.getGeneratedAt()).isNotNull();
+                verify(eventRepository, never()).findAll();
+        }
+
+        @Test
+        void getStats_UpcomingWindowIsThirtyDays() {
+                ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+                ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+
+                statsService.getStats();
+
+                verify(calendarIndex).count(from.capture(), to.capture());
+                assertThat(to.getValue()).isEqualTo(from.getValue().plusDays(30));
+        }
+
+        @Test
+        void getStats_ServedFromSnapshotUntilMarkedStale() {
+                statsService.getTotalOpenEvents();
+                statsService.getUpcomingEventsNext30Days();
+                statsService.getTotalParticipantsInOpenEvents();
+
+                verify(eventRepository, times(1)).countByStatusNot(EventStatus.CLOSED);
+
+                statsService.markStale();
+                statsService.getStats();
+
+                verify(eventRepository, times(2)).countByStatusNot(EventStatus.CLOSED);
+        }
+
+        @Test
+        void refresh_RebuildsSnapshot() {
+                statsService.getStats();
+                when(eventRepository.countByStatusNot(EventStatus.CLOSED)).thenReturn(9L);
+
+                statsService.refresh();
+
+                assertThat(statsService.getTotalOpenEvents()).isEqualTo(9);
+        }
+}
@@ -0,0 +1,188 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventStatusScheduler;
+import com.greenloop.event_service.services.EventStatusTransition;
+import com.greenloop.event_service.services.SchedulerLeaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventStatusSchedulerTest {
+
+        @Mock
+        private EventRepository eventRepository;
+
+        @Mock
+        private SchedulerLeaseService leaseService;
+
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
+        @Mock
+        private TaskScheduler taskScheduler;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private SimpleMeterRegistry meterRegistry;
+        private EventStatusScheduler scheduler;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                scheduler = new EventStatusScheduler(eventRepository, leaseService, eventPublisher, taskScheduler,
+                                transactionManager, meterRegistry, true, 2, 3, 60_000, 60_000, 5_000);
+        }
+
+        @Test
+        void runDueTransitions_LeaseHeldElsewhere_DoesNothing() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(false);
+
+                assertThat(scheduler.runDueTransitions()).isEqualTo(Duration.ofSeconds(5));
+
+                verifyNoInteractions(eventRepository, eventPublisher);
+                verify(leaseService, never()).release(anyString());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void runDueTransitions_DueEvents_TransitionsInBatchesAndPublishes() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                List<Event> firstBatch = List.of(event(), event());
+                List<Event> secondBatch = List.of(event());
+                when(eventRepository.findDueToStart(any(), any(), any(Pageable.class)))
+                                .thenReturn(firstBatch, secondBatch);
+                when(eventRepository.findDueToClose(eq(EventStatus.ONGOING), any(), any(Pageable.class)))
+                                .thenReturn(List.of());
+                when(eventRepository.transitionStatus(any(), any(), eq(EventStatus.ONGOING))).thenReturn(
+                                List.of(firstBatch.get(0).getId(), firstBatch.get(1).getId()),
+                                List.of(secondBatch.get(0).getId()));
+                when(eventRepository.findEarliestStart(any()))
+                                .thenReturn(Optional.of(LocalDateTime.now().plusSeconds(30)));
+                when(eventRepository.findEarliestEnd(EventStatus.ONGOING))
+                                .thenReturn(Optional.of(LocalDateTime.now().plusHours(2)));
+
+                Duration delay = scheduler.runDueTransitions();
+
+                assertThat(delay).isBetween(Duration.ofSeconds(25), Duration.ofSeconds(30));
+                ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+                verify(eventRepository, times(2)).transitionStatus(ids.capture(),
+                                eq(List.of(EventStatus.REGISTRATION, EventStatus.FULL)), eq(EventStatus.ONGOING));
+                assertThat(ids.getAllValues().get(0)).containsExactly(firstBatch.get(0).getId(),
+                                firstBatch.get(1).getId());
+                verify(eventPublisher).publishEvent(new EventStatusTransition(EventStatus.ONGOING, firstBatch));
+                verify(eventPublisher).publishEvent(new EventStatusTransition(EventStatus.ONGOING, secondBatch));
+                verify(eventRepository, never()).transitionStatus(any(), any(), eq(EventStatus.CLOSED));
+                assertThat(meterRegistry.get("events.status.transitions").tag("status", "ONGOING").counter()
+                                .count()).isEqualTo(3);
+                verify(leaseService).release(anyString());
+        }
+
+        @Test
+        void runDueTransitions_SomeEventsSkipped_PublishesOnlyTransitioned() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                Event moved = event();
+                Event changedMeanwhile = event();
+                when(eventRepository.findDueToStart(any(), any(), any(Pageable.class)))
+                                .thenReturn(List.of(moved, changedMeanwhile), List.of());
+                when(eventRepository.findDueToClose(eq(EventStatus.ONGOING), any(), any(Pageable.class)))
+                                .thenReturn(List.of());
+                when(eventRepository.transitionStatus(any(), any(), eq(EventStatus.ONGOING)))
+                                .thenReturn(List.of(moved.getId()));
+                when(eventRepository.findEarliestStart(any())).thenReturn(Optional.empty());
+                when(eventRepository.findEarliestEnd(EventStatus.ONGOING)).thenReturn(Optional.empty());
+
+                scheduler.runDueTransitions();
+
+                verify(eventPublisher).publishEvent(new EventStatusTransition(EventStatus.ONGOING, List.of(moved)));
+                verifyNoMoreInteractions(eventPublisher);
+                assertThat(meterRegistry.get("events.status.transitions").tag("status", "ONGOING").counter()
+                                .count()).isEqualTo(1);
+        }
+
+        @Test
+        void runDueTransitions_LeaseTakenOverMidRun_StopsWithoutTransitioning() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true, false);
+                when(eventRepository.findDueToStart(any(), any(), any(Pageable.class)))
+                                .thenAnswer(invocation -> List.of(event(), event()));
+
+                assertThat(scheduler.runDueTransitions()).isEqualTo(Duration.ofSeconds(5));
+
+                verify(eventRepository, times(1)).findDueToStart(any(), any(), any(Pageable.class));
+                verify(eventRepository, times(1)).transitionStatus(any(), any(), any());
+                verify(eventRepository, never()).findDueToClose(any(), any(), any(Pageable.class));
+                verify(leaseService).release(anyString());
+        }
+
+        @Test
+        void runDueTransitions_BatchLimitReached_RunsAgainImmediately() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                when(eventRepository.findDueToStart(any(), any(), any(Pageable.class)))
+                                .thenAnswer(invocation -> List.of(event(), event()));
+                when(eventRepository.findDueToClose(eq(EventStatus.ONGOING), any(), any(Pageable.class)))
+                                .thenReturn(List.of());
+
+                assertThat(scheduler.runDueTransitions()).isEqualTo(Duration.ZERO);
+
+                verify(eventRepository, times(3)).findDueToStart(any(), any(), any(Pageable.class));
+                verify(eventRepository, never()).findEarliestStart(any());
+        }
+
+        @Test
+        void runDueTransitions_NothingPending_WaitsMaxIdle() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                when(eventRepository.findEarliestStart(any())).thenReturn(Optional.empty());
+                when(eventRepository.findEarliestEnd(EventStatus.ONGOING)).thenReturn(Optional.empty());
+
+                assertThat(scheduler.runDueTransitions()).isEqualTo(Duration.ofMinutes(1));
+
+                verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        void runDueTransitions_RepositoryFails_StillReleasesLease() {
+                when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+                when(leaseService.holdForTransaction(anyString(), any())).thenReturn(true);
+                when(eventRepository.findDueToStart(any(), any(), any(Pageable.class)))
+                                .thenThrow(new IllegalStateException("database down"));
+
+                assertThatThrownBy(() -> scheduler.runDueTransitions()).isInstanceOf(IllegalStateException.class);
+
+                verify(leaseService).release(anyString());
+        }
+
+        private static Event event() {
+                return Event.builder()
+                                .id(UUID.randomUUID())
+                                .status(EventStatus.REGISTRATION)
+                                .startDateTime(LocalDateTime.now().minusMinutes(1))
+                                .endDateTime(LocalDateTime.now().plusHours(1))
+                                .qrToken(UUID.randomUUID().toString())
+                                .build();
+        }
+}
@@ -0,0 +1,102 @@
+package com.greenloop.event_service.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.greenloop.event_service.dtos.NotificationMessage;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.services.NotificationPayloadCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NotificationPayloadCacheTest {
+
+        private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        private final ObjectMapper mapper = new ObjectMapper();
+
+        private NotificationPayloadCache cache;
+        private Event event;
+
+        @BeforeEach
+        void setUp() {
+                cache = new NotificationPayloadCache(converter, 2);
+                event = Event.builder()
+                                .id(UUID.randomUUID())
+                                .name("Tree Planting")
+                                .location("Central \"Park\"")
+                                .organizer("GreenLoop")
+                                .coins(25)
+                                .startDateTime(LocalDateTime.of(2026, 11, 3, 9, 30))
+                                .endDateTime(LocalDateTime.of(2026, 11, 3, 12, 0))
+                                .build();
+        }
+
+        @Test
+        void confirmationPayload_MatchesFullySerializedMessage() throws Exception {
+                ObjectNode cached = (ObjectNode) mapper.readTree(cache.confirmationPayload(event, "a@example.com"));
+
+                NotificationMessage message = NotificationMessage.builder()
+                                .type("event_confirmation")
+                                .email("a@example.com")
+                                .eventName("Tree Planting")
+                                .location("Central \"Park\"")
+                                .startDate("November 03, 2026 at 09:30 AM")
+                                .endDate("November 03, 2026 at 12:00 PM")
+                                .organizer("GreenLoop")
+                                .coins(25)
+                                .details("You have successfully registered for this event.")
+                                .build();
+                ObjectNode full = (ObjectNode) mapper.readTree(
+                                converter.toMessage(message, new MessageProperties()).getBody());
+
+                assertThat(cached.get("timestamp").isArray()).isEqualTo(full.get("timestamp").isArray());
+                cached.remove("timestamp");
+                full.remove("timestamp");
+                assertThat(cached).isEqualTo(full);
+        }
+
+        @Test
+        void confirmationPayload_SameEvent_ReusesTemplatePerUser() throws Exception {
+                byte[] first = cache.confirmationPayload(event, "a@example.com");
+                byte[] second = cache.confirmationPayload(event, "b@example.com");
+
+                assertThat(cache.size()).isEqualTo(1);
+                assertThat(mapper.readTree(first).get("email").asText()).isEqualTo("a@example.com");
+                assertThat(mapper.readTree(second).get("email").asText()).isEqualTo("b@example.com");
+        }
+
+        @Test
+        void confirmationPayload_EventChangedElsewhere_RebuildsTemplate() throws Exception {
+                cache.confirmationPayload(event, "a@example.com");
+                event.setLocation("Riverside");
+
+                byte[] payload = cache.confirmationPayload(event, "a@example.com");
+
+                assertThat(mapper.readTree(payload).get("location").asText()).isEqualTo("Riverside");
+        }
+
+        @Test
+        void evict_RemovesTemplate() {
+                cache.confirmationPayload(event, "a@example.com");
+
+                cache.evict(event.getId());
+
+                assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        void confirmationPayload_OverCapacity_StaysBounded() {
+                for (int i = 0; i < 5; i++) {
+                        event.setId(UUID.randomUUID());
+                        cache.confirmationPayload(event, "a@example.com");
+                }
+
+                assertThat(cache.size()).isLessThanOrEqualTo(2);
+        }
+}
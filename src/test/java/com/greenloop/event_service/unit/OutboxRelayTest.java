@@ -0,0 +1,162 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.models.OutboxMessage;
+import com.greenloop.event_service.repos.OutboxMessageRepository;
+import com.greenloop.event_service.services.BatchingRabbitPublisher;
+import com.greenloop.event_service.services.BatchingRabbitPublisher.OutboundMessage;
+import com.greenloop.event_service.services.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+        @Mock
+        private OutboxMessageRepository outboxRepository;
+
+        @Mock
+        private BatchingRabbitPublisher publisher;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private SimpleMeterRegistry meterRegistry;
+        private OutboxRelay relay;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                relay = new OutboxRelay(outboxRepository, publisher, transactionManager, meterRegistry, 2, 10, 60000);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void relay_FullBatchesConfirmed_DrainsUntilShortBatch() {
+                List<OutboxMessage> first = List.of(message("event.confirmation"), message("event.attendance"));
+                List<OutboxMessage> second = List.of(message("event.participation"));
+                when(outboxRepository.lockNextUnclaimed(any(), any(Pageable.class))).thenReturn(first, second);
+                when(publisher.publish(any())).thenAnswer(invocation -> idsOf(invocation.getArgument(0)));
+
+                assertThat(relay.relay()).isEqualTo(3);
+
+                ArgumentCaptor<List<OutboundMessage>> sent = ArgumentCaptor.forClass(List.class);
+                verify(publisher, times(2)).publish(sent.capture());
+                OutboundMessage outbound = sent.getAllValues().get(0).get(0);
+                assertThat(outbound.exchange()).isEqualTo("notifications.topic");
+                assertThat(outbound.routingKey()).isEqualTo("event.confirmation");
+                assertThat(new String(outbound.message().getBody(), StandardCharsets.UTF_8))
+                                .isEqualTo("{\"type\":\"x\"}");
+                assertThat(outbound.message().getMessageProperties().getMessageId())
+                                .isEqualTo(first.get(0).getId().toString());
+                assertThat(outbound.message().getMessageProperties().getContentType())
+                                .isEqualTo("application/json");
+                assertThat(outbound.message().getMessageProperties().getHeaders())
+                                .containsEntry("__TypeId__", "com.example.Payload");
+
+                verify(outboxRepository).deleteAllByIdInBatch(argThat(ids -> ids instanceof Collection<?> c
+                                && c.size() == 2 && c.containsAll(List.of(first.get(0).getId(), first.get(1).getId()))));
+                verify(outboxRepository).deleteAllByIdInBatch(List.of(second.get(0).getId()));
+        }
+
+        @Test
+        void relay_PartiallyConfirmed_DeletesOnlyConfirmedAndStops() {
+                List<OutboxMessage> batch = List.of(message("event.confirmation"), message("event.attendance"));
+                when(outboxRepository.lockNextUnclaimed(any(), any(Pageable.class))).thenReturn(batch);
+                when(publisher.publish(any())).thenReturn(Set.of(batch.get(1).getId().toString()));
+
+                assertThat(relay.relay()).isEqualTo(1);
+
+                verify(outboxRepository).deleteAllByIdInBatch(List.of(batch.get(1).getId()));
+                verify(outboxRepository).releaseClaim(eq(List.of(batch.get(0).getId())), any(UUID.class));
+                verify(outboxRepository, times(1)).lockNextUnclaimed(any(), any(Pageable.class));
+        }
+
+        @Test
+        void relay_ClaimsBatchBeforePublishingAndReleasesWithSameToken() {
+                List<OutboxMessage> batch = List.of(message("event.attendance"));
+                List<UUID> ids = List.of(batch.get(0).getId());
+                when(outboxRepository.lockNextUnclaimed(any(), any(Pageable.class))).thenReturn(batch);
+                when(publisher.publish(any())).thenReturn(Set.of());
+
+                relay.relay();
+
+                ArgumentCaptor<UUID> claimToken = ArgumentCaptor.forClass(UUID.class);
+                ArgumentCaptor<LocalDateTime> claimedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+                InOrder order = inOrder(outboxRepository, publisher);
+                order.verify(outboxRepository).claim(eq(ids), claimToken.capture(), claimedUntil.capture());
+                order.verify(publisher).publish(any());
+                order.verify(outboxRepository).releaseClaim(ids, claimToken.getValue());
+                assertThat(claimedUntil.getValue()).isAfter(LocalDateTime.now().plusSeconds(50));
+        }
+
+        @Test
+        void relay_PublishThrows_ReleasesClaim() {
+                List<OutboxMessage> batch = List.of(message("event.attendance"));
+                when(outboxRepository.lockNextUnclaimed(any(), any(Pageable.class))).thenReturn(batch);
+                when(publisher.publish(any())).thenThrow(new IllegalStateException("broker gone"));
+
+                assertThatThrownBy(() -> relay.relay()).isInstanceOf(IllegalStateException.class);
+
+                verify(outboxRepository).releaseClaim(eq(List.of(batch.get(0).getId())), any(UUID.class));
+                verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        }
+
+        @Test
+        void relay_NothingConfirmed_KeepsMessages() {
+                when(outboxRepository.lockNextUnclaimed(any(), any(Pageable.class))).thenReturn(List.of(message("event.attendance")));
+                when(publisher.publish(any())).thenReturn(Set.of());
+
+                assertThat(relay.relay()).isZero();
+                verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        }
+
+        @Test
+        void relay_EmptyOutbox_DoesNotPublish() {
+                when(outboxRepository.lockNextUnclaimed(any(), any(Pageable.class))).thenReturn(List.of());
+
+                assertThat(relay.relay()).isZero();
+                verifyNoInteractions(publisher);
+        }
+
+        @Test
+        void pendingGauge_ReportsOutboxSize() {
+                when(outboxRepository.count()).thenReturn(7L);
+
+                assertThat(meterRegistry.get("events.outbox.pending").gauge().value()).isEqualTo(7.0);
+        }
+
+        private static Set<String> idsOf(List<OutboundMessage> messages) {
+                Set<String> ids = new HashSet<>();
+                messages.forEach(m -> ids.add(m.id()));
+                return ids;
+        }
+
+        private OutboxMessage message(String routingKey) {
+                return OutboxMessage.builder()
+                                .id(UUID.randomUUID())
+                                .exchange("notifications.topic")
+                                .routingKey(routingKey)
+                                .typeId("com.example.Payload")
+                                .payload("{\"type\":\"x\"}")
+                                .createdAt(LocalDateTime.now())
+                                .build();
+        }
+}
@@ -0,0 +1,127 @@
+package com.greenloop.event_service.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.enums.ExportFormat;
+import com.greenloop.event_service.exceptions.EventNotFoundException;
+import com.greenloop.event_service.repos.EventAttendeeRepository;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.ParticipantExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParticipantExportServiceTest {
+
+        @Mock
+        private EventRepository eventRepository;
+
+        @Mock
+        private EventAttendeeRepository attendeeRepository;
+
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        private ParticipantExportService exportService;
+        private UUID eventId;
+        private EventAttendeeResponse attended;
+        private EventAttendeeResponse registered;
+
+        @BeforeEach
+        void setUp() {
+                exportService = new ParticipantExportService(eventRepository, attendeeRepository, objectMapper);
+                eventId = UUID.randomUUID();
+                attended = EventAttendeeResponse.builder()
+                                .id(UUID.randomUUID())
+                                .userId(UUID.randomUUID())
+                                .userEmail("a@example.com")
+                                .attended(true)
+                                .registeredAt(LocalDateTime.of(2026, 11, 1, 9, 0))
+                                .attendedAt(LocalDateTime.of(2026, 11, 3, 9, 45))
+                                .build();
+                registered = EventAttendeeResponse.builder()
+                                .id(UUID.randomUUID())
+                                .userId(UUID.randomUUID())
+                                .userEmail("=\"lee, sam\"@example.com")
+                                .registeredAt(LocalDateTime.of(2026, 11, 2, 14, 30))
+                                .build();
+        }
+
+        @Test
+        void writeParticipants_Ndjson_WritesOneJsonObjectPerLine() throws Exception {
+                when(attendeeRepository.streamByEventId(eventId)).thenReturn(Stream.of(attended, registered));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+                long rows = exportService.writeParticipants(eventId, ExportFormat.NDJSON, out);
+
+                String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+                assertThat(rows).isEqualTo(2);
+                assertThat(lines).hasSize(2);
+                JsonNode first = objectMapper.readTree(lines[0]);
+                assertThat(first.get("userId").asText()).isEqualTo(attended.getUserId().toString());
+                assertThat(first.get("attended").asBoolean()).isTrue();
+                assertThat(first.get("attendedAt").asText()).isEqualTo("2026-11-03T09:45:00");
+                assertThat(objectMapper.readValue(lines[1], EventAttendeeResponse.class)).isEqualTo(registered);
+        }
+
+        @Test
+        void writeParticipants_Csv_WritesHeaderAndEscapedRows() throws Exception {
+                when(attendeeRepository.streamByEventId(eventId)).thenReturn(Stream.of(attended, registered));
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+                exportService.writeParticipants(eventId, ExportFormat.CSV, out);
+
+                assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                                "id,user_id,user_email,attended,registered_at,attended_at\n"
+                                                + attended.getId() + "," + attended.getUserId()
+                                                + ",a@example.com,true,2026-11-01T09:00,2026-11-03T09:45\n"
+                                                + registered.getId() + "," + registered.getUserId()
+                                                + ",\"'=\"\"lee, sam\"\"@example.com\",false,2026-11-02T14:30,\n");
+        }
+
+        @Test
+        void writeParticipants_ClosesRepositoryStream() throws Exception {
+                AtomicBoolean closed = new AtomicBoolean();
+                when(attendeeRepository.streamByEventId(eventId))
+                                .thenReturn(Stream.of(attended).onClose(() -> closed.set(true)));
+
+                exportService.writeParticipants(eventId, ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+                assertThat(closed).isTrue();
+        }
+
+        @Test
+        void writeParticipants_NoAttendees_WritesOnlyCsvHeader() throws Exception {
+                when(attendeeRepository.streamByEventId(eventId)).thenReturn(Stream.empty());
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+                long rows = exportService.writeParticipants(eventId, ExportFormat.CSV, out);
+
+                assertThat(rows).isZero();
+                assertThat(out.toString(StandardCharsets.UTF_8))
+                                .isEqualTo("id,user_id,user_email,attended,registered_at,attended_at\n");
+        }
+
+        @Test
+        void requireEvent_Missing_ThrowsException() {
+                when(eventRepository.existsById(eventId)).thenReturn(false);
+
+                assertThatThrownBy(() -> exportService.requireEvent(eventId))
+                                .isInstanceOf(EventNotFoundException.class);
+        }
+}
@@ -0,0 +1,134 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.enums.EventStatus;
+import com.greenloop.event_service.enums.EventType;
+import com.greenloop.event_service.models.Event;
+import com.greenloop.event_service.repos.EventRepository;
+import com.greenloop.event_service.services.EventStatusTransition;
+import com.greenloop.event_service.services.QrTokenIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QrTokenIndexTest {
+
+        private static final String TOKEN = "qr-token";
+
+        @Mock
+        private EventRepository eventRepository;
+
+        private QrTokenIndex index;
+        private Event ongoingEvent;
+
+        @BeforeEach
+        void setUp() {
+                index = new QrTokenIndex(eventRepository, 60_000);
+                ongoingEvent = Event.builder()
+                                .id(UUID.randomUUID())
+                                .name("Beach Cleanup")
+                                .type(EventType.CLEANUPS)
+                                .status(EventStatus.ONGOING)
+                                .coins(20)
+                                .startDateTime(LocalDateTime.now().minusHours(1))
+                                .endDateTime(LocalDateTime.now().plusHours(2))
+                                .qrToken(TOKEN)
+                                .build();
+        }
+
+        @Test
+        void resolve_OngoingEvent_IsServedFromMemoryAfterFirstLookup() {
+                when(eventRepository.findByQrToken(TOKEN)).thenReturn(Optional.of(ongoingEvent));
+
+                Event first = index.resolve(TOKEN).orElseThrow();
+                Event second = index.resolve(TOKEN).orElseThrow();
+
+                assertThat(first.getId()).isEqualTo(ongoingEvent.getId());
+                assertThat(second.getId()).isEqualTo(ongoingEvent.getId());
+                assertThat(second.getName()).isEqualTo("Beach Cleanup");
+                assertThat(second.getCoins()).isEqualTo(20);
+                verify(eventRepository, times(1)).findByQrToken(TOKEN);
+        }
+
+        @Test
+        void resolve_NotOngoingEvent_IsNotIndexed() {
+                ongoingEvent.setStatus(EventStatus.REGISTRATION);
+                when(eventRepository.findByQrToken(TOKEN)).thenReturn(Optional.of(ongoingEvent));
+
+                index.resolve(TOKEN);
+                index.resolve(TOKEN);
+
+                assertThat(index.size()).isZero();
+                verify(eventRepository, times(2)).findByQrToken(TOKEN);
+        }
+
+        @Test
+        void resolve_UnknownToken_ReturnsEmpty() {
+                when(eventRepository.findByQrToken("unknown")).thenReturn(Optional.empty());
+
+                assertThat(index.resolve("unknown")).isEmpty();
+                assertThat(index.resolve(null)).isEmpty();
+        }
+
+        @Test
+        void resolve_EndedEvent_IsReloaded() {
+                ongoingEvent.setEndDateTime(LocalDateTime.now().minusSeconds(1));
+                when(eventRepository.findByQrToken(TOKEN)).thenReturn(Optional.of(ongoingEvent));
+
+                index.resolve(TOKEN);
+                index.resolve(TOKEN);
+
+                verify(eventRepository, times(2)).findByQrToken(TOKEN);
+        }
+
+        @Test
+        void evict_RemovesEntryForEvent() {
+                when(eventRepository.findByQrToken(TOKEN)).thenReturn(Optional.of(ongoingEvent));
+                index.resolve(TOKEN);
+
+                index.evict(ongoingEvent.getId());
+
+                assertThat(index.size()).isZero();
+                index.resolve(TOKEN);
+                verify(eventRepository, times(2)).findByQrToken(TOKEN);
+        }
+
+        @Test
+        void sweep_DropsExpiredEntries() {
+                QrTokenIndex shortLived = new QrTokenIndex(eventRepository, 0);
+                when(eventRepository.findByQrToken(TOKEN)).thenReturn(Optional.of(ongoingEvent));
+                shortLived.resolve(TOKEN);
+
+                shortLived.sweep();
+
+                assertThat(shortLived.size()).isZero();
+        }
+
+        @Test
+        void onStatusTransition_ToOngoing_IndexesEventsWithoutQuery() {
+                ongoingEvent.setStatus(EventStatus.REGISTRATION);
+
+                index.onStatusTransition(new EventStatusTransition(EventStatus.ONGOING, List.of(ongoingEvent)));
+
+                assertThat(index.resolve(TOKEN).orElseThrow().getStatus()).isEqualTo(EventStatus.ONGOING);
+                verifyNoInteractions(eventRepository);
+        }
+
+        @Test
+        void onStatusTransition_ToClosed_EvictsEvents() {
+                when(eventRepository.findByQrToken(TOKEN)).thenReturn(Optional.of(ongoingEvent));
+                index.resolve(TOKEN);
+
+                index.onStatusTransition(new EventStatusTransition(EventStatus.CLOSED, List.of(ongoingEvent)));
+
+                assertThat(index.size()).isZero();
+        }
+}
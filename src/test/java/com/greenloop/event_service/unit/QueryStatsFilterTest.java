@@ -0,0 +1,125 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.config.QueryBudget;
+import com.greenloop.event_service.config.QueryStats;
+import com.greenloop.event_service.config.QueryStatsDataSource;
+import com.greenloop.event_service.config.QueryStatsFilter;
+import com.greenloop.event_service.exceptions.QueryBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Connection;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QueryStatsFilterTest {
+
+        private QueryStatsDataSource dataSource;
+        private JdbcTemplate jdbcTemplate;
+        private SimpleMeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUp() {
+                dataSource = new QueryStatsDataSource(new DriverManagerDataSource(
+                                "jdbc:h2:mem:query-stats-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+                jdbcTemplate = new JdbcTemplate(dataSource);
+                jdbcTemplate.execute("CREATE TABLE items (id INT PRIMARY KEY)");
+                jdbcTemplate.execute("INSERT INTO items VALUES (1), (2), (3)");
+                meterRegistry = new SimpleMeterRegistry();
+        }
+
+        @Test
+        void dataSource_countsStatementsAndRowsOfTrackedThread() {
+                QueryStats stats = QueryStats.start();
+                try {
+                        jdbcTemplate.queryForList("SELECT id FROM items", Integer.class);
+                        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Long.class);
+                } finally {
+                        QueryStats.stop();
+                }
+
+                assertThat(stats.getStatements()).isEqualTo(2);
+                assertThat(stats.getRows()).isEqualTo(4);
+                assertThat(stats.getExecutionNanos()).isPositive();
+        }
+
+        @Test
+        void dataSource_returnsPooledConnectionUnchangedWhenNotTracked() throws Exception {
+                try (Connection connection = dataSource.getConnection()) {
+                        assertThat(java.lang.reflect.Proxy.isProxyClass(connection.getClass())).isFalse();
+                }
+        }
+
+        @Test
+        void filter_failsRequestOverBudgetWhenEnforced() {
+                MockMvc mockMvc = mockMvc(true);
+
+                assertThatThrownBy(() -> mockMvc.perform(get("/two-queries")))
+                                .isInstanceOf(QueryBudgetExceededException.class)
+                                .hasMessageContaining("GET /two-queries ran 2 SQL statements, budget is 1");
+        }
+
+        @Test
+        void filter_allowsRequestWithinBudget() throws Exception {
+                mockMvc(true).perform(get("/one-query")).andExpect(status().isOk());
+
+                assertThat(meterRegistry.get("events.request.statements").tag("uri", "/one-query").summary()
+                                .totalAmount()).isEqualTo(1);
+                assertThat(meterRegistry.get("events.request.rows").tag("uri", "/one-query").summary()
+                                .totalAmount()).isEqualTo(3);
+        }
+
+        @Test
+        void filter_onlyLogsRequestOverBudgetWhenNotEnforced() throws Exception {
+                mockMvc(false).perform(get("/two-queries")).andExpect(status().isOk());
+
+                assertThat(meterRegistry.get("events.request.statements").tag("uri", "/two-queries").summary()
+                                .totalAmount()).isEqualTo(2);
+        }
+
+        private MockMvc mockMvc(boolean enforce) {
+                StaticListableBeanFactory beans = new StaticListableBeanFactory();
+                beans.addBean("meterRegistry", meterRegistry);
+                // Sample rate 1.0, so the non-enforcing filter tracks every request too
+                QueryStatsFilter filter = new QueryStatsFilter(beans.getBeanProvider(MeterRegistry.class), 1.0,
+                                enforce);
+                return MockMvcBuilders.standaloneSetup(new ItemsController(jdbcTemplate))
+                                .addFilters(filter)
+                                .build();
+        }
+
+        @RestController
+        static class ItemsController {
+
+                private final JdbcTemplate jdbcTemplate;
+
+                ItemsController(JdbcTemplate jdbcTemplate) {
+                        this.jdbcTemplate = jdbcTemplate;
+                }
+
+                @GetMapping("/one-query")
+                @QueryBudget(1)
+                int oneQuery() {
+                        return jdbcTemplate.queryForList("SELECT id FROM items", Integer.class).size();
+                }
+
+                @GetMapping("/two-queries")
+                @QueryBudget(1)
+                int twoQueries() {
+                        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Long.class);
+                        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Long.class).intValue();
+                }
+        }
+}
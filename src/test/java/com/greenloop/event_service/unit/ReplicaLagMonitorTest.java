@@ -0,0 +1,108 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.config.ReplicaLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReplicaLagMonitorTest {
+
+        private DataSource replica;
+
+        @BeforeEach
+        void setUp() {
+                replica = new DriverManagerDataSource("jdbc:h2:mem:replica-lag-" + UUID.randomUUID(), "sa", "");
+        }
+
+        @Test
+        void uncheckedReplica_isAlwaysUsable() {
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "", 5000, 1000);
+
+                monitor.check();
+
+                assertThat(monitor.isReplicaUsable()).isTrue();
+                assertThat(monitor.getLagMillis()).isNaN();
+        }
+
+        @Test
+        void checkedReplica_isNotUsedBeforeFirstCheck() {
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0", 5000, 1000);
+
+                assertThat(monitor.isReplicaUsable()).isFalse();
+
+                monitor.check();
+
+                assertThat(monitor.isReplicaUsable()).isTrue();
+        }
+
+        @Test
+        void replicaLaggingPastReadYourWritesWindow_isNotUsed() {
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 7500", 5000, 1000);
+
+                monitor.check();
+
+                assertThat(monitor.isReplicaUsable()).isFalse();
+                assertThat(monitor.getLagMillis()).isEqualTo(7500);
+        }
+
+        @Test
+        void unreadableLag_takesReplicaOutOfRotation() {
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT lag FROM missing_table", 5000, 1000);
+
+                monitor.check();
+
+                assertThat(monitor.isReplicaUsable()).isFalse();
+                assertThat(monitor.getLagMillis()).isNaN();
+        }
+
+        @Test
+        void staleLagMeasurement_takesReplicaOutOfRotation() {
+                AtomicLong clock = new AtomicLong();
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0", 5000, 1000, clock::get,
+                                Clock.systemUTC());
+                monitor.check();
+
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+                assertThat(monitor.isReplicaUsable()).isTrue();
+
+                // No successful check for more than two intervals
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+                assertThat(monitor.isReplicaUsable()).isFalse();
+
+                monitor.check();
+                assertThat(monitor.isReplicaUsable()).isTrue();
+        }
+
+        @Test
+        void write_isReplayedOnceLagCheckPassesItsCommitTime() {
+                Instant now = Instant.parse("2026-10-17T10:00:00Z");
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 1500", 5000, 1000, System::nanoTime,
+                                Clock.fixed(now, ZoneOffset.UTC));
+
+                monitor.check();
+
+                // The replica has everything committed up to 1.5 s before the check
+                assertThat(monitor.hasReplayed(now.minusMillis(1500).toEpochMilli())).isTrue();
+                assertThat(monitor.hasReplayed(now.minusMillis(1499).toEpochMilli())).isFalse();
+        }
+
+        @Test
+        void uncheckedReplica_replaysWriteAfterLagLimit() {
+                Instant now = Instant.parse("2026-10-17T10:00:00Z");
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "", 5000, 1000, System::nanoTime,
+                                Clock.fixed(now, ZoneOffset.UTC));
+
+                assertThat(monitor.hasReplayed(now.minusMillis(5000).toEpochMilli())).isTrue();
+                assertThat(monitor.hasReplayed(now.minusMillis(4999).toEpochMilli())).isFalse();
+        }
+}
@@ -0,0 +1,89 @@
+package com.greenloop.event_service.unit;
+
+import com.greenloop.event_service.config.ServiceMetricsAspect;
+import com.greenloop.event_service.dtos.EventAttendeeResponse;
+import com.greenloop.event_service.exceptions.AlreadyRegisteredException;
+import com.greenloop.event_service.exceptions.EventFullException;
+import com.greenloop.event_service.exceptions.InvalidEventStateException;
+import com.greenloop.event_service.services.EventAttendeeService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+        @Mock
+        private EventAttendeeService attendeeService;
+
+        private SimpleMeterRegistry meterRegistry;
+        private EventAttendeeService proxy;
+
+        private final UUID eventId = UUID.randomUUID();
+        private final UUID userId = UUID.randomUUID();
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                AspectJProxyFactory factory = new AspectJProxyFactory(attendeeService);
+                factory.setProxyTargetClass(true);
+                factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+                proxy = factory.getProxy();
+        }
+
+        @Test
+        void recordsSuccessfulCall() {
+                when(attendeeService.registerAttendee(eventId, userId, "a@example.com"))
+                                .thenReturn(EventAttendeeResponse.builder().build());
+
+                proxy.registerAttendee(eventId, userId, "a@example.com");
+
+                assertThat(timer("registerAttendee", "success").count()).isEqualTo(1);
+        }
+
+        @Test
+        void tagsBusinessExceptionsWithTheirOutcome() {
+                when(attendeeService.registerAttendee(any(), any(), any()))
+                                .thenThrow(new EventFullException("full"))
+                                .thenThrow(new AlreadyRegisteredException("already"))
+                                .thenThrow(new InvalidEventStateException("closed"));
+
+                for (int i = 0; i < 3; i++) {
+                        assertThatThrownBy(() -> proxy.registerAttendee(eventId, userId, "a@example.com"))
+                                        .isInstanceOf(RuntimeException.class);
+                }
+
+                assertThat(timer("registerAttendee", "full").count()).isEqualTo(1);
+                assertThat(timer("registerAttendee", "already_registered").count()).isEqualTo(1);
+                assertThat(timer("registerAttendee", "invalid_state").count()).isEqualTo(1);
+        }
+
+        @Test
+        void tagsUnexpectedExceptionsAsError() {
+                when(attendeeService.isUserRegistered(eventId, userId)).thenThrow(new IllegalStateException("boom"));
+
+                assertThatThrownBy(() -> proxy.isUserRegistered(eventId, userId))
+                                .isInstanceOf(IllegalStateException.class);
+
+                assertThat(timer("isUserRegistered", "error").count()).isEqualTo(1);
+        }
+
+        private Timer timer(String method, String outcome) {
+                return meterRegistry.get("events.service.calls")
+                                .tag("service", "EventAttendeeService")
+                                .tag("method", method)
+                                .tag("outcome", outcome)
+                                .timer();
+        }
+}